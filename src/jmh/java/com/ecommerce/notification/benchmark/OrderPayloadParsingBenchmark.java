@@ -0,0 +1,70 @@
+package com.ecommerce.notification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming {@link OrderEventParser} against the previous approach of decoding the body to a
+ * {@code String}, building a {@code JsonNode} tree and navigating it with {@code path(...)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPayloadParsingBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private byte[] body;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderEventParser parser = new OrderEventParser();
+
+    @Setup
+    public void setUp() {
+        body = OrderPayloads.orderBytes(lines);
+    }
+
+    @Benchmark
+    public OrderEvent streaming() throws Exception {
+        return parser.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public void tree(Blackhole blackhole) throws Exception {
+        JsonNode order = objectMapper.readTree(new String(body, StandardCharsets.UTF_8)).path("order");
+        blackhole.consume(order.path("id").asText());
+        blackhole.consume(order.path("created").asText());
+        blackhole.consume(order.path("total").path("gross").path("amount").asDouble());
+        blackhole.consume(order.path("total").path("gross").path("currency").asText());
+        blackhole.consume(order.path("user").path("firstName").asText());
+        blackhole.consume(order.path("user").path("email").asText());
+        for (JsonNode line : order.path("lines")) {
+            blackhole.consume(line.path("quantity").asInt());
+            blackhole.consume(line.path("variant").path("product").path("name").asText());
+            blackhole.consume(line.path("variant").path("product").path("price").asDouble(0.0));
+        }
+    }
+}
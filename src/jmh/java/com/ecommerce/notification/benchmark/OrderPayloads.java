@@ -0,0 +1,69 @@
+package com.ecommerce.notification.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds {@code OrderCreated} webhooks shaped like the ones the store sends, with a given number of lines.
+ */
+public final class OrderPayloads {
+
+    private static final String[] PRODUCTS = {
+        "Apple Juice", "Whole Wheat Bread", "Organic Bananas", "Greek Yogurt", "Free Range Eggs (12)",
+        "Cheddar Cheese Block", "Sparkling Water 6-Pack", "Ground Coffee 500g"
+    };
+
+    private OrderPayloads() {
+    }
+
+    public static String order(int lines) {
+        StringBuilder json = new StringBuilder(512 + lines * 360);
+        json.append("""
+            {
+              "__typename": "OrderCreated",
+              "order": {
+                "id": "T3JkZXI6NjE4NmMyYTAtMjM3MS00ZGRkLWI0YmEtMzQ0OWE3MjZmYjI4",
+                "created": "2025-08-11T20:30:00.000000+00:00",
+                "paymentStatus": "NOT_CHARGED",
+                "total": {
+                  "net": {"amount": %d.00, "currency": "USD"},
+                  "gross": {"amount": %d.97, "currency": "USD"}
+                },
+                "lines": [
+            """.formatted(lines * 3, lines * 3));
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append("""
+                      {
+                        "quantity": %d,
+                        "variant": {
+                          "id": "UHJvZHVjdFZhcmlhbnQ6%d",
+                          "name": "UHJvZHVjdFZhcmlhbnQ6%d",
+                          "product": {
+                            "id": "UHJvZHVjdDo%d",
+                            "name": "%s",
+                            "price": %d.99,
+                            "metadata": [{"key": "vendor_id", "value": "%d"}]
+                          }
+                        }
+                      }""".formatted(1 + i % 5, 384 + i, 384 + i, 152 + i, PRODUCTS[i % PRODUCTS.length], 1 + i % 9, 2 + i % 4));
+        }
+        json.append("""
+
+                ],
+                "user": {
+                  "id": "VXNlcjoxMg==",
+                  "email": "test@example.com",
+                  "firstName": "TestUser"
+                }
+              }
+            }
+            """);
+        return json.toString();
+    }
+
+    public static byte[] orderBytes(int lines) {
+        return order(lines).getBytes(StandardCharsets.UTF_8);
+    }
+}
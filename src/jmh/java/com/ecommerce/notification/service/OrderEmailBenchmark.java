@@ -0,0 +1,51 @@
+package com.ecommerce.notification.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.benchmark.OrderPayloads;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.template.NotificationTemplates;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembly of the order email body in {@link OrderNotificationService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderEmailBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private OrderNotificationService service;
+    private OrderEvent event;
+
+    @Setup
+    public void setUp() throws Exception {
+        service = new OrderNotificationService();
+        ReflectionTestUtils.setField(service, "notificationTemplates", NotificationTemplates.defaults());
+        event = new OrderEventParser().parse(OrderPayloads.order(lines));
+    }
+
+    @Benchmark
+    public String buildEmailText() {
+        return service.buildEmailText(event);
+    }
+}
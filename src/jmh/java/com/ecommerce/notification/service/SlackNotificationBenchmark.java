@@ -0,0 +1,85 @@
+package com.ecommerce.notification.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.ecommerce.notification.benchmark.Benchmarks;
+import com.ecommerce.notification.benchmark.OrderPayloads;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.ratelimit.RateLimiterRegistry;
+import com.ecommerce.notification.template.NotificationTemplates;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slack order notification from webhook payload to the POST body handed to {@link RestTemplate},
+ * plus the message rendering on its own. The webhook is stubbed out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlackNotificationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private SlackNotificationService service;
+    private String payload;
+    private OrderEvent event;
+
+    @Setup
+    public void setUp() throws Exception {
+        Benchmarks.quietLogging();
+        OrderEventParser parser = new OrderEventParser();
+        service = new SlackNotificationService();
+        ReflectionTestUtils.setField(service, "restTemplate", new StubRestTemplate());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "orderEventParser", parser);
+        ReflectionTestUtils.setField(service, "notificationTemplates", NotificationTemplates.defaults());
+        // Effectively unlimited, so the benchmark measures formatting rather than throttling
+        ReflectionTestUtils.setField(service, "rateLimiters", new RateLimiterRegistry(1e10, 1, 1e10, 1));
+        ReflectionTestUtils.setField(service, "slackWebhookUrl", "https://hooks.slack.com/services/T000/B000/XXXX");
+        ReflectionTestUtils.setField(service, "slackChannel", "#orders");
+        ReflectionTestUtils.setField(service, "slackUsername", "BulkMagic Bot");
+        ReflectionTestUtils.setField(service, "slackIconEmoji", ":shopping_cart:");
+
+        payload = OrderPayloads.order(lines);
+        event = parser.parse(payload);
+    }
+
+    @Benchmark
+    public String sendOrderNotification() throws Exception {
+        return service.sendOrderNotification(payload);
+    }
+
+    @Benchmark
+    public SlackNotificationService.OrderMessage buildOrderMessage() {
+        return service.buildOrderMessage(event);
+    }
+
+    private static final class StubRestTemplate extends RestTemplate {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T postForObject(String url, Object request, Class<T> responseType, Object... uriVariables) {
+            return (T) "ok";
+        }
+    }
+}
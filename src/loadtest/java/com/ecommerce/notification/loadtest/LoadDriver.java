@@ -0,0 +1,204 @@
+package com.ecommerce.notification.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends orders at a fixed rate, open loop, spreading them round-robin over the endpoints.
+ * <p>
+ * Requests are started on schedule whether or not earlier ones have answered, and each latency is
+ * measured from the time the request was due rather than from when it was sent. A slow service
+ * therefore shows up as latency instead of quietly lowering the offered load. Requests that would
+ * exceed {@code maxInFlight} are not sent and are counted as {@code skipped}; they are still part of
+ * the offered load and count as failures.
+ */
+final class LoadDriver {
+
+    private final HttpClient httpClient;
+    private final String target;
+    private final List<String> endpoints;
+    private final LoadOrders orders;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadDriver(String target, List<String> endpoints, LoadOrders orders, int maxInFlight, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(requestTimeout)
+            .build();
+        this.target = target;
+        this.endpoints = endpoints;
+        this.orders = orders;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Offers {@code rate} requests per second for {@code duration}, then waits for the ones in flight.
+     */
+    Map<String, EndpointStats> run(double rate, Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+        EndpointStats[] byIndex = stats.values().toArray(EndpointStats[]::new);
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = (int) (i % endpoints.size());
+            send(endpoints.get(index), byIndex[index], due);
+        }
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.values().forEach(endpoint -> endpoint.elapsedNanos = elapsed);
+        return stats;
+    }
+
+    private void send(String endpoint, EndpointStats stats, long due) {
+        if (inFlight.get() >= maxInFlight) {
+            stats.count(EndpointStats.SKIPPED);
+            return;
+        }
+        inFlight.incrementAndGet();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target + endpoint))
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(orders.order(sequence.getAndIncrement())))
+            .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - due;
+            inFlight.decrementAndGet();
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                stats.record("error:" + cause.getClass().getSimpleName(), latency);
+            } else {
+                stats.record(Integer.toString(response.statusCode()), latency);
+            }
+        });
+    }
+
+    /**
+     * Outcomes and latencies of one endpoint. Every answered request is timed, failures and {@code 429}s
+     * included, so latency is reported overall and per outcome; fast rejections do not vanish from it.
+     */
+    static final class EndpointStats {
+
+        private static final String SKIPPED = "skipped";
+
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final Map<String, Latencies> latencies = new TreeMap<>();
+        private final Latencies all = new Latencies();
+        private volatile long elapsedNanos;
+
+        void count(String outcome) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        synchronized void record(String outcome, long latencyNanos) {
+            count(outcome);
+            latencies.computeIfAbsent(outcome, key -> new Latencies()).add(latencyNanos);
+            all.add(latencyNanos);
+        }
+
+        synchronized Map<String, Object> report() {
+            long offered = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+            long skipped = sum(SKIPPED);
+            long succeeded = outcomes.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("2"))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+            double seconds = elapsedNanos / 1e9;
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("all", all.report());
+            latencies.forEach((outcome, byOutcome) -> latency.put(outcome, byOutcome.report()));
+            Map<String, Long> breakdown = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> breakdown.put(outcome, count.sum()));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("offered", offered);
+            report.put("requests", offered - skipped);
+            report.put("succeeded", succeeded);
+            report.put("failed", offered - succeeded);
+            report.put("errorRate", offered == 0 ? 0.0 : round((double) (offered - succeeded) / offered));
+            report.put("offeredPerSecond", round(offered / seconds));
+            report.put("throughputPerSecond", round(succeeded / seconds));
+            report.put("latencyMs", latency);
+            report.put("outcomes", breakdown);
+            return report;
+        }
+
+        private long sum(String outcome) {
+            LongAdder count = outcomes.get(outcome);
+            return count == null ? 0 : count.sum();
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1e6);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+
+    private static final class Latencies {
+
+        private long[] values = new long[1024];
+        private int recorded;
+
+        void add(long latencyNanos) {
+            if (recorded == values.length) {
+                values = Arrays.copyOf(values, recorded * 2);
+            }
+            values[recorded++] = latencyNanos;
+        }
+
+        Map<String, Object> report() {
+            long[] sorted = Arrays.copyOf(values, recorded);
+            Arrays.sort(sorted);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("count", (long) sorted.length);
+            latency.put("p50", EndpointStats.millis(EndpointStats.percentile(sorted, 0.50)));
+            latency.put("p90", EndpointStats.millis(EndpointStats.percentile(sorted, 0.90)));
+            latency.put("p99", EndpointStats.millis(EndpointStats.percentile(sorted, 0.99)));
+            latency.put("p999", EndpointStats.millis(EndpointStats.percentile(sorted, 0.999)));
+            latency.put("max", EndpointStats.millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.notification.loadtest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds {@code OrderCreated} webhooks shaped like the README sample, each with its own order id.
+ * <p>
+ * The number of lines cycles from 1 to {@code maxLines} and the orders are spread over {@code stores}
+ * stores (metadata {@code storeId}), so routing and tenant partitioning see a realistic mix.
+ */
+final class LoadOrders {
+
+    private static final String[] PRODUCTS = {
+        "Apple Juice", "Whole Wheat Bread", "Organic Bananas", "Greek Yogurt", "Free Range Eggs (12)",
+        "Cheddar Cheese Block", "Sparkling Water 6-Pack", "Ground Coffee 500g"
+    };
+
+    private final String runId;
+    private final int maxLines;
+    private final int stores;
+
+    LoadOrders(String runId, int maxLines, int stores) {
+        this.runId = runId;
+        this.maxLines = Math.max(maxLines, 1);
+        this.stores = Math.max(stores, 1);
+    }
+
+    byte[] order(long sequence) {
+        int lines = 1 + (int) (sequence % maxLines);
+        StringBuilder json = new StringBuilder(640 + lines * 320);
+        json.append("""
+            {"__typename":"OrderCreated","order":{"id":"LT-%s-%d","created":"2025-07-24T02:12:05.764991+00:00",\
+            "paymentStatus":"NOT_CHARGED","total":{"gross":{"amount":%d.99,"currency":"USD"}},\
+            "metadata":[{"key":"storeId","value":"store-%d"}],"lines":[""".formatted(
+            runId, sequence, lines * 2, sequence % stores));
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                {"quantity":%d,"variant":{"id":"UHJvZHVjdFZhcmlhbnQ6%d","name":"UHJvZHVjdFZhcmlhbnQ6%d",\
+                "product":{"id":"UHJvZHVjdDo%d","name":"%s","metadata":[{"key":"vendor_id","value":"%d"}]}}}""".formatted(
+                1 + i % 3, 384 + i, 384 + i, 152 + i, PRODUCTS[(int) ((sequence + i) % PRODUCTS.length)], 2 + i % 4));
+        }
+        json.append("""
+            ],"user":{"id":"VXNlcjoxMg==","email":"austin.sparks@example.com","firstName":"Austin"}}}""");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,237 @@
+package com.ecommerce.notification.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Load test against a stub Slack webhook and an in-process SMTP sink, run with {@code mvn -P loadtest verify}.
+ * <p>
+ * Starts {@link StubSlackWebhook} and a GreenMail SMTP server. Without {@code --target} it also starts
+ * the packaged service ({@code --jar}) pointed at both, with fresh data directories under
+ * {@code target/loadtest}. It then drives {@link LoadDriver} for {@code --warmup-s} (not reported) and
+ * {@code --duration-s} seconds, waits up to {@code --drain-s} seconds for the accepted orders to be
+ * delivered, and writes the results as JSON to {@code --out}.
+ * <p>
+ * Options are {@code --name=value}; see {@link #DEFAULTS}. Options starting with {@code --app.} are
+ * passed to the started service without the prefix, e.g. {@code --app.notification.delivery.workers=16}.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("target", "");
+        DEFAULTS.put("jar", "target/notification-0.0.1-SNAPSHOT.jar");
+        DEFAULTS.put("jvm-args", "");
+        DEFAULTS.put("endpoints", "/webhook/order,/api/slack/order-notification");
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("duration-s", "30");
+        DEFAULTS.put("warmup-s", "5");
+        DEFAULTS.put("drain-s", "30");
+        DEFAULTS.put("max-in-flight", "2000");
+        DEFAULTS.put("timeout-ms", "5000");
+        DEFAULTS.put("max-lines", "5");
+        DEFAULTS.put("stores", "20");
+        DEFAULTS.put("stub.port", "0");
+        DEFAULTS.put("stub.latency-ms", "50");
+        DEFAULTS.put("stub.jitter-ms", "50");
+        DEFAULTS.put("stub.error-rate", "0");
+        DEFAULTS.put("stub.throttle-rate", "0");
+        DEFAULTS.put("stub.retry-after-s", "1");
+        DEFAULTS.put("smtp.port", "3025");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("out", "target/loadtest-result.json");
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (name.startsWith("app.")) {
+                appProperties.put(name.substring(4), arg.substring(equals + 1));
+            } else if (DEFAULTS.containsKey(name)) {
+                options.put(name, arg.substring(equals + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name + "; expected one of " + DEFAULTS.keySet());
+            }
+        }
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("runId", runId);
+        result.put("startedAt", Instant.now().toString());
+        result.put("options", options);
+        result.put("serviceProperties", appProperties);
+
+        GreenMail smtp = new GreenMail(new ServerSetup(intOption(options, "smtp.port"), "localhost", ServerSetup.PROTOCOL_SMTP));
+        smtp.start();
+        ServiceProcess service = null;
+        try (StubSlackWebhook slack = new StubSlackWebhook(intOption(options, "stub.port"),
+                 longOption(options, "stub.latency-ms"), longOption(options, "stub.jitter-ms"),
+                 doubleOption(options, "stub.error-rate"), doubleOption(options, "stub.throttle-rate"),
+                 intOption(options, "stub.retry-after-s"), longOption(options, "seed"))) {
+            String target = options.get("target");
+            if (target.isEmpty()) {
+                Path data = Files.createDirectories(Path.of("target", "loadtest", runId));
+                List<String> jvmArgs = options.get("jvm-args").isBlank()
+                    ? List.of() : Arrays.asList(options.get("jvm-args").trim().split("\\s+"));
+                service = ServiceProcess.start(Path.of(options.get("jar")), jvmArgs,
+                    serviceProperties(data, slack.url(), intOption(options, "smtp.port"), appProperties),
+                    data, Duration.ofSeconds(120));
+                target = service.url();
+            }
+            LoadDriver driver = new LoadDriver(target, List.of(options.get("endpoints").split(",")),
+                new LoadOrders(runId, intOption(options, "max-lines"), intOption(options, "stores")),
+                intOption(options, "max-in-flight"), Duration.ofMillis(longOption(options, "timeout-ms")));
+            double rate = doubleOption(options, "rate");
+            if (longOption(options, "warmup-s") > 0) {
+                driver.run(rate, Duration.ofSeconds(longOption(options, "warmup-s")));
+            }
+            Map<String, LoadDriver.EndpointStats> stats = driver.run(rate, Duration.ofSeconds(longOption(options, "duration-s")));
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.report()));
+            result.put("endpoints", endpoints);
+
+            LongSupplier downstream = () -> slack.delivered() + smtp.getReceivedMessages().length;
+            result.put("drain", drain(target, downstream, Duration.ofSeconds(longOption(options, "drain-s"))));
+            Map<String, Object> sinks = new LinkedHashMap<>();
+            sinks.put("slack", slack.stats());
+            sinks.put("smtp", Map.of("received", smtp.getReceivedMessages().length));
+            result.put("downstream", sinks);
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+            smtp.stop();
+        }
+
+        Path out = Path.of(options.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MAPPER.writeValue(out.toFile(), result);
+        System.out.println(MAPPER.writeValueAsString(result));
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static Map<String, String> serviceProperties(Path data, String slackUrl, int smtpPort, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("slack.webhook.url", slackUrl);
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.port", Integer.toString(smtpPort));
+        properties.put("spring.mail.username", "");
+        properties.put("spring.mail.password", "");
+        properties.put("spring.mail.properties.mail.smtp.auth", "false");
+        properties.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+        properties.put("notification.mail.to", "orders@loadtest.local");
+        properties.put("notification.outbox.directory", data.resolve("outbox").toString());
+        properties.put("notification.dead-letter.directory", data.resolve("dead-letters").toString());
+        properties.put("notification.dedup.snapshot-file", data.resolve("dedup.snapshot").toString());
+        // Measure the service, not the per-webhook quotas it enforces against the real Slack
+        properties.put("notification.rate-limit.slack.permits-per-second", "100000");
+        properties.put("notification.rate-limit.slack.burst", "1000");
+        properties.put("notification.rate-limit.email.permits-per-second", "100000");
+        properties.put("notification.rate-limit.email.burst", "1000");
+        properties.put("logging.level.root", "WARN");
+        // Repeated command-line options are joined rather than replaced, so overrides are merged here
+        properties.putAll(overrides);
+        return properties;
+    }
+
+    /**
+     * Waits for the service to deliver what it accepted: until its {@code notification.outbox.unacked}
+     * gauge reads zero or, if its metrics cannot be read, until nothing more arrives downstream for two seconds.
+     */
+    private static Map<String, Object> drain(String target, LongSupplier downstream, Duration timeout)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long last = downstream.getAsLong();
+        long quietSince = start;
+        long undelivered = unacked(client, target);
+        boolean complete = false;
+        while (System.nanoTime() < deadline) {
+            if (undelivered == 0) {
+                complete = true;
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+            undelivered = unacked(client, target);
+            long now = downstream.getAsLong();
+            if (now != last) {
+                last = now;
+                quietSince = System.nanoTime();
+            } else if (undelivered < 0 && System.nanoTime() - quietSince > TimeUnit.SECONDS.toNanos(2)) {
+                complete = true;
+                break;
+            }
+        }
+        Map<String, Object> drain = new LinkedHashMap<>();
+        drain.put("seconds", Math.round((System.nanoTime() - start) / 1e6) / 1000.0);
+        drain.put("complete", complete);
+        if (undelivered >= 0) {
+            drain.put("undelivered", undelivered);
+        }
+        return drain;
+    }
+
+    /**
+     * @return the service's undelivered outbox entries, or {@code -1} if its metrics cannot be read
+     */
+    private static long unacked(HttpClient client, String target) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target + "/actuator/metrics/notification.outbox.unacked"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            JsonNode value = MAPPER.readTree(response.body()).path("measurements").path(0).path("value");
+            return value.isNumber() ? value.asLong() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static int intOption(Map<String, String> options, String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private static long longOption(Map<String, String> options, String name) {
+        return Long.parseLong(options.get(name));
+    }
+
+    private static double doubleOption(Map<String, String> options, String name) {
+        return Double.parseDouble(options.get(name));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.notification.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for a Slack incoming webhook at {@code /hook}.
+ * <p>
+ * Each POST is held for {@code latencyMs} plus up to {@code jitterMs}, then answered {@code 200 ok}, or
+ * {@code 429} with a {@code Retry-After} in {@code throttleRate} of the calls, or {@code 500} in
+ * {@code errorRate} of them. The dice are seeded, so a run can be repeated.
+ */
+final class StubSlackWebhook implements AutoCloseable {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final double throttleRate;
+    private final int retryAfterSeconds;
+    private final Random random;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    StubSlackWebhook(int port, long latencyMs, long jitterMs, double errorRate, double throttleRate,
+                     int retryAfterSeconds, long seed) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        // Latency is injected by sleeping, so every request in flight needs its own thread
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-slack");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/hook", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/hook";
+    }
+
+    long delivered() {
+        return delivered.sum();
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("received", received.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("injected500", failed.sum());
+        stats.put("injected429", throttled.sum());
+        return stats;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            received.increment();
+            double roll;
+            long delay;
+            synchronized (random) {
+                roll = random.nextDouble();
+                delay = latencyMs + (jitterMs > 0 ? (long) (random.nextDouble() * jitterMs) : 0);
+            }
+            if (delay > 0) {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+            if (roll < throttleRate) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+                respond(exchange, 429, "rate_limited");
+            } else if (roll < throttleRate + errorRate) {
+                failed.increment();
+                respond(exchange, 500, "internal_error");
+            } else {
+                delivered.increment();
+                respond(exchange, 200, "ok");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.notification.cluster;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.lifecycle.OrderLifecycle;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hands an order, or a change of its status, to the replica that owns it, through {@code POST /api/cluster/orders}
+ * and {@code POST /api/cluster/order-status}.
+ * <p>
+ * The owner answers with the same receipt it would give the store, so a duplicate or a full queue on
+ * the owner is reported to the store as if it had called the owner directly. If the owner cannot be
+ * reached, or fails, it is taken off the ring and the caller accepts the order itself: a notification
+ * sent by the wrong replica is better than a webhook the store has to retry.
+ */
+@Component
+public class ClusterForwarder {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterForwarder.class);
+
+    /**
+     * Marks a forwarded order, so the owner accepts it instead of forwarding it again.
+     */
+    public static final String FORWARDED_HEADER = "X-Notification-Forwarded";
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Value("${notification.cluster.forward-timeout-ms:2000}")
+    private long timeoutMs;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void start() {
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    /**
+     * @return the owner's receipt, or empty if the owner did not take the order and it should be accepted here
+     * @throws IllegalArgumentException if the owner rejected the payload
+     * @throws DeliveryRejectedException if the owner's delivery queue is full
+     */
+    public Optional<DeliveryService.Receipt> forward(String owner, Set<DeliveryChannel> channels, byte[] payload) {
+        String selected = channels.stream()
+            .map(channel -> channel.name().toLowerCase(Locale.ROOT))
+            .collect(Collectors.joining(","));
+        return post(owner, "/api/cluster/orders?channels=" + selected, payload).map(ClusterForwarder::receipt);
+    }
+
+    /**
+     * Hands an order status webhook to the replica that tracks the order, through
+     * {@code POST /api/cluster/order-status}.
+     *
+     * @return what the owner did with it, or empty if it should be applied here
+     * @throws IllegalArgumentException if the owner rejected the payload
+     * @throws DeliveryRejectedException if the owner tracks too many orders
+     */
+    public Optional<OrderLifecycle.Outcome> forwardStatus(String owner, byte[] payload) {
+        return post(owner, "/api/cluster/order-status", payload)
+            .map(body -> OrderLifecycle.Outcome.valueOf(body.path("outcome").asText().toUpperCase(Locale.ROOT)));
+    }
+
+    private Optional<JsonNode> post(String owner, String path, byte[] payload) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + path))
+            .timeout(Duration.ofMillis(timeoutMs))
+            .header("Content-Type", "application/json")
+            .header(FORWARDED_HEADER, clusterMembership.self())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+            .build();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            if (status == 200 || status == 202) {
+                success = true;
+                return Optional.of(objectMapper.readTree(response.body()));
+            }
+            if (status == 400) {
+                success = true;
+                throw new IllegalArgumentException(message(response.body()));
+            }
+            if (status == 429) {
+                success = true;
+                throw new DeliveryRejectedException(owner + ": " + message(response.body()));
+            }
+            log.warn("Cluster member {} answered {} to a forwarded order; accepting it here", owner, status);
+        } catch (IOException e) {
+            log.warn("Could not forward an order to {}; accepting it here: {}", owner, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryRejectedException("Interrupted while forwarding to " + owner);
+        } finally {
+            metrics.recordOutbound(NotificationMetrics.Client.PEER, success, System.nanoTime() - start);
+        }
+        clusterMembership.suspect(owner);
+        return Optional.empty();
+    }
+
+    private static DeliveryService.Receipt receipt(JsonNode body) {
+        return new DeliveryService.Receipt(body.path("orderId").asText(), channels(body.path("accepted")),
+            channels(body.path("duplicates")));
+    }
+
+    private static List<DeliveryChannel> channels(JsonNode names) {
+        List<DeliveryChannel> channels = new ArrayList<>(names.size());
+        for (JsonNode name : names) {
+            channels.add(DeliveryChannel.valueOf(name.asText().toUpperCase(Locale.ROOT)));
+        }
+        return channels;
+    }
+
+    private String message(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("message").asText("rejected by the owning replica");
+        } catch (IOException e) {
+            return "rejected by the owning replica";
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.ecommerce.notification.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which replica owns which orders.
+ * <p>
+ * The replicas are listed in {@code notification.cluster.members} (base URLs, the same list on every
+ * replica) and each knows its own URL from {@code notification.cluster.self}. Every replica probes the
+ * others' {@code /api/cluster/ping} every {@code probe-interval-ms}. A peer that fails
+ * {@code failure-threshold} probes in a row, or a forwarded order, leaves the hash ring until it answers
+ * a probe again. Its orders then fall to the next replicas on the ring. As all replicas probe the same
+ * peers, their rings converge within a few intervals; during that time an order may be accepted by a
+ * replica that does not own it, which only costs the ordering and rate-limit guarantees for that order.
+ * <p>
+ * Orders are partitioned by tenant (store, then warehouse, then sales channel, like routing) or by
+ * order id, as set by {@code partition-by}. Tenant partitioning keeps one tenant's orders, and the
+ * rate limiter of its Slack webhook, on one replica.
+ * <p>
+ * When clustering is disabled the replica owns everything.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    public enum PartitionBy {
+        TENANT, ORDER
+    }
+
+    @Value("${notification.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notification.cluster.self:http://localhost:${server.port:8080}}")
+    private String self;
+
+    @Value("${notification.cluster.members:}")
+    private String[] members;
+
+    @Value("${notification.cluster.partition-by:tenant}")
+    private String partitionBy;
+
+    @Value("${notification.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${notification.cluster.probe-interval-ms:1000}")
+    private long probeIntervalMs;
+
+    @Value("${notification.cluster.probe-timeout-ms:500}")
+    private long probeTimeoutMs;
+
+    @Value("${notification.cluster.failure-threshold:3}")
+    private int failureThreshold;
+
+    private final Map<String, Peer> peers = new LinkedHashMap<>();
+    private PartitionBy partitioning;
+    private volatile HashRing ring;
+    private HttpClient httpClient;
+    private ScheduledExecutorService prober;
+
+    @PostConstruct
+    void start() {
+        self = normalize(self);
+        partitioning = PartitionBy.valueOf(partitionBy.trim().toUpperCase(Locale.ROOT));
+        for (String member : members) {
+            String url = normalize(member);
+            if (!url.isEmpty() && !url.equals(self)) {
+                peers.put(url, new Peer());
+            }
+        }
+        rebuild();
+        if (!enabled) {
+            return;
+        }
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(probeTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        if (!peers.isEmpty() && probeIntervalMs > 0) {
+            prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cluster-prober");
+                thread.setDaemon(true);
+                return thread;
+            });
+            prober.scheduleWithFixedDelay(this::probeAll, 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Cluster member {} of {}, partitioning by {}", self, ring.members(), partitioning.name().toLowerCase(Locale.ROOT));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public PartitionBy partitionBy() {
+        return partitioning;
+    }
+
+    /**
+     * @return the URL of the replica owning {@code partitionKey}
+     */
+    public String owner(String partitionKey) {
+        return ring.owner(partitionKey);
+    }
+
+    public boolean isSelf(String member) {
+        return self.equals(member);
+    }
+
+    /**
+     * The partition key of an order when partitioning by tenant: the most specific origin attribute it has.
+     */
+    public static String tenantKey(OrderEvent event) {
+        OrderEvent.Origin origin = event.origin();
+        if (!origin.store().isEmpty()) {
+            return "store:" + origin.store();
+        }
+        if (!origin.warehouse().isEmpty()) {
+            return "warehouse:" + origin.warehouse();
+        }
+        if (!origin.channel().isEmpty()) {
+            return "channel:" + origin.channel();
+        }
+        return "order:" + event.orderId();
+    }
+
+    /**
+     * Replicas on the ring, this one included.
+     */
+    public int liveMembers() {
+        return ring.members().size();
+    }
+
+    /**
+     * Every configured replica and whether it is on the ring.
+     */
+    public synchronized Map<String, Boolean> memberStates() {
+        Map<String, Boolean> states = new LinkedHashMap<>();
+        states.put(self, true);
+        peers.forEach((url, peer) -> states.put(url, peer.live));
+        return states;
+    }
+
+    /**
+     * Takes a peer off the ring after a failed forward, without waiting for the probes to notice.
+     */
+    public void suspect(String member) {
+        Peer peer = peers.get(member);
+        if (peer != null) {
+            update(member, peer, false, failureThreshold);
+        }
+    }
+
+    void probeAll() {
+        for (Map.Entry<String, Peer> entry : peers.entrySet()) {
+            update(entry.getKey(), entry.getValue(), probe(entry.getKey()), 1);
+        }
+    }
+
+    private boolean probe(String member) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(member + "/api/cluster/ping"))
+                .timeout(Duration.ofMillis(probeTimeoutMs))
+                .GET()
+                .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private synchronized void update(String member, Peer peer, boolean reachable, int failures) {
+        if (reachable) {
+            peer.failures = 0;
+            if (!peer.live) {
+                peer.live = true;
+                log.info("Cluster member {} is back; rebalancing", member);
+                rebuild();
+            }
+            return;
+        }
+        peer.failures += failures;
+        if (peer.live && peer.failures >= failureThreshold) {
+            peer.live = false;
+            log.warn("Cluster member {} is unreachable; its orders move to the other members", member);
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        SortedSet<String> live = new TreeSet<>();
+        live.add(self);
+        peers.forEach((url, peer) -> {
+            if (peer.live) {
+                live.add(url);
+            }
+        });
+        ring = new HashRing(live, virtualNodes);
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private static final class Peer {
+
+        // Guarded by the membership
+        private boolean live = true;
+        private int failures;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.notification.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring assigning partition keys to members.
+ * <p>
+ * Each member is placed on the ring at {@code virtualNodes} pseudo-random points, and a key belongs to
+ * the member owning the first point at or after the key's hash. Adding or removing a member therefore
+ * only moves the keys next to its points, about {@code 1/n} of them, and the virtual nodes keep the
+ * share of each member close to even. Rings are immutable; membership changes build a new one.
+ */
+public final class HashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final List<String> members;
+
+    public HashRing(SortedSet<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one member");
+        }
+        this.members = List.copyOf(members);
+        long[][] placed = new long[members.size() * virtualNodes][];
+        int index = 0;
+        for (int m = 0; m < this.members.size(); m++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                placed[index++] = new long[] {hash(this.members.get(m) + "#" + v), m};
+            }
+        }
+        // Ties are broken by member so every node builds the same ring from the same members
+        Arrays.sort(placed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        points = new long[placed.length];
+        owners = new String[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = this.members.get((int) placed[i][1]);
+        }
+    }
+
+    public static HashRing of(String... members) {
+        return new HashRing(new TreeSet<>(List.of(members)), 128);
+    }
+
+    public String owner(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that similar keys
+     * ({@code node#1}, {@code node#2}) land far apart.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
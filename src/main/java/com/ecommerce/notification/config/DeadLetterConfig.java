@@ -0,0 +1,20 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.deadletter.DeadLetterStore;
+
+import java.nio.file.Path;
+
+@Configuration
+public class DeadLetterConfig {
+
+    @Bean(initMethod = "open", destroyMethod = "close")
+    public DeadLetterStore deadLetterStore(
+            @Value("${notification.dead-letter.directory:data/dead-letters}") String directory,
+            @Value("${notification.dead-letter.max-entries:100000}") int maxEntries) {
+        return new DeadLetterStore(Path.of(directory), maxEntries);
+    }
+}
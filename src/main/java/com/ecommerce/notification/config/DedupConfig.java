@@ -0,0 +1,30 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.dedup.DedupIndex;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class DedupConfig {
+
+    @Bean(initMethod = "open", destroyMethod = "close")
+    public DedupIndex dedupIndex(
+            @Value("${notification.dedup.snapshot-file:data/dedup.snapshot}") String snapshotFile,
+            @Value("${notification.dedup.ttl-ms:86400000}") long ttlMs,
+            @Value("${notification.dedup.max-entries:200000}") int maxEntries,
+            @Value("${notification.dedup.generations:4}") int generations,
+            @Value("${notification.dedup.snapshot-interval-ms:10000}") long snapshotIntervalMs) {
+        return new DedupIndex(
+            Path.of(snapshotFile),
+            Duration.ofMillis(ttlMs),
+            maxEntries,
+            generations,
+            Duration.ofMillis(snapshotIntervalMs)
+        );
+    }
+}
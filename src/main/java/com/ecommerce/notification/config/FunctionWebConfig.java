@@ -0,0 +1,251 @@
+package com.ecommerce.notification.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * Lets the Spring Cloud Function routes take newline-delimited JSON.
+ * <p>
+ * Spring Cloud Function splits a JSON array body into one input per element when the function takes a
+ * {@code Flux}, but reads NDJSON as a single document. Requests to the function routes sent as
+ * {@code application/x-ndjson} are therefore rewritten into a JSON array before they reach it.
+ * Bodies over {@code notification.ingest.max-payload-bytes} get {@code 413} without being read further,
+ * as on the webhook routes.
+ */
+@Configuration
+public class FunctionWebConfig {
+
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    @Value("${spring.cloud.function.web.path:}")
+    private String functionPath;
+
+    @Value("${notification.ingest.max-payload-bytes:1048576}")
+    private int maxPayloadBytes;
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public OncePerRequestFilter ndjsonFunctionFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !isNdjsonFunctionCall(request.getRequestURI(), request.getContentType());
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                if (request.getContentLengthLong() > maxPayloadBytes) {
+                    response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                    return;
+                }
+                // One byte over the limit is enough to tell a chunked body is too large
+                byte[] ndjson = request.getInputStream().readNBytes(maxPayloadBytes + 1);
+                if (ndjson.length > maxPayloadBytes) {
+                    response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                    return;
+                }
+                chain.doFilter(new JsonArrayRequest(request, toJsonArray(ndjson)), response);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFilter reactiveNdjsonFunctionFilter() {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            MediaType contentType = request.getHeaders().getContentType();
+            if (!isNdjsonFunctionCall(request.getPath().value(), contentType == null ? null : contentType.toString())) {
+                return chain.filter(exchange);
+            }
+            if (request.getHeaders().getContentLength() > maxPayloadBytes) {
+                return tooLarge(exchange.getResponse());
+            }
+            return DataBufferUtils.join(request.getBody(), maxPayloadBytes)
+                .flatMap(buffer -> {
+                    byte[] ndjson = new byte[buffer.readableByteCount()];
+                    buffer.read(ndjson);
+                    DataBufferUtils.release(buffer);
+                    byte[] body = toJsonArray(ndjson);
+                    ServerHttpRequest rewritten = new ServerHttpRequestDecorator(request) {
+                        @Override
+                        public HttpHeaders getHeaders() {
+                            HttpHeaders headers = new HttpHeaders();
+                            headers.putAll(super.getHeaders());
+                            headers.setContentType(MediaType.APPLICATION_JSON);
+                            headers.setContentLength(body.length);
+                            return headers;
+                        }
+
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            return Flux.just(exchange.getResponse().bufferFactory().wrap(body));
+                        }
+                    };
+                    return chain.filter(exchange.mutate().request(rewritten).build());
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> tooLarge(exchange.getResponse()));
+        };
+    }
+
+    private static Mono<Void> tooLarge(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+        return response.setComplete();
+    }
+
+    private boolean isNdjsonFunctionCall(String path, String contentType) {
+        if (contentType == null || !path.startsWith(functionPath + "/")) {
+            return false;
+        }
+        try {
+            return NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Joins the non-blank lines of an NDJSON body into a JSON array. The lines are not validated here;
+     * a malformed one fails the call as it would in an array.
+     */
+    static byte[] toJsonArray(byte[] ndjson) {
+        ByteArrayOutputStream array = new ByteArrayOutputStream(ndjson.length + 2);
+        array.write('[');
+        boolean first = true;
+        int start = 0;
+        for (int i = 0; i <= ndjson.length; i++) {
+            if (i < ndjson.length && ndjson[i] != '\n') {
+                continue;
+            }
+            int end = i;
+            while (end > start && Character.isWhitespace(ndjson[end - 1])) {
+                end--;
+            }
+            int from = start;
+            while (from < end && Character.isWhitespace(ndjson[from])) {
+                from++;
+            }
+            if (from < end) {
+                if (!first) {
+                    array.write(',');
+                }
+                array.write(ndjson, from, end - from);
+                first = false;
+            }
+            start = i + 1;
+        }
+        array.write(']');
+        return array.toByteArray();
+    }
+
+    private static final class JsonArrayRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private JsonArrayRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public String getContentType() {
+            return MediaType.APPLICATION_JSON_VALUE;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                return getContentType();
+            }
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return Integer.toString(body.length);
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            String header = getHeader(name);
+            return header == null ? super.getHeaders(name) : Collections.enumeration(Collections.singletonList(header));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The body is already in memory, so all of it is available right away
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+    }
+}
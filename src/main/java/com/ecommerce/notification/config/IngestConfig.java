@@ -0,0 +1,44 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ecommerce.notification.ingest.BufferPool;
+import com.ecommerce.notification.ingest.PayloadHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Reads webhook bodies with {@link PayloadHttpMessageConverter} instead of Spring's byte array converter.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IngestConfig {
+
+    @Bean
+    public BufferPool ingestBufferPool(
+            @Value("${notification.ingest.buffer-size:16384}") int bufferSize,
+            @Value("${notification.ingest.pooled-buffers:256}") int pooledBuffers) {
+        return new BufferPool(bufferSize, pooledBuffers);
+    }
+
+    @Bean
+    public WebMvcConfigurer payloadConverterConfigurer(BufferPool ingestBufferPool,
+                                                       @Value("${notification.ingest.max-payload-bytes:1048576}") int maxPayloadBytes) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                for (int i = 0; i < converters.size(); i++) {
+                    if (converters.get(i).getClass() == ByteArrayHttpMessageConverter.class) {
+                        converters.set(i, new PayloadHttpMessageConverter(ingestBufferPool, maxPayloadBytes));
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.mail.PooledJavaMailSender;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Replaces Spring Boot's per-message {@code JavaMailSenderImpl} with a pooled sender, configured
+ * from the same {@code spring.mail.*} properties.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    public PooledJavaMailSender mailSender(
+            MailProperties properties,
+            @Value("${notification.mail.pool.max-connections:4}") int maxConnections,
+            @Value("${notification.mail.pool.idle-timeout-ms:60000}") long idleTimeoutMs,
+            @Value("${notification.mail.pool.validate-after-ms:5000}") long validateAfterMs,
+            @Value("${notification.mail.pool.acquire-timeout-ms:10000}") long acquireTimeoutMs) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+            maxConnections,
+            Duration.ofMillis(idleTimeoutMs),
+            Duration.ofMillis(validateAfterMs),
+            Duration.ofMillis(acquireTimeoutMs)
+        );
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        sender.setDefaultEncoding(properties.getDefaultEncoding() != null
+            ? properties.getDefaultEncoding().name()
+            : StandardCharsets.UTF_8.name());
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.notification.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.metrics.NotificationMetrics;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public NotificationMetrics notificationMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${notification.health.error-rate.window-ms:60000}") long errorWindowMs) {
+        return new NotificationMetrics(meterRegistry, Duration.ofMillis(errorWindowMs));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.outbox.OutboxLog;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean(initMethod = "open", destroyMethod = "close")
+    public OutboxLog outboxLog(
+            @Value("${notification.outbox.directory:data/outbox}") String directory,
+            @Value("${notification.outbox.segment-size:67108864}") int segmentSize,
+            @Value("${notification.outbox.flush-interval-ms:2}") long flushIntervalMs,
+            @Value("${notification.outbox.max-batch:256}") int maxBatch,
+            @Value("${notification.outbox.compaction-interval-ms:10000}") long compactionIntervalMs) {
+        return new OutboxLog(
+            Path.of(directory),
+            segmentSize,
+            Duration.ofMillis(flushIntervalMs),
+            maxBatch,
+            Duration.ofMillis(compactionIntervalMs)
+        );
+    }
+}
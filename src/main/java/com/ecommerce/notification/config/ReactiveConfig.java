@@ -0,0 +1,115 @@
+package com.ecommerce.notification.config;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import com.ecommerce.notification.delivery.DeliveryThreads;
+import com.ecommerce.notification.delivery.ExecutionMode;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking stack, enabled with {@code notification.reactive.enabled=true} (the {@code reactive} profile).
+ * <p>
+ * Webhooks are served by WebFlux on Netty's event loops and Slack is called through a {@link WebClient}
+ * sharing the same loops, so in-flight deliveries cost a pooled connection rather than a thread. Controller
+ * methods that still block (the Slack and admin endpoints) are moved off the event loops onto a small pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    @Value("${slack.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${slack.http.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${slack.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${slack.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${slack.http.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    @Value("${notification.reactive.blocking-threads:32}")
+    private int blockingThreads;
+
+    @Value("${notification.delivery.execution-mode:platform}")
+    private String executionMode;
+
+    /**
+     * Takes precedence over the Tomcat factory that {@code spring-boot-starter-web} would otherwise provide.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider slackConnectionProvider() {
+        return ConnectionProvider.builder("slack")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+            // Requests waiting for a connection are bounded by the delivery pipeline's concurrency
+            .pendingAcquireMaxCount(-1)
+            .maxIdleTime(Duration.ofMillis(keepAliveMs))
+            .evictInBackground(Duration.ofMillis(keepAliveMs))
+            .build();
+    }
+
+    @Bean
+    public WebClient slackWebClient(ConnectionProvider slackConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(slackConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    /**
+     * Not exposed as a bean, so that Spring Boot still creates its default task executor.
+     */
+    private ExecutorService blockingControllerExecutor;
+
+    @Bean
+    public WebFluxConfigurer blockingExecutionConfigurer() {
+        ExecutionMode mode = DeliveryThreads.effectiveMode(ExecutionMode.parse(executionMode));
+        blockingControllerExecutor = mode == ExecutionMode.VIRTUAL
+            ? Executors.newCachedThreadPool(DeliveryThreads.threadFactory(mode, "webflux-blocking-"))
+            : Executors.newFixedThreadPool(blockingThreads, DeliveryThreads.threadFactory(mode, "webflux-blocking-"));
+        return new WebFluxConfigurer() {
+            @Override
+            public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+                // Only methods with a non-reactive return type are moved off the event loop
+                configurer.setExecutor(new TaskExecutorAdapter(blockingControllerExecutor));
+            }
+        };
+    }
+
+    @PreDestroy
+    void stopBlockingControllerExecutor() {
+        if (blockingControllerExecutor != null) {
+            blockingControllerExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.notification.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.notification.scheduling.TimerWheel;
+
+import java.time.Duration;
+
+@Configuration
+public class SchedulingConfig {
+
+    @Bean(destroyMethod = "close")
+    public TimerWheel deliveryTimer(
+            @Value("${notification.retry.timer-tick-ms:10}") long tickMs,
+            @Value("${notification.retry.timer-wheel-size:512}") int wheelSize) {
+        return new TimerWheel("delivery-timer", Duration.ofMillis(tickMs), wheelSize);
+    }
+}
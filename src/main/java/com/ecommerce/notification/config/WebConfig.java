@@ -1,14 +1,95 @@
 package com.ecommerce.notification.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP client used for the Slack webhook.
+ * <p>
+ * By default ({@code slack.http.version=HTTP_1_1}) requests go through a pooled Apache HttpClient that
+ * keeps connections to hooks.slack.com alive between orders. {@code HTTP_2} switches to the JDK client,
+ * which multiplexes all requests over a single connection per host.
+ */
 @Configuration
 public class WebConfig {
 
+    @Value("${slack.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${slack.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${slack.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${slack.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${slack.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${slack.http.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "slack.http.version", havingValue = "HTTP_1_1", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager slackConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "slack.http.version", havingValue = "HTTP_1_1", matchIfMissing = true)
+    public CloseableHttpClient slackHttpClient(PoolingHttpClientConnectionManager slackConnectionManager) {
+        return HttpClients.custom()
+            .setConnectionManager(slackConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build())
+            // Slack does not send Keep-Alive hints, so keep idle connections for a fixed time
+            .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+            .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+            .evictExpiredConnections()
+            .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObjectProvider<CloseableHttpClient> slackHttpClient) {
+        CloseableHttpClient pooled = slackHttpClient.getIfAvailable();
+        if (pooled != null) {
+            return new RestTemplate(new HttpComponentsClientHttpRequestFactory(pooled));
+        }
+        HttpClient http2 = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(http2);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
     }
-} 
\ No newline at end of file
+}
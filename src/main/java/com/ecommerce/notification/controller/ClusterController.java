@@ -0,0 +1,120 @@
+package com.ecommerce.notification.controller;
+
+import com.ecommerce.notification.cluster.ClusterForwarder;
+import com.ecommerce.notification.cluster.ClusterMembership;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.lifecycle.OrderLifecycle;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Endpoints the replicas call on each other: the liveness probe, and orders and order status changes
+ * forwarded to their owner.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private OrderLifecycle orderLifecycle;
+
+    @GetMapping("/ping")
+    public ResponseEntity<String> ping() {
+        return ResponseEntity.ok(clusterMembership.self());
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(Map.of(
+            "enabled", clusterMembership.enabled(),
+            "self", clusterMembership.self(),
+            "partitionBy", clusterMembership.partitionBy().name().toLowerCase(Locale.ROOT),
+            "live", clusterMembership.liveMembers(),
+            "members", clusterMembership.memberStates()
+        ));
+    }
+
+    /**
+     * Accepts an order forwarded by another replica. It is accepted here even if this replica no longer
+     * owns it, so that replicas whose rings disagree for a moment do not pass an order back and forth.
+     */
+    @PostMapping("/orders")
+    public ResponseEntity<Map<String, Object>> receiveForwardedOrder(@RequestBody byte[] payload,
+                                                                     @RequestParam List<String> channels,
+                                                                     @RequestHeader(name = ClusterForwarder.FORWARDED_HEADER, defaultValue = "") String from) {
+        try {
+            Set<DeliveryChannel> selected = EnumSet.noneOf(DeliveryChannel.class);
+            for (String channel : channels) {
+                try {
+                    selected.add(DeliveryChannel.valueOf(channel.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown channel '" + channel + "'");
+                }
+            }
+            DeliveryService.Receipt receipt = deliveryService.acceptLocal(selected, payload);
+            return ResponseEntity.status(receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(Map.of(
+                "status", receipt.duplicate() ? "duplicate" : "accepted",
+                "orderId", receipt.orderId(),
+                "accepted", receipt.accepted(),
+                "duplicates", receipt.duplicates()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (DeliveryRejectedException e) {
+            log.warn("Rejecting order forwarded by {}: {}", from, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+                ));
+        }
+    }
+
+    /**
+     * Applies a status change forwarded by another replica, here whoever owns the order.
+     */
+    @PostMapping("/order-status")
+    public ResponseEntity<Map<String, Object>> receiveForwardedStatus(@RequestBody byte[] payload,
+                                                                      @RequestHeader(name = ClusterForwarder.FORWARDED_HEADER, defaultValue = "") String from) {
+        try {
+            return OrderStatusController.outcomeResponse(orderLifecycle.acceptLocal(payload));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (DeliveryRejectedException e) {
+            log.warn("Rejecting order status forwarded by {}: {}", from, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+                ));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.notification.controller;
+
+import com.ecommerce.notification.deadletter.DeadLetter;
+import com.ecommerce.notification.deadletter.DeadLetterFilter;
+import com.ecommerce.notification.deadletter.DeadLetterReplayer;
+import com.ecommerce.notification.deadletter.DeadLetterStore;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lists, inspects, discards and replays notifications that exhausted their delivery attempts.
+ * <p>
+ * Listing and replay take the same filters: {@code channel}, {@code orderId}, {@code error} (a
+ * case-insensitive substring of the recorded error) and an ISO-8601 {@code since}/{@code until} range
+ * on the time of the last failure.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/dead-letters")
+public class DeadLetterController {
+
+    private static final int MAX_PAGE = 1000;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list(@RequestParam(required = false) String channel,
+                                                    @RequestParam(required = false) String orderId,
+                                                    @RequestParam(required = false) String error,
+                                                    @RequestParam(required = false) String since,
+                                                    @RequestParam(required = false) String until,
+                                                    @RequestParam(defaultValue = "0") int offset,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        try {
+            if (offset < 0 || limit < 1 || limit > MAX_PAGE) {
+                throw new IllegalArgumentException("offset must be >= 0 and limit between 1 and " + MAX_PAGE);
+            }
+            DeadLetterFilter filter = filter(channel, orderId, error, since, until);
+            return ResponseEntity.ok(Map.of(
+                "total", deadLetterStore.count(filter),
+                "deadLetters", deadLetterStore.find(filter, offset, limit).stream().map(DeadLetterController::summary).toList()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable long id) {
+        return deadLetterStore.get(id)
+            .map(letter -> {
+                Map<String, Object> body = summary(letter);
+                body.put("payload", new String(letter.payload(), StandardCharsets.UTF_8));
+                return ResponseEntity.ok(body);
+            })
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "status", "error",
+                "message", "No dead letter " + id
+            )));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> discard(@PathVariable long id) {
+        try {
+            if (!deadLetterStore.remove(id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "status", "error",
+                    "message", "No dead letter " + id
+                ));
+            }
+            log.info("Discarded dead letter {}", id);
+            return ResponseEntity.ok(Map.of("status", "discarded", "id", id));
+        } catch (IOException e) {
+            log.error("Could not discard dead letter {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "status", "error",
+                "message", "Could not discard dead letter: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Starts replaying up to {@code limit} matching dead letters at {@code rate} per second
+     * (the configured default when omitted). Progress is reported by {@code GET /replay}.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> replay(@RequestParam(required = false) String channel,
+                                                      @RequestParam(required = false) String orderId,
+                                                      @RequestParam(required = false) String error,
+                                                      @RequestParam(required = false) String since,
+                                                      @RequestParam(required = false) String until,
+                                                      @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int limit,
+                                                      @RequestParam(required = false) Double rate) {
+        try {
+            if (limit < 1) {
+                throw new IllegalArgumentException("limit must be positive");
+            }
+            DeadLetterReplayer.Replay replay = deadLetterReplayer.start(filter(channel, orderId, error, since, until), limit, rate);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status(replay));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/replay")
+    public ResponseEntity<Map<String, Object>> replayStatus() {
+        return deadLetterReplayer.current()
+            .map(replay -> ResponseEntity.ok(status(replay)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "status", "error",
+                "message", "No replay has been started"
+            )));
+    }
+
+    @DeleteMapping("/replay")
+    public ResponseEntity<Map<String, Object>> cancelReplay() {
+        if (!deadLetterReplayer.cancel()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "error",
+                "message", "No replay is running"
+            ));
+        }
+        return ResponseEntity.ok(status(deadLetterReplayer.current().orElseThrow()));
+    }
+
+    private static DeadLetterFilter filter(String channel, String orderId, String error, String since, String until) {
+        DeliveryChannel selected = null;
+        if (channel != null && !channel.isBlank()) {
+            try {
+                selected = DeliveryChannel.valueOf(channel.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown channel '" + channel + "'");
+            }
+        }
+        return new DeadLetterFilter(selected, blankToNull(orderId), blankToNull(error), instant("since", since),
+            instant("until", until));
+    }
+
+    private static Instant instant(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 instant, e.g. 2024-01-31T12:00:00Z");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Map<String, Object> summary(DeadLetter letter) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", letter.id());
+        body.put("channel", letter.channel());
+        body.put("orderId", letter.orderId());
+        body.put("attempts", letter.attempts());
+        body.put("failedAt", letter.failedAt().toString());
+        body.put("error", letter.error());
+        return body;
+    }
+
+    private static Map<String, Object> status(DeadLetterReplayer.Replay replay) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", replay.id());
+        body.put("state", replay.state());
+        body.put("total", replay.total());
+        body.put("replayed", replay.replayed());
+        body.put("failed", replay.failed());
+        body.put("skipped", replay.skipped());
+        body.put("permitsPerSecond", replay.permitsPerSecond());
+        body.put("startedAt", replay.startedAt().toString());
+        replay.finishedAt().ifPresent(finishedAt -> body.put("finishedAt", finishedAt.toString()));
+        replay.error().ifPresent(error -> body.put("error", error));
+        return body;
+    }
+}
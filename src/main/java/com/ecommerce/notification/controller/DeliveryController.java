@@ -0,0 +1,58 @@
+package com.ecommerce.notification.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.ecommerce.notification.dedup.DedupIndex;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.routing.NotificationRoutes;
+import com.ecommerce.notification.routing.Route;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/delivery")
+public class DeliveryController {
+
+    @Autowired
+    private DedupIndex dedupIndex;
+
+    @Autowired
+    private NotificationRoutes notificationRoutes;
+
+    @GetMapping("/dedup")
+    public ResponseEntity<Map<String, Object>> dedupStats() {
+        long hits = dedupIndex.hits();
+        long misses = dedupIndex.misses();
+        return ResponseEntity.ok(Map.of(
+            "hits", hits,
+            "misses", misses,
+            "hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+            "entries", dedupIndex.size(),
+            "evictedEarly", dedupIndex.evictedEarly()
+        ));
+    }
+
+    /**
+     * Reports the loaded routing table and, given an order's {@code store}, {@code warehouse} and
+     * {@code channel}, the route it would take. Webhook URLs are secrets, so only whether one is set is shown.
+     */
+    @GetMapping("/routing")
+    public ResponseEntity<Map<String, Object>> routing(@RequestParam(defaultValue = "") String store,
+                                                       @RequestParam(defaultValue = "") String warehouse,
+                                                       @RequestParam(defaultValue = "") String channel) {
+        Route route = notificationRoutes.table().resolve(new OrderEvent.Origin(channel, warehouse, store));
+        Map<String, Object> resolved = new LinkedHashMap<>();
+        resolved.put("match", route.match());
+        resolved.put("slackWebhook", route.slackWebhookUrl() == null ? "default" : "custom");
+        resolved.put("slackChannel", route.slackChannel() == null ? "default" : route.slackChannel());
+        resolved.put("emailTo", route.emailTo() == null ? "default" : route.emailTo());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("routes", notificationRoutes.table().size());
+        body.put("loadedAt", notificationRoutes.loadedAt() == null ? "never" : notificationRoutes.loadedAt().toString());
+        body.put("route", resolved);
+        return ResponseEntity.ok(body);
+    }
+}
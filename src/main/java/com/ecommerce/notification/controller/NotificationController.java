@@ -1,27 +1,93 @@
 package com.ecommerce.notification.controller;
 
-import com.ecommerce.notification.service.OrderNotificationService;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
 
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 @Log4j2
 @RestController
 @RequestMapping("/webhook")
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "false", matchIfMissing = true)
 public class NotificationController {
 
     @Autowired
-    private OrderNotificationService notificationService;
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
 
     @PostMapping("/order")
-    public ResponseEntity<String> receiveOrderWebhook(@RequestBody String payload) throws Exception {
-       
-        String orderId = notificationService.sendOrderNotification(payload);
-        HttpStatus status = HttpStatus.OK;
-        // log.info("Order_id:"+orderId);
-        // log.info("Order_id:"+orderId);
-        return new ResponseEntity<>(orderId, HttpStatus.OK);
+    public ResponseEntity<String> receiveOrderWebhook(@RequestBody byte[] payload) {
+        try {
+            DeliveryService.Receipt receipt = deliveryService.accept(DeliveryChannel.EMAIL, payload);
+            // A repeat gets a plain 200 so the store stops retrying it
+            return new ResponseEntity<>(receipt.orderId(), receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (DeliveryRejectedException e) {
+            log.warn("Rejecting order webhook: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies one order on every channel (or the ones listed in {@code channels}), parsing the
+     * payload once and delivering the channels concurrently.
+     */
+    @PostMapping("/order-created")
+    public ResponseEntity<Map<String, Object>> receiveOrderCreated(@RequestBody byte[] payload,
+                                                                   @RequestParam(required = false) List<String> channels) {
+        try {
+            Set<DeliveryChannel> selected = EnumSet.noneOf(DeliveryChannel.class);
+            if (channels == null || channels.isEmpty()) {
+                selected.addAll(notificationDispatcher.channels());
+            } else {
+                for (String channel : channels) {
+                    try {
+                        selected.add(DeliveryChannel.valueOf(channel.trim().toUpperCase(Locale.ROOT)));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown channel '" + channel + "'; expected one of "
+                            + notificationDispatcher.channels());
+                    }
+                }
+            }
+            DeliveryService.Receipt receipt = deliveryService.accept(selected, payload);
+            return ResponseEntity.status(receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(Map.of(
+                "status", receipt.duplicate() ? "duplicate" : "accepted",
+                "orderId", receipt.orderId(),
+                "accepted", receipt.accepted(),
+                "duplicates", receipt.duplicates()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (DeliveryRejectedException e) {
+            log.warn("Rejecting order webhook: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+                ));
+        }
     }
-} 
\ No newline at end of file
+}
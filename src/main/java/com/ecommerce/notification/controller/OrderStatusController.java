@@ -0,0 +1,56 @@
+package com.ecommerce.notification.controller;
+
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.lifecycle.OrderLifecycle;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Order status webhooks; see {@link OrderLifecycle}. Stale and impossible changes are answered with
+ * {@code 200} rather than an error, so the store does not retry them.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/webhook")
+public class OrderStatusController {
+
+    @Autowired
+    private OrderLifecycle orderLifecycle;
+
+    @PostMapping("/order-status")
+    public ResponseEntity<Map<String, Object>> receiveOrderStatus(@RequestBody byte[] payload) {
+        try {
+            OrderLifecycle.Outcome outcome = orderLifecycle.accept(payload);
+            return outcomeResponse(outcome);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (DeliveryRejectedException e) {
+            log.warn("Rejecting order status webhook: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+                ));
+        }
+    }
+
+    static ResponseEntity<Map<String, Object>> outcomeResponse(OrderLifecycle.Outcome outcome) {
+        boolean applied = outcome == OrderLifecycle.Outcome.APPLIED || outcome == OrderLifecycle.Outcome.COALESCED;
+        return ResponseEntity.status(applied ? HttpStatus.ACCEPTED : HttpStatus.OK).body(Map.of(
+            "status", applied ? "accepted" : "ignored",
+            "outcome", outcome.name().toLowerCase(Locale.ROOT)
+        ));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.notification.controller;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Webhook endpoints of the reactive stack. Same contract as {@link NotificationController}, which it
+ * replaces when {@code notification.reactive.enabled} is set, but no request ever holds a thread.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/webhook")
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "true")
+public class ReactiveNotificationController {
+
+    @Autowired
+    private ReactiveDeliveryPipeline deliveryPipeline;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @PostMapping("/order")
+    public Mono<ResponseEntity<String>> receiveOrderWebhook(@RequestBody byte[] payload) {
+        return deliveryPipeline.accept(Set.of(DeliveryChannel.EMAIL), payload)
+            // A repeat gets a plain 200 so the store stops retrying it
+            .map(receipt -> new ResponseEntity<>(receipt.orderId(), receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED))
+            .onErrorResume(IllegalArgumentException.class,
+                e -> Mono.just(new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST)))
+            .onErrorResume(DeliveryRejectedException.class, e -> {
+                log.warn("Rejecting order webhook: {}", e.getMessage());
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage()));
+            });
+    }
+
+    @PostMapping("/order-created")
+    public Mono<ResponseEntity<Map<String, Object>>> receiveOrderCreated(@RequestBody byte[] payload,
+                                                                         @RequestParam(required = false) List<String> channels) {
+        return Mono.fromCallable(() -> selectChannels(channels))
+            .flatMap(selected -> deliveryPipeline.accept(selected, payload))
+            .map(receipt -> ResponseEntity.status(receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(Map.<String, Object>of(
+                "status", receipt.duplicate() ? "duplicate" : "accepted",
+                "orderId", receipt.orderId(),
+                "accepted", receipt.accepted(),
+                "duplicates", receipt.duplicates()
+            )))
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ))))
+            .onErrorResume(DeliveryRejectedException.class, e -> {
+                log.warn("Rejecting order webhook: {}", e.getMessage());
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(
+                        "status", "error",
+                        "message", e.getMessage()
+                    )));
+            });
+    }
+
+    private Set<DeliveryChannel> selectChannels(List<String> channels) {
+        Set<DeliveryChannel> selected = EnumSet.noneOf(DeliveryChannel.class);
+        if (channels == null || channels.isEmpty()) {
+            selected.addAll(notificationDispatcher.channels());
+            return selected;
+        }
+        for (String channel : channels) {
+            try {
+                selected.add(DeliveryChannel.valueOf(channel.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown channel '" + channel + "'; expected one of "
+                    + notificationDispatcher.channels());
+            }
+        }
+        return selected;
+    }
+}
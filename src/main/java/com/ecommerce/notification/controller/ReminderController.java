@@ -0,0 +1,47 @@
+package com.ecommerce.notification.controller;
+
+import com.ecommerce.notification.reminder.PickupReminders;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Reports on and cancels pickup reminders; see {@link PickupReminders}.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/reminders")
+public class ReminderController {
+
+    @Autowired
+    private PickupReminders pickupReminders;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(Map.of(
+            "enabled", pickupReminders.enabled(),
+            "pending", pickupReminders.pending(),
+            "sent", pickupReminders.sent()
+        ));
+    }
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String orderId) {
+        if (!pickupReminders.cancel(orderId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "status", "error",
+                "message", "No pending pickup reminder for order " + orderId
+            ));
+        }
+        log.info("Pickup reminder for order {} cancelled", orderId);
+        return ResponseEntity.ok(Map.of(
+            "status", "cancelled",
+            "orderId", orderId
+        ));
+    }
+}
@@ -1,9 +1,20 @@
 package com.ecommerce.notification.controller;
 
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
 import com.ecommerce.notification.service.SlackNotificationService;
 
 import java.util.Map;
@@ -15,15 +26,38 @@ public class SlackNotificationController {
     @Autowired
     private SlackNotificationService slackNotificationService;
 
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private ObjectProvider<PoolingHttpClientConnectionManager> slackConnectionManager;
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     @PostMapping("/order-notification")
-    public ResponseEntity<Map<String, String>> sendOrderNotification(@RequestBody String payload) {
+    public ResponseEntity<Map<String, String>> sendOrderNotification(@RequestBody byte[] payload) {
         try {
-            String orderId = slackNotificationService.sendOrderNotification(payload);
-            return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "Slack notification sent successfully",
-                "orderId", orderId
+            DeliveryService.Receipt receipt = deliveryService.accept(DeliveryChannel.SLACK, payload);
+            if (receipt.duplicate()) {
+                return ResponseEntity.ok(Map.of(
+                    "status", "duplicate",
+                    "message", "Slack notification for this order was already accepted",
+                    "orderId", receipt.orderId()
+                ));
+            }
+            return ResponseEntity.accepted().body(Map.of(
+                "status", "accepted",
+                "message", "Slack notification queued for delivery",
+                "orderId", receipt.orderId()
             ));
+        } catch (DeliveryRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+                ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "status", "error",
@@ -48,10 +82,37 @@ public class SlackNotificationController {
         }
     }
 
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> httpPoolStats() {
+        PoolingHttpClientConnectionManager pool = slackConnectionManager.getIfAvailable();
+        if (pool == null) {
+            return ResponseEntity.ok(Map.of(
+                "mode", "HTTP_2",
+                "message", "Requests are multiplexed by the JDK client; no connection pool to report"
+            ));
+        }
+        PoolStats total = pool.getTotalStats();
+        return ResponseEntity.ok(Map.of(
+            "mode", "HTTP_1_1",
+            "leased", total.getLeased(),
+            "available", total.getAvailable(),
+            "pending", total.getPending(),
+            "max", total.getMax(),
+            "routes", pool.getRoutes().size()
+        ));
+    }
+
+    /**
+     * Mirrors the readiness group ({@code /actuator/health/readiness}) for clients of the old endpoint.
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
-        return ResponseEntity.ok(Map.of(
-            "status", "healthy",
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : healthEndpoint.health().getStatus();
+        boolean healthy = Status.UP.equals(status);
+        return ResponseEntity.status(healthy ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+            "status", healthy ? "healthy" : "unhealthy",
+            "readiness", status.getCode(),
             "service", "Slack Notification Service",
             "timestamp", java.time.LocalDateTime.now().toString()
         ));
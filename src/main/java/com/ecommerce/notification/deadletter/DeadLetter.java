@@ -0,0 +1,16 @@
+package com.ecommerce.notification.deadletter;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.time.Instant;
+
+/**
+ * A notification that was given up on, kept with what is needed to look into it and deliver it again.
+ *
+ * @param attempts delivery attempts made before it was given up
+ * @param error    the last failure, with its root cause
+ * @param payload  the webhook body as it was accepted
+ */
+public record DeadLetter(long id, DeliveryChannel channel, String orderId, int attempts, String error,
+                         Instant failedAt, byte[] payload) {
+}
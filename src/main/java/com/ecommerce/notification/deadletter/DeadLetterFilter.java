@@ -0,0 +1,27 @@
+package com.ecommerce.notification.deadletter;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Selects dead letters to list or replay. {@code null} criteria match everything.
+ *
+ * @param errorContains case-insensitive text the recorded error must contain
+ * @param since         inclusive lower bound of the failure time
+ * @param until         exclusive upper bound of the failure time
+ */
+public record DeadLetterFilter(DeliveryChannel channel, String orderId, String errorContains, Instant since, Instant until) {
+
+    public static final DeadLetterFilter ALL = new DeadLetterFilter(null, null, null, null, null);
+
+    public boolean matches(DeadLetter letter) {
+        return (channel == null || channel == letter.channel())
+            && (orderId == null || orderId.equals(letter.orderId()))
+            && (errorContains == null
+                || letter.error().toLowerCase(Locale.ROOT).contains(errorContains.toLowerCase(Locale.ROOT)))
+            && (since == null || !letter.failedAt().isBefore(since))
+            && (until == null || letter.failedAt().isBefore(until));
+    }
+}
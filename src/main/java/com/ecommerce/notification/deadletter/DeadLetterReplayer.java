@@ -0,0 +1,222 @@
+package com.ecommerce.notification.deadletter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.ratelimit.TokenBucket;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands dead letters back to the delivery pipeline in the background, at a fixed rate.
+ * <p>
+ * Each dead letter is queued again through {@link DeliveryService#redeliver}, which records it in the
+ * outbox like a new webhook but skips the duplicate check; the dead letter is removed once it is queued.
+ * If it fails again it comes back as a new dead letter. The rate keeps a large replay after an outage
+ * from flooding the queue, and the channel's rate limiter and circuit breaker still apply to the sends.
+ * One replay runs at a time.
+ */
+@Component
+public class DeadLetterReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayer.class);
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Value("${notification.dead-letter.replay.permits-per-second:10}")
+    private double defaultPermitsPerSecond;
+
+    @Value("${notification.dead-letter.replay.backoff-ms:50}")
+    private long backoffMs;
+
+    private volatile Replay current;
+
+    /**
+     * Starts replaying the dead letters that match {@code filter}, oldest first.
+     *
+     * @param permitsPerSecond replay rate, or {@code null} for the configured default
+     * @throws IllegalStateException if a replay is already running
+     */
+    public synchronized Replay start(DeadLetterFilter filter, int limit, Double permitsPerSecond) {
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("Replay " + current.id() + " is still running");
+        }
+        double rate = permitsPerSecond != null ? permitsPerSecond : defaultPermitsPerSecond;
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Replay rate must be positive");
+        }
+        List<Long> ids = deadLetterStore.find(filter, 0, limit).stream().map(DeadLetter::id).toList();
+        Replay replay = new Replay(current == null ? 1 : current.id() + 1, ids.size(), rate);
+        current = replay;
+        Thread worker = new Thread(() -> run(replay, ids), "dead-letter-replay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Replaying {} dead letter(s) at {}/s", ids.size(), rate);
+        return replay;
+    }
+
+    public Optional<Replay> current() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Stops the running replay after the dead letter in progress. Dead letters not replayed yet stay in the store.
+     *
+     * @return {@code false} if no replay was running
+     */
+    public boolean cancel() {
+        Replay replay = current;
+        if (replay == null || !replay.isRunning()) {
+            return false;
+        }
+        replay.state = State.CANCELLED;
+        return true;
+    }
+
+    private void run(Replay replay, List<Long> ids) {
+        TokenBucket rate = new TokenBucket(replay.permitsPerSecond(), 1);
+        try {
+            for (long id : ids) {
+                if (!replay.isRunning()) {
+                    break;
+                }
+                Optional<DeadLetter> letter = deadLetterStore.get(id);
+                if (letter.isEmpty()) {
+                    // Replayed or discarded since the replay started
+                    replay.skipped.incrementAndGet();
+                    continue;
+                }
+                for (long wait = rate.tryAcquire(); wait > 0; wait = rate.tryAcquire()) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                redeliver(replay, letter.get());
+            }
+            if (replay.isRunning()) {
+                replay.state = State.COMPLETED;
+            }
+            log.info("Dead-letter replay {} {}: {} replayed, {} failed, {} skipped", replay.id(),
+                replay.state().name().toLowerCase(Locale.ROOT), replay.replayed(), replay.failed(), replay.skipped());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            replay.state = State.CANCELLED;
+        } catch (RuntimeException | IOException e) {
+            log.error("Dead-letter replay {} stopped", replay.id(), e);
+            replay.state = State.FAILED;
+            replay.error = e.toString();
+        } finally {
+            replay.finishedAt = Instant.now();
+        }
+    }
+
+    private void redeliver(Replay replay, DeadLetter letter) throws InterruptedException, IOException {
+        while (true) {
+            boolean queued;
+            try {
+                queued = deliveryService.redeliver(letter.channel(), letter.payload());
+            } catch (IllegalArgumentException e) {
+                // Payloads were validated when accepted, so this one is damaged; keep it for inspection
+                log.warn("Dead letter {} for order {} is not a valid order: {}", letter.id(), letter.orderId(), e.getMessage());
+                replay.failed.incrementAndGet();
+                return;
+            }
+            if (queued) {
+                deadLetterStore.remove(letter.id());
+                replay.replayed.incrementAndGet();
+                return;
+            }
+            // The queue is shared with live traffic, so wait for room instead of skipping the dead letter
+            TimeUnit.MILLISECONDS.sleep(backoffMs);
+        }
+    }
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    /**
+     * Progress of one replay.
+     */
+    public static final class Replay {
+
+        private final long id;
+        private final int total;
+        private final double permitsPerSecond;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger replayed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private volatile State state = State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Replay(long id, int total, double permitsPerSecond) {
+            this.id = id;
+            this.total = total;
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public double permitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public int replayed() {
+            return replayed.get();
+        }
+
+        /**
+         * Dead letters that could not be replayed and were kept.
+         */
+        public int failed() {
+            return failed.get();
+        }
+
+        /**
+         * Dead letters removed by someone else before their turn.
+         */
+        public int skipped() {
+            return skipped.get();
+        }
+
+        public State state() {
+            return state;
+        }
+
+        public boolean isRunning() {
+            return state == State.RUNNING;
+        }
+
+        public Instant startedAt() {
+            return startedAt;
+        }
+
+        public Optional<Instant> finishedAt() {
+            return Optional.ofNullable(finishedAt);
+        }
+
+        public Optional<String> error() {
+            return Optional.ofNullable(error);
+        }
+    }
+}
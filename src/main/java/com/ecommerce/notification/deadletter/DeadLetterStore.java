@@ -0,0 +1,280 @@
+package com.ecommerce.notification.deadletter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+
+/**
+ * File-backed store of notifications that exhausted their delivery attempts.
+ * <p>
+ * Dead letters are kept in memory, ordered by id, and journaled to a single append-only file. Each
+ * addition or removal is one record framed like the outbox ({@code [int bodyLength][int crc32c][body]})
+ * and synced before the call returns, so a dead letter is never lost once the outbox entry it replaces has
+ * been acknowledged. A torn record at the end of the file is dropped on {@link #open()}. When removals
+ * outnumber the live entries the journal is rewritten with the live entries only.
+ * <p>
+ * The store holds at most {@code maxEntries} dead letters; beyond that {@link #add} fails and the
+ * notification stays in the outbox instead.
+ */
+public class DeadLetterStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterStore.class);
+
+    private static final String JOURNAL = "dead-letters.log";
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_ERROR_CHARS = 2000;
+    private static final int MIN_COMPACTION = 1024;
+    private static final DeliveryChannel[] CHANNELS = DeliveryChannel.values();
+
+    private final Path directory;
+    private final Path journal;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final ConcurrentSkipListMap<Long, DeadLetter> letters = new ConcurrentSkipListMap<>();
+    private FileChannel file;
+    private long nextId = 1;
+    private int removedSinceCompaction;
+
+    public DeadLetterStore(Path directory, int maxEntries) {
+        this(directory, maxEntries, Clock.systemUTC());
+    }
+
+    DeadLetterStore(Path directory, int maxEntries, Clock clock) {
+        this.directory = directory;
+        this.journal = directory.resolve(JOURNAL);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the journal, truncating a torn record at its end, and opens it for appends.
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        long valid = Files.exists(journal) ? load() : 0;
+        file = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (file.size() > valid) {
+            log.warn("Dropping {} bytes of a torn record at the end of {}", file.size() - valid, journal);
+            file.truncate(valid);
+            file.force(true);
+        }
+        file.position(valid);
+        log.info("Dead-letter store opened at {} with {} dead letter(s)", directory, letters.size());
+    }
+
+    private long load() throws IOException {
+        long valid = 0;
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0) {
+                        break;
+                    }
+                    body = in.readNBytes(length);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(body);
+                if (body.length < length || (int) crc.getValue() != checksum) {
+                    break;
+                }
+                replay(ByteBuffer.wrap(body));
+                valid += HEADER_SIZE + length;
+            }
+        }
+        return valid;
+    }
+
+    private void replay(ByteBuffer body) {
+        byte type = body.get();
+        long id = body.getLong();
+        nextId = Math.max(nextId, id + 1);
+        if (type == ADD) {
+            DeliveryChannel channel = CHANNELS[body.get()];
+            int attempts = body.getInt();
+            Instant failedAt = Instant.ofEpochMilli(body.getLong());
+            String orderId = readString(body, body.getShort());
+            String error = readString(body, body.getInt());
+            byte[] payload = new byte[body.getInt()];
+            body.get(payload);
+            letters.put(id, new DeadLetter(id, channel, orderId, attempts, error, failedAt, payload));
+        } else if (type == REMOVE && letters.remove(id) != null) {
+            removedSinceCompaction++;
+        }
+    }
+
+    /**
+     * Records a notification that will not be retried. Returns once the record is on disk.
+     *
+     * @throws IOException if it could not be written or the store is full
+     */
+    public synchronized DeadLetter add(DeliveryChannel channel, String orderId, byte[] payload, int attempts,
+                                       Throwable error) throws IOException {
+        if (letters.size() >= maxEntries) {
+            throw new IOException("Dead-letter store is full (" + maxEntries + " entries)");
+        }
+        DeadLetter letter = new DeadLetter(nextId, channel, orderId, attempts, describe(error),
+            clock.instant(), payload);
+        write(file, encode(letter));
+        file.force(false);
+        nextId++;
+        letters.put(letter.id(), letter);
+        return letter;
+    }
+
+    /**
+     * Removes a dead letter, e.g. once it has been handed back to the delivery pipeline.
+     *
+     * @return {@code false} if there was no such dead letter
+     */
+    public synchronized boolean remove(long id) throws IOException {
+        if (!letters.containsKey(id)) {
+            return false;
+        }
+        ByteBuffer body = ByteBuffer.allocate(1 + Long.BYTES).put(REMOVE).putLong(id);
+        write(file, body.flip());
+        file.force(false);
+        letters.remove(id);
+        if (++removedSinceCompaction >= Math.max(MIN_COMPACTION, letters.size())) {
+            try {
+                compact();
+            } catch (IOException e) {
+                // The removal is already journaled; compaction is tried again on a later removal
+                log.warn("Could not compact {}", journal, e);
+            }
+        }
+        return true;
+    }
+
+    public Optional<DeadLetter> get(long id) {
+        return Optional.ofNullable(letters.get(id));
+    }
+
+    /**
+     * @return matching dead letters, oldest first
+     */
+    public List<DeadLetter> find(DeadLetterFilter filter, int offset, int limit) {
+        return letters.values().stream()
+            .filter(filter::matches)
+            .skip(offset)
+            .limit(limit)
+            .toList();
+    }
+
+    public long count(DeadLetterFilter filter) {
+        return letters.values().stream().filter(filter::matches).count();
+    }
+
+    public int size() {
+        return letters.size();
+    }
+
+    private static void write(FileChannel target, ByteBuffer body) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.remaining())
+            .putInt(body.remaining())
+            .putInt((int) crc.getValue())
+            .put(body)
+            .flip();
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+    }
+
+    private static ByteBuffer encode(DeadLetter letter) {
+        byte[] orderId = letter.orderId().getBytes(StandardCharsets.UTF_8);
+        byte[] error = letter.error().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + Long.BYTES + 1 + Integer.BYTES + Long.BYTES
+                + Short.BYTES + orderId.length + Integer.BYTES + error.length + Integer.BYTES + letter.payload().length)
+            .put(ADD)
+            .putLong(letter.id())
+            .put((byte) letter.channel().ordinal())
+            .putInt(letter.attempts())
+            .putLong(letter.failedAt().toEpochMilli())
+            .putShort((short) orderId.length)
+            .put(orderId)
+            .putInt(error.length)
+            .put(error)
+            .putInt(letter.payload().length)
+            .put(letter.payload())
+            .flip();
+    }
+
+    /**
+     * Rewrites the journal with the live dead letters only, through a temporary file.
+     */
+    private void compact() throws IOException {
+        Path temporary = journal.resolveSibling(JOURNAL + ".tmp");
+        try (FileChannel compacted = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (DeadLetter letter : letters.values()) {
+                write(compacted, encode(letter));
+            }
+            compacted.force(true);
+        }
+        file.close();
+        try {
+            Files.move(temporary, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // The previous journal if the move failed, which is still complete
+            file = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        removedSinceCompaction = 0;
+        log.debug("Compacted {} to {} dead letter(s)", journal, letters.size());
+    }
+
+    private static String describe(Throwable error) {
+        if (error == null) {
+            return "";
+        }
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String description = root == error ? error.toString() : error + "; caused by " + root;
+        return description.length() > MAX_ERROR_CHARS ? description.substring(0, MAX_ERROR_CHARS) : description;
+    }
+
+    private static String readString(ByteBuffer body, int length) {
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+}
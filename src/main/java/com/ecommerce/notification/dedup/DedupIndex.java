@@ -0,0 +1,298 @@
+package com.ecommerce.notification.dedup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which orders were already accepted on each channel, so webhooks retried by the store are
+ * not delivered twice.
+ * <p>
+ * Orders are stored as 64-bit fingerprints in a few generations of {@link FingerprintSet}s. A new
+ * generation starts every {@code ttl / (generations - 1)}, or early once the current one holds its
+ * share of {@code maxEntries}, and whole generations are dropped when they expire. An order is
+ * therefore remembered for at least {@code ttl} unless the index overflows. The generations are
+ * snapshotted to disk periodically and on close, and reloaded by {@link #open()}.
+ */
+public class DedupIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DedupIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x44445550;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Path snapshotFile;
+    private final long generationMillis;
+    private final int generations;
+    private final int generationSize;
+    private final long snapshotIntervalMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Newest first.
+     */
+    private final Deque<Generation> live = new ArrayDeque<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long evictedEarly;
+    private boolean dirty;
+
+    private volatile boolean running;
+    private Thread snapshotter;
+
+    public DedupIndex(Path snapshotFile, Duration ttl, int maxEntries, int generations, Duration snapshotInterval) {
+        this(snapshotFile, ttl, maxEntries, generations, snapshotInterval, System::currentTimeMillis);
+    }
+
+    DedupIndex(Path snapshotFile, Duration ttl, int maxEntries, int generations, Duration snapshotInterval,
+               LongSupplier clock) {
+        if (generations < 2) {
+            throw new IllegalArgumentException("At least 2 generations are needed, got " + generations);
+        }
+        this.snapshotFile = snapshotFile;
+        this.generationMillis = Math.max(1, ttl.toMillis() / (generations - 1));
+        this.generations = generations;
+        this.generationSize = Math.max(1, maxEntries / generations);
+        this.snapshotIntervalMillis = snapshotInterval.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the last snapshot, if any, and starts writing new ones in the background.
+     */
+    public synchronized void open() throws IOException {
+        load();
+        if (snapshotIntervalMillis > 0) {
+            running = true;
+            snapshotter = new Thread(this::snapshotLoop, "dedup-snapshot");
+            snapshotter.setDaemon(true);
+            snapshotter.start();
+        }
+    }
+
+    /**
+     * Records the order as accepted on {@code channel}.
+     *
+     * @return {@code true} the first time an order is seen within the TTL, {@code false} for a repeat
+     */
+    public boolean markAccepted(DeliveryChannel channel, String orderId) {
+        long fingerprint = fingerprint(channel, orderId);
+        synchronized (this) {
+            long now = clock.getAsLong();
+            Generation current = advance(now);
+            for (Generation generation : live) {
+                if (generation.fingerprints.contains(fingerprint)) {
+                    hits.increment();
+                    return false;
+                }
+            }
+            current.fingerprints.add(fingerprint);
+            dirty = true;
+        }
+        misses.increment();
+        return true;
+    }
+
+    /**
+     * Forgets an order, e.g. because it was accepted but then rejected, so that a retry goes through.
+     */
+    public synchronized void forget(DeliveryChannel channel, String orderId) {
+        long fingerprint = fingerprint(channel, orderId);
+        for (Generation generation : live) {
+            if (generation.fingerprints.remove(fingerprint)) {
+                dirty = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops expired generations and starts a new one when the current one is too old or full.
+     */
+    private Generation advance(long now) {
+        Iterator<Generation> oldest = live.descendingIterator();
+        while (oldest.hasNext()) {
+            Generation generation = oldest.next();
+            if (generation.startMillis + generations * generationMillis > now) {
+                break;
+            }
+            oldest.remove();
+        }
+        Generation current = live.peekFirst();
+        if (current == null || now - current.startMillis >= generationMillis || current.fingerprints.isFull()) {
+            current = new Generation(now, new FingerprintSet(generationSize));
+            live.addFirst(current);
+            while (live.size() > generations) {
+                Generation dropped = live.removeLast();
+                evictedEarly += dropped.fingerprints.size();
+                log.warn("Dedup index is full; forgetting {} orders before their TTL", dropped.fingerprints.size());
+            }
+        }
+        return current;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Generation generation : live) {
+            size += generation.fingerprints.size();
+        }
+        return size;
+    }
+
+    /**
+     * Orders dropped before their TTL because the index was full.
+     */
+    public synchronized long evictedEarly() {
+        return evictedEarly;
+    }
+
+    /**
+     * Writes the live generations to a temporary file and moves it over the previous snapshot. The
+     * fingerprints are copied under the lock and written outside it, so webhooks are not held up by disk I/O.
+     */
+    public void snapshot() throws IOException {
+        long[] startMillis;
+        long[][] fingerprints;
+        synchronized (this) {
+            startMillis = new long[live.size()];
+            fingerprints = new long[live.size()][];
+            int i = 0;
+            for (Generation generation : live) {
+                long[] copy = new long[generation.fingerprints.size()];
+                int[] next = new int[1];
+                generation.fingerprints.forEach(fingerprint -> copy[next[0]++] = fingerprint);
+                startMillis[i] = generation.startMillis;
+                fingerprints[i++] = copy;
+            }
+            dirty = false;
+        }
+
+        if (snapshotFile.getParent() != null) {
+            Files.createDirectories(snapshotFile.getParent());
+        }
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(startMillis.length);
+            for (int i = 0; i < startMillis.length; i++) {
+                out.writeLong(startMillis[i]);
+                out.writeInt(fingerprints[i].length);
+                for (long fingerprint : fingerprints[i]) {
+                    out.writeLong(fingerprint);
+                }
+            }
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        long now = clock.getAsLong();
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring dedup snapshot {} with an unknown format", snapshotFile);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long startMillis = in.readLong();
+                int size = in.readInt();
+                // Generations may have been sized differently before a restart
+                FingerprintSet fingerprints = new FingerprintSet(Math.max(size, generationSize));
+                for (int j = 0; j < size; j++) {
+                    fingerprints.add(in.readLong());
+                }
+                if (startMillis + generations * generationMillis > now && live.size() < generations) {
+                    live.addLast(new Generation(startMillis, fingerprints));
+                    loaded += size;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        log.info("Dedup index restored {} orders from {}", loaded, snapshotFile);
+    }
+
+    private void snapshotLoop() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(snapshotIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            boolean changed;
+            synchronized (this) {
+                changed = dirty;
+            }
+            if (changed) {
+                try {
+                    snapshot();
+                } catch (IOException e) {
+                    log.warn("Could not write dedup snapshot {}", snapshotFile, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (snapshotter != null) {
+            snapshotter.interrupt();
+            try {
+                snapshotter.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshot();
+    }
+
+    /**
+     * 64-bit FNV-1a over the channel and order id, finished with the MurmurHash3 mixer. Zero marks an
+     * empty slot, so it is mapped to one.
+     */
+    static long fingerprint(DeliveryChannel channel, String orderId) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ channel.ordinal()) * 0x100000001b3L;
+        for (int i = 0; i < orderId.length(); i++) {
+            hash = (hash ^ orderId.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private record Generation(long startMillis, FingerprintSet fingerprints) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.notification.dedup;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of non-zero 64-bit fingerprints backed by a single {@code long[]}, with linear
+ * probing and backward-shift deletion so no tombstones build up. Not thread-safe.
+ */
+final class FingerprintSet {
+
+    private final long[] slots;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+
+    /**
+     * @param maxSize entries the set accepts before {@link #isFull()}; the table is kept at most half full
+     */
+    FingerprintSet(int maxSize) {
+        int capacity = Integer.highestOneBit(Math.max(maxSize, 2) * 2 - 1) << 1;
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+        this.maxSize = maxSize;
+    }
+
+    boolean contains(long fingerprint) {
+        for (int i = home(fingerprint); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == fingerprint) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the fingerprint was already present
+     */
+    boolean add(long fingerprint) {
+        for (int i = home(fingerprint); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == fingerprint) {
+                return false;
+            }
+            if (slot == 0) {
+                slots[i] = fingerprint;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    boolean remove(long fingerprint) {
+        int i = home(fingerprint);
+        while (slots[i] != fingerprint) {
+            if (slots[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Shift later entries of the probe run back so lookups never stop at the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int home = home(slots[j]);
+            boolean reachable = hole <= j ? (home > hole && home <= j) : (home > hole || home <= j);
+            if (!reachable) {
+                slots[hole] = slots[j];
+                hole = j;
+            }
+        }
+        slots[hole] = 0;
+        size--;
+        return true;
+    }
+
+    boolean isFull() {
+        return size >= maxSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(LongConsumer action) {
+        for (long slot : slots) {
+            if (slot != 0) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    private int home(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+}
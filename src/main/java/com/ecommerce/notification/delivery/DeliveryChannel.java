@@ -0,0 +1,8 @@
+package com.ecommerce.notification.delivery;
+
+/**
+ * Outbound channels an accepted order notification can be delivered to.
+ */
+public enum DeliveryChannel {
+    EMAIL, SLACK
+}
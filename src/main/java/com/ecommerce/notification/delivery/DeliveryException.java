@@ -0,0 +1,70 @@
+package com.ecommerce.notification.delivery;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Failure of an outbound send, carrying what the retry scheduler needs to know about it.
+ */
+public class DeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+    private final boolean throttled;
+    private final Duration retryAfter;
+
+    public DeliveryException(String message, Throwable cause, boolean retryable, Duration retryAfter) {
+        this(message, cause, retryable, false, retryAfter);
+    }
+
+    private DeliveryException(String message, Throwable cause, boolean retryable, boolean throttled, Duration retryAfter) {
+        super(message, cause);
+        this.retryable = retryable;
+        this.throttled = throttled;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * The destination's local rate limit is exhausted; nothing was sent.
+     */
+    public static DeliveryException throttled(String destination, long waitNanos) {
+        return deferred("Rate limit reached for " + destination, waitNanos);
+    }
+
+    /**
+     * The send was held back locally, e.g. by an open circuit breaker or a full bulkhead; nothing was sent
+     * and the task should be tried again after {@code waitNanos} without counting an attempt.
+     */
+    public static DeliveryException deferred(String reason, long waitNanos) {
+        return new DeliveryException(reason, null, true, true, Duration.ofNanos(waitNanos));
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Whether the send was held back locally, in which case it does not count as a failed attempt.
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    /**
+     * Minimum delay before the next attempt, e.g. from a Retry-After header.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    /**
+     * Finds a {@code DeliveryException} in the cause chain of {@code error}.
+     */
+    public static Optional<DeliveryException> find(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeliveryException delivery) {
+                return Optional.of(delivery);
+            }
+        }
+        return Optional.empty();
+    }
+}
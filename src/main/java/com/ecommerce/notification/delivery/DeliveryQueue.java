@@ -0,0 +1,167 @@
+package com.ecommerce.notification.delivery;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.outbox.OutboxLog;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-process queue drained by a pool of delivery workers.
+ * Webhook requests only enqueue; the SMTP and Slack round trips happen on the workers.
+ * <p>
+ * In {@link ExecutionMode#VIRTUAL} mode each worker is a virtual thread, so the pool can be sized
+ * for tens of thousands of in-flight deliveries; idle workers are released instead of kept around.
+ * <p>
+ * Failed or throttled deliveries are handed to {@link DeliveryRetries}, which re-enqueues them when their
+ * backoff has elapsed, so no worker ever sleeps on a retry.
+ */
+@Component
+public class DeliveryQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryQueue.class);
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private DeliveryRetries deliveryRetries;
+
+    @Value("${notification.delivery.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notification.delivery.workers:8}")
+    private int workers;
+
+    @Value("${notification.delivery.execution-mode:platform}")
+    private String executionMode;
+
+    @Value("${notification.delivery.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${notification.delivery.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        ExecutionMode mode = DeliveryThreads.effectiveMode(ExecutionMode.parse(executionMode));
+        int poolSize = mode == ExecutionMode.VIRTUAL ? maxInFlight : workers;
+        executor = new ThreadPoolExecutor(
+            poolSize, poolSize,
+            30L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            DeliveryThreads.threadFactory(mode, "delivery-worker-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(mode == ExecutionMode.VIRTUAL);
+        log.info("Delivery queue started with {} {} workers and capacity {}", poolSize, mode, queueCapacity);
+    }
+
+    /**
+     * Hands the task to the worker pool without blocking.
+     *
+     * @return {@code false} when the queue is full
+     */
+    public boolean offer(DeliveryTask task) {
+        try {
+            executor.execute(() -> deliver(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    public int depth() {
+        return executor.getQueue().size();
+    }
+
+    public int capacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Deliveries handed to the dispatcher and not yet acknowledged or handed to {@link DeliveryRetries}.
+     * Workers return as soon as the send is started, so this is not the number of busy workers.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Hands the tasks for one order on several channels to a single worker, which delivers them
+     * concurrently through the {@link NotificationDispatcher}. Each channel is acknowledged or
+     * retried on its own.
+     *
+     * @param tasks tasks for the same event, one per channel
+     * @return {@code false} when the queue is full
+     */
+    public boolean offer(List<DeliveryTask> tasks) {
+        if (tasks.size() == 1) {
+            return offer(tasks.get(0));
+        }
+        try {
+            executor.execute(() -> deliverAll(tasks));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void deliver(DeliveryTask task) {
+        inFlight.incrementAndGet();
+        notificationDispatcher.deliver(task.channel(), task.event())
+            .whenComplete((ignored, error) -> complete(task,
+                error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    private void deliverAll(List<DeliveryTask> tasks) {
+        Map<DeliveryChannel, DeliveryTask> byChannel = new EnumMap<>(DeliveryChannel.class);
+        tasks.forEach(task -> byChannel.put(task.channel(), task));
+        inFlight.addAndGet(byChannel.size());
+        notificationDispatcher.dispatch(tasks.get(0).event(), byChannel.keySet())
+            .thenAccept(results -> results.forEach(result -> complete(byChannel.get(result.channel()), result.error())));
+    }
+
+    private void complete(DeliveryTask task, Throwable error) {
+        inFlight.decrementAndGet();
+        if (error == null) {
+            outboxLog.ack(task.sequence());
+        } else {
+            deliveryRetries.failed(task, error, this::offer, Runnable::run);
+        }
+    }
+
+    public int scheduledRetries() {
+        return deliveryRetries.scheduled();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("Delivery queue did not drain within {}s, {} notifications left in the outbox",
+                shutdownTimeoutSeconds, executor.shutdownNow().size());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.notification.delivery;
+
+/**
+ * Thrown when the delivery queue is full and the webhook has to be retried by the caller.
+ */
+public class DeliveryRejectedException extends RuntimeException {
+
+    public DeliveryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.notification.delivery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.deadletter.DeadLetter;
+import com.ecommerce.notification.deadletter.DeadLetterStore;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.scheduling.TimerWheel;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * What happens to a failed delivery, for both the {@link DeliveryQueue} and the {@link ReactiveDeliveryPipeline}:
+ * it is parked on the timer wheel until its backoff (or the destination's Retry-After) has elapsed and
+ * then handed back to the queue it came from, or, once the {@link RetryPolicy} gives up, moved from the
+ * outbox to the dead-letter store.
+ * <p>
+ * Parked deliveries are not bounded by any queue, so once {@code max-scheduled} of them wait the
+ * backlog counts as full and new webhooks are rejected until it drains.
+ */
+@Component
+public class DeliveryRetries {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryRetries.class);
+
+    private static final long RESUBMIT_BACKOFF_MS = 100;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    @Autowired
+    private TimerWheel deliveryTimer;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Value("${notification.retry.max-scheduled:10000}")
+    private int maxScheduled;
+
+    private final AtomicInteger scheduled = new AtomicInteger();
+
+    /**
+     * @param resubmit offers the task to its queue again; {@code false} if the queue is full, in which
+     *                 case it is offered again a little later
+     * @param abandonOn runs the dead-letter write, which syncs to disk
+     */
+    public void failed(DeliveryTask task, Throwable error, Predicate<DeliveryTask> resubmit, Executor abandonOn) {
+        Optional<Duration> delay = retryPolicy.nextDelay(task.attempt(), error);
+        if (delay.isEmpty()) {
+            metrics.abandoned(task.channel());
+            abandonOn.execute(() -> abandon(task, error));
+            return;
+        }
+        boolean throttled = DeliveryException.find(error).map(DeliveryException::isThrottled).orElse(false);
+        DeliveryTask retry = throttled ? task : task.nextAttempt();
+        if (throttled) {
+            log.debug("Order {} via {} throttled, retrying in {}ms", task.orderId(), task.channel(), delay.get().toMillis());
+        } else {
+            log.warn("Attempt {} to deliver order {} via {} failed, retrying in {}ms: {}",
+                task.attempt(), task.orderId(), task.channel(), delay.get().toMillis(), error.toString());
+            metrics.retried(task.channel());
+        }
+        scheduled.incrementAndGet();
+        try {
+            deliveryTimer.schedule(() -> resubmit(retry, resubmit), delay.get().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            scheduled.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Deliveries waiting on the timer wheel for their next attempt.
+     */
+    public int scheduled() {
+        return scheduled.get();
+    }
+
+    /**
+     * Whether {@code max-scheduled} deliveries are waiting for a retry; new webhooks should be
+     * rejected until some of them have been handed back to their queue.
+     */
+    public boolean backlogFull() {
+        return scheduled.get() >= maxScheduled;
+    }
+
+    /**
+     * Moves a task that will not be retried from the outbox to the dead-letter store.
+     */
+    private void abandon(DeliveryTask task, Throwable error) {
+        try {
+            DeadLetter letter = deadLetterStore.add(task.channel(), task.orderId(), task.payload(), task.attempt(), error);
+            outboxLog.ack(task.sequence());
+            log.error("Giving up on order {} via {} after {} attempt(s), kept as dead letter {}",
+                task.orderId(), task.channel(), task.attempt(), letter.id(), error);
+        } catch (IOException e) {
+            // Left unacknowledged in the outbox, so it is redelivered on the next start
+            log.error("Giving up on order {} via {} after {} attempt(s); it could not be stored as a dead letter ({})",
+                task.orderId(), task.channel(), task.attempt(), e.getMessage(), error);
+        }
+    }
+
+    private void resubmit(DeliveryTask task, Predicate<DeliveryTask> resubmit) {
+        if (resubmit.test(task)) {
+            scheduled.decrementAndGet();
+        } else {
+            deliveryTimer.schedule(() -> resubmit(task, resubmit), RESUBMIT_BACKOFF_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.notification.delivery;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.notification.cluster.ClusterForwarder;
+import com.ecommerce.notification.cluster.ClusterMembership;
+import com.ecommerce.notification.dedup.DedupIndex;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.reminder.PickupReminders;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Entry point used by the webhook controllers: drops repeated webhooks, validates the payload, records
+ * it in the outbox and enqueues it for delivery. A webhook is only acknowledged once its payload is durable.
+ * <p>
+ * When clustering is enabled, orders owned by another replica are forwarded to it instead; see
+ * {@link ClusterMembership}.
+ */
+@Service
+public class DeliveryService {
+
+    @Autowired
+    private DeliveryQueue deliveryQueue;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private DedupIndex dedupIndex;
+
+    @Autowired
+    private NotificationMetrics metrics;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ClusterForwarder clusterForwarder;
+
+    @Autowired
+    private PickupReminders pickupReminders;
+
+    @Autowired
+    private DeliveryRetries deliveryRetries;
+
+    @Value("${notification.outbox.commit-timeout-ms:5000}")
+    private long commitTimeoutMs;
+
+    /**
+     * @param payload the raw request body; it is parsed in place and stored in the outbox as is
+     * @return the order id, and whether the order had already been accepted on this channel. Repeats
+     *         are not delivered again.
+     * @throws IllegalArgumentException if the payload is not an order webhook
+     * @throws DeliveryRejectedException if the delivery queue or the retry backlog is full
+     */
+    public Receipt accept(DeliveryChannel channel, byte[] payload) {
+        return accept(Set.of(channel), payload);
+    }
+
+    /**
+     * Accepts one order for several channels: the payload is parsed once and the channels are
+     * delivered concurrently. Channels that already had the order are reported as duplicates.
+     */
+    public Receipt accept(Set<DeliveryChannel> channels, byte[] payload) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("No channels selected");
+        }
+        Optional<String> owner = remoteOwner(payload);
+        if (owner.isPresent()) {
+            Optional<Receipt> forwarded = clusterForwarder.forward(owner.get(), channels, payload);
+            if (forwarded.isPresent()) {
+                return forwarded.get();
+            }
+        }
+        return acceptLocal(channels, payload);
+    }
+
+    /**
+     * The replica that owns the order when clustering is enabled and it is not this one.
+     *
+     * @throws IllegalArgumentException if the payload has to be parsed to find its tenant and is not valid JSON
+     */
+    Optional<String> remoteOwner(byte[] payload) {
+        if (!clusterMembership.enabled()) {
+            return Optional.empty();
+        }
+        String owner = clusterMembership.owner(partitionKey(payload));
+        return clusterMembership.isSelf(owner) ? Optional.empty() : Optional.of(owner);
+    }
+
+    /**
+     * Accepts an order on this replica whoever owns it; used for orders forwarded by another replica.
+     */
+    public Receipt acceptLocal(Set<DeliveryChannel> channels, byte[] payload) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("No channels selected");
+        }
+        if (deliveryRetries.backlogFull()) {
+            throw new DeliveryRejectedException("Retry backlog is full (" + deliveryRetries.scheduled() + " deliveries waiting)");
+        }
+        // Webhooks retried by the store are answered before the payload is parsed or written anywhere
+        String orderId = orderEventParser.readOrderId(payload);
+        List<DeliveryChannel> fresh = new ArrayList<>(channels.size());
+        List<DeliveryChannel> duplicates = new ArrayList<>(0);
+        for (DeliveryChannel channel : channels) {
+            if (orderId.isEmpty() || dedupIndex.markAccepted(channel, orderId)) {
+                fresh.add(channel);
+            } else {
+                duplicates.add(channel);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return new Receipt(orderId, fresh, duplicates);
+        }
+        OrderEvent event;
+        try {
+            event = parse(payload);
+            List<Long> sequences = outboxLog.appendAndSync(fresh, event.orderId(), payload, Duration.ofMillis(commitTimeoutMs));
+            List<DeliveryTask> tasks = new ArrayList<>(fresh.size());
+            for (int i = 0; i < fresh.size(); i++) {
+                tasks.add(new DeliveryTask(sequences.get(i), fresh.get(i), event, payload));
+            }
+            if (!deliveryQueue.offer(tasks)) {
+                // The caller is told to retry, so the entries must not be replayed as well
+                sequences.forEach(outboxLog::ack);
+                throw new DeliveryRejectedException("Delivery queue is full (capacity " + deliveryQueue.capacity() + ")");
+            }
+        } catch (RuntimeException e) {
+            if (!orderId.isEmpty()) {
+                fresh.forEach(channel -> dedupIndex.forget(channel, orderId));
+            }
+            throw e;
+        }
+        // The order is queued by now, so nothing after this point may undo its acceptance
+        pickupReminders.register(event, payload);
+        return new Receipt(event.orderId(), fresh, duplicates);
+    }
+
+    /**
+     * Queues an order on one channel again, without the duplicate check: the order was accepted before
+     * and its delivery is being retried by hand, e.g. from the dead-letter store. Like a webhook, the
+     * payload is recorded in the outbox before it is queued.
+     *
+     * @return {@code false} if the delivery queue or the retry backlog is full; nothing was queued
+     * @throws IllegalArgumentException if the payload is not an order webhook
+     */
+    public boolean redeliver(DeliveryChannel channel, byte[] payload) {
+        if (deliveryRetries.backlogFull()) {
+            return false;
+        }
+        OrderEvent event = parse(payload);
+        long sequence = outboxLog.appendAndSync(channel, event.orderId(), payload, Duration.ofMillis(commitTimeoutMs));
+        if (!deliveryQueue.offer(new DeliveryTask(sequence, channel, event, payload))) {
+            outboxLog.ack(sequence);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param accepted   channels the order was queued for
+     * @param duplicates channels that had already accepted the order
+     */
+    public record Receipt(String orderId, List<DeliveryChannel> accepted, List<DeliveryChannel> duplicates) {
+
+        /**
+         * Whether nothing new was accepted.
+         */
+        public boolean duplicate() {
+            return accepted.isEmpty();
+        }
+    }
+
+    private String partitionKey(byte[] payload) {
+        if (clusterMembership.partitionBy() == ClusterMembership.PartitionBy.ORDER) {
+            String orderId = orderEventParser.readOrderId(payload);
+            if (!orderId.isEmpty()) {
+                return orderId;
+            }
+        }
+        // The owner parses the payload again; forwarding the parsed event would need a second wire format
+        return ClusterMembership.tenantKey(parse(payload));
+    }
+
+    private OrderEvent parse(byte[] payload) {
+        long start = System.nanoTime();
+        try {
+            return orderEventParser.parse(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Payload is not valid JSON", e);
+        } finally {
+            metrics.recordParse(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.notification.delivery;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+/**
+ * A validated webhook payload waiting to be delivered on one channel.
+ *
+ * @param sequence outbox sequence to acknowledge once the notification has been delivered
+ * @param event    the order, parsed once when the webhook was accepted
+ * @param payload  the webhook body as accepted, kept for the dead-letter store
+ * @param attempt  delivery attempt this task represents, starting at 1
+ */
+public record DeliveryTask(long sequence, DeliveryChannel channel, OrderEvent event, byte[] payload, int attempt) {
+
+    public DeliveryTask(long sequence, DeliveryChannel channel, OrderEvent event, byte[] payload) {
+        this(sequence, channel, event, payload, 1);
+    }
+
+    public String orderId() {
+        return event.orderId();
+    }
+
+    public DeliveryTask nextAttempt() {
+        return new DeliveryTask(sequence, channel, event, payload, attempt + 1);
+    }
+}
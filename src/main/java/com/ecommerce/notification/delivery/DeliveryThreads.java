@@ -0,0 +1,65 @@
+package com.ecommerce.notification.delivery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates delivery thread factories for the configured {@link ExecutionMode}.
+ * <p>
+ * The project still compiles for Java 17, so virtual threads are created through
+ * {@code Thread.ofVirtual()} reflectively and only when the running JVM provides it.
+ */
+public final class DeliveryThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryThreads.class);
+
+    private DeliveryThreads() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Resolves the mode that will actually be used on this JVM.
+     */
+    public static ExecutionMode effectiveMode(ExecutionMode requested) {
+        return effectiveMode(requested, Runtime.version().feature());
+    }
+
+    static ExecutionMode effectiveMode(ExecutionMode requested, int javaVersion) {
+        if (requested == ExecutionMode.VIRTUAL && javaVersion < 21) {
+            log.warn("Virtual threads need Java 21+, running on Java {}; using platform threads", javaVersion);
+            return ExecutionMode.PLATFORM;
+        }
+        return requested;
+    }
+
+    public static ThreadFactory threadFactory(ExecutionMode mode, String namePrefix) {
+        if (effectiveMode(mode) == ExecutionMode.VIRTUAL) {
+            return virtualThreadFactory(namePrefix);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(name.invoke(builder, namePrefix, 1L));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available on this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.notification.delivery;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Thread model used for outbound delivery.
+ * <p>
+ * {@link #VIRTUAL} needs a Java 21+ runtime; on older runtimes it falls back to {@link #PLATFORM}.
+ */
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL;
+
+    /**
+     * Reads {@code notification.delivery.execution-mode}, ignoring case and surrounding spaces.
+     *
+     * @throws IllegalArgumentException naming the accepted values if the mode is unknown
+     */
+    public static ExecutionMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown execution mode '" + value + "', expected one of "
+                + Arrays.toString(values()).toLowerCase(Locale.ROOT), e);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.ecommerce.notification.delivery;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import com.ecommerce.notification.cluster.ClusterForwarder;
+import com.ecommerce.notification.dedup.DedupIndex;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.reminder.PickupReminders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking counterpart of {@link DeliveryService} and {@link DeliveryQueue}, used by the reactive stack.
+ * <p>
+ * Accepted tasks are buffered in a bounded sink that feeds a single {@code Flux}; it runs at most
+ * {@code max-concurrency} deliveries at once and only pulls more from the buffer as deliveries finish.
+ * Webhooks arriving while the buffer is full are rejected, as with the blocking queue. No step waits on
+ * a thread: the outbox sync, the SMTP burst and the Slack call all complete asynchronously.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "true")
+public class ReactiveDeliveryPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDeliveryPipeline.class);
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private DedupIndex dedupIndex;
+
+    @Autowired
+    private DeliveryRetries deliveryRetries;
+
+    @Autowired
+    private PickupReminders pickupReminders;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private ClusterForwarder clusterForwarder;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Value("${notification.reactive.max-concurrency:1000}")
+    private int maxConcurrency;
+
+    @Value("${notification.delivery.queue-capacity:1000}")
+    private int bufferCapacity;
+
+    @Value("${notification.outbox.commit-timeout-ms:5000}")
+    private long commitTimeoutMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ArrayBlockingQueue<DeliveryTask> buffer;
+    private Sinks.Many<DeliveryTask> sink;
+    private Disposable pipeline;
+
+    @PostConstruct
+    void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        sink = Sinks.many().unicast().onBackpressureBuffer(buffer);
+        pipeline = sink.asFlux()
+            .flatMap(this::deliver, maxConcurrency)
+            .subscribe();
+        log.info("Reactive delivery pipeline started with concurrency {} and capacity {}", maxConcurrency, bufferCapacity);
+    }
+
+    /**
+     * Reactive form of {@link DeliveryService#accept(Set, byte[])}: completes once the order is durable
+     * in the outbox and buffered for delivery, or once its owner has accepted it when clustering is enabled.
+     *
+     * @return fails with {@link IllegalArgumentException} if the payload is not an order webhook, or with
+     *         {@link DeliveryRejectedException} if the buffer or the retry backlog (here or on the owner) is full
+     */
+    public Mono<DeliveryService.Receipt> accept(Set<DeliveryChannel> channels, byte[] payload) {
+        return Mono.defer(() -> {
+            if (channels.isEmpty()) {
+                return Mono.error(new IllegalArgumentException("No channels selected"));
+            }
+            Optional<String> owner = deliveryService.remoteOwner(payload);
+            if (owner.isEmpty()) {
+                return acceptLocal(channels, payload);
+            }
+            // The forwarder waits for the owner's answer, so keep it off the event loop
+            return Mono.fromCallable(() -> clusterForwarder.forward(owner.get(), channels, payload))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(forwarded -> forwarded.map(Mono::just).orElseGet(() -> acceptLocal(channels, payload)));
+        });
+    }
+
+    /**
+     * Reactive form of {@link DeliveryService#acceptLocal(Set, byte[])}.
+     */
+    private Mono<DeliveryService.Receipt> acceptLocal(Set<DeliveryChannel> channels, byte[] payload) {
+        return Mono.defer(() -> {
+            if (deliveryRetries.backlogFull()) {
+                return Mono.error(new DeliveryRejectedException(
+                    "Retry backlog is full (" + deliveryRetries.scheduled() + " deliveries waiting)"));
+            }
+            String orderId = orderEventParser.readOrderId(payload);
+            List<DeliveryChannel> fresh = new ArrayList<>(channels.size());
+            List<DeliveryChannel> duplicates = new ArrayList<>(0);
+            for (DeliveryChannel channel : channels) {
+                if (orderId.isEmpty() || dedupIndex.markAccepted(channel, orderId)) {
+                    fresh.add(channel);
+                } else {
+                    duplicates.add(channel);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return Mono.just(new DeliveryService.Receipt(orderId, fresh, duplicates));
+            }
+            return append(fresh, payload)
+                .map(tasks -> {
+                    int buffered = offer(tasks);
+                    if (buffered == 0) {
+                        tasks.forEach(task -> outboxLog.ack(task.sequence()));
+                        throw new DeliveryRejectedException("Delivery buffer is full (capacity " + bufferCapacity + ")");
+                    }
+                    if (buffered < tasks.size()) {
+                        log.warn("Pipeline stopped while buffering order {}; {} of its {} deliveries stay in the outbox "
+                            + "for the next start", tasks.get(0).orderId(), tasks.size() - buffered, tasks.size());
+                    }
+                    return tasks.get(0).event();
+                })
+                .doOnError(error -> {
+                    if (!orderId.isEmpty()) {
+                        fresh.forEach(channel -> dedupIndex.forget(channel, orderId));
+                    }
+                })
+                // The order is buffered by now, so nothing after this point may undo its acceptance
+                .map(event -> {
+                    pickupReminders.register(event, payload);
+                    return new DeliveryService.Receipt(event.orderId(), fresh, duplicates);
+                });
+        });
+    }
+
+    /**
+     * Appends one outbox entry per channel; they share a group commit and the returned tasks are
+     * emitted once it has been synced.
+     */
+    private Mono<List<DeliveryTask>> append(List<DeliveryChannel> channels, byte[] payload) {
+        OrderEvent event;
+        long start = System.nanoTime();
+        try {
+            event = orderEventParser.parse(payload);
+        } catch (IOException e) {
+            return Mono.error(new IllegalArgumentException("Payload is not valid JSON", e));
+        } finally {
+            metrics.recordParse(System.nanoTime() - start);
+        }
+        List<CompletableFuture<Long>> appended = new ArrayList<>(channels.size());
+        for (DeliveryChannel channel : channels) {
+            appended.add(outboxLog.append(channel, event.orderId(), payload));
+        }
+        return Mono.fromFuture(CompletableFuture.allOf(appended.toArray(new CompletableFuture[0])))
+            .timeout(Duration.ofMillis(commitTimeoutMs), Mono.error(() -> new UncheckedIOException(
+                new IOException("Outbox sync did not complete within " + Duration.ofMillis(commitTimeoutMs)))))
+            .doOnError(error -> outboxLog.discard(appended))
+            .then(Mono.fromCallable(() -> {
+                List<DeliveryTask> tasks = new ArrayList<>(channels.size());
+                for (int i = 0; i < channels.size(); i++) {
+                    tasks.add(new DeliveryTask(appended.get(i).join(), channels.get(i), event, payload));
+                }
+                return tasks;
+            }));
+    }
+
+    /**
+     * Buffers the tasks of one order: all of them if there is room for all, none otherwise. Emitters
+     * hold the sink's lock and the pipeline only takes from the buffer, so room checked under the lock
+     * stays there; an emission can then only fail because the pipeline stopped in between, and the
+     * tasks not buffered stay in the outbox.
+     *
+     * @return how many of the tasks were buffered, from the first
+     */
+    private int offer(List<DeliveryTask> tasks) {
+        // The sink allows one emitter at a time
+        synchronized (sink) {
+            if (buffer.remainingCapacity() < tasks.size()) {
+                return 0;
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (sink.tryEmitNext(tasks.get(i)).isFailure()) {
+                    return i;
+                }
+            }
+            return tasks.size();
+        }
+    }
+
+    private Mono<Void> deliver(DeliveryTask task) {
+        return Mono.fromFuture(() -> notificationDispatcher.deliver(task.channel(), task.event()))
+            .doOnSubscribe(subscription -> inFlight.incrementAndGet())
+            .doFinally(signal -> inFlight.decrementAndGet())
+            .then(Mono.fromRunnable(() -> outboxLog.ack(task.sequence())))
+            .onErrorResume(error -> {
+                // A dead letter is synced to disk, which must not happen on an event loop
+                deliveryRetries.failed(task, error, retry -> offer(List.of(retry)) == 1,
+                    runnable -> Schedulers.boundedElastic().schedule(runnable));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    public int depth() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return bufferCapacity;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        // Undelivered tasks stay in the outbox and are replayed on the next start
+        synchronized (sink) {
+            sink.tryEmitComplete();
+        }
+        pipeline.dispose();
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.notification.delivery;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed delivery is retried: exponential backoff with full jitter,
+ * never earlier than a Retry-After the destination asked for.
+ */
+@Component
+public class RetryPolicy {
+
+    @Value("${notification.retry.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.retry.base-delay-ms:500}")
+    private long baseDelayMs;
+
+    @Value("${notification.retry.max-delay-ms:300000}")
+    private long maxDelayMs;
+
+    /**
+     * @param attempt number of attempts made so far, starting at 1
+     * @return the delay before the next attempt, or empty if the task should not be retried
+     */
+    public Optional<Duration> nextDelay(int attempt, Throwable error) {
+        DeliveryException delivery = DeliveryException.find(error).orElse(null);
+        if (delivery != null && delivery.isThrottled()) {
+            return delivery.getRetryAfter();
+        }
+        if ((delivery != null && !delivery.isRetryable()) || attempt >= maxAttempts) {
+            return Optional.empty();
+        }
+
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 30));
+        long jittered = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        long retryAfter = delivery == null ? 0 : delivery.getRetryAfter().map(Duration::toMillis).orElse(0L);
+        return Optional.of(Duration.ofMillis(Math.max(jittered, retryAfter)));
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+}
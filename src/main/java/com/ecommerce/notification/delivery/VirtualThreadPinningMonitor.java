@@ -0,0 +1,100 @@
+package com.ecommerce.notification.delivery;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports virtual threads pinned to their carrier, e.g. while blocked on I/O inside the
+ * {@code synchronized} methods of the JavaMail SMTP transport.
+ * <p>
+ * Listens for the JFR {@code jdk.VirtualThreadPinned} event, so it only runs in virtual mode on Java 21+.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_FRAMES = 8;
+
+    @Value("${notification.delivery.execution-mode:platform}")
+    private String executionMode;
+
+    @Value("${notification.delivery.pinning-threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private final AtomicLong mailPinnedEvents = new AtomicLong();
+    private final AtomicLong otherPinnedEvents = new AtomicLong();
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        ExecutionMode mode = ExecutionMode.parse(executionMode);
+        if (mode != ExecutionMode.VIRTUAL || !DeliveryThreads.virtualThreadsAvailable()) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+            .withThreshold(Duration.ofMillis(pinningThresholdMs))
+            .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Watching for virtual thread pinning longer than {}ms", pinningThresholdMs);
+    }
+
+    private void report(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        boolean inMail = frames.stream().anyMatch(frame -> {
+            String type = frame.getMethod().getType().getName();
+            return type.startsWith("jakarta.mail") || type.startsWith("org.eclipse.angus.mail");
+        });
+        (inMail ? mailPinnedEvents : otherPinnedEvents).incrementAndGet();
+
+        StringBuilder stack = new StringBuilder();
+        frames.stream().limit(REPORTED_FRAMES).forEach(frame -> stack
+            .append("\n\tat ")
+            .append(frame.getMethod().getType().getName())
+            .append('.')
+            .append(frame.getMethod().getName())
+            .append(':')
+            .append(frame.getLineNumber()));
+        log.warn("Virtual thread {} pinned its carrier for {}ms{}{}",
+            event.getThread() == null ? "?" : event.getThread().getJavaName(),
+            event.getDuration().toMillis(),
+            inMail ? " inside JavaMail" : "",
+            stack);
+    }
+
+    public long pinnedEvents() {
+        return mailPinnedEvents.get() + otherPinnedEvents.get();
+    }
+
+    /**
+     * Pinning reported with JavaMail on the stack; exported as {@code notification.threads.pinned{library=javamail}}.
+     */
+    public long mailPinnedEvents() {
+        return mailPinnedEvents.get();
+    }
+
+    public long otherPinnedEvents() {
+        return otherPinnedEvents.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
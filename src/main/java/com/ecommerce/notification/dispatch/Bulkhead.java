@@ -0,0 +1,132 @@
+package com.ecommerce.notification.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Caps the sends of one channel. A send holds one of {@code maxConcurrent} slots from the moment its
+ * adapter is called until the future the adapter returned completes, so an adapter that hands the
+ * network round trip to its own sender (SMTP bursts, Slack digests) is bounded as tightly as one that
+ * blocks. Up to {@code queueCapacity} sends wait for a slot; beyond that they are refused.
+ * <p>
+ * Adapters are called on the bulkhead's executor, never on the caller. At most {@code maxConcurrent}
+ * calls are handed to it at once, since a call is only started once it holds a slot.
+ */
+final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+
+    private final Queue<Call> waiting = new ArrayDeque<>();
+    private int active;
+
+    Bulkhead(String name, int maxConcurrent, int queueCapacity, ExecutorService executor) {
+        this.name = name;
+        this.maxConcurrent = Math.max(maxConcurrent, 1);
+        this.queueCapacity = Math.max(queueCapacity, 0);
+        this.executor = executor;
+    }
+
+    /**
+     * @return completes like the adapter's future, once the send has had a slot
+     * @throws RejectedExecutionException if every slot is taken and {@code queueCapacity} sends already wait
+     */
+    CompletableFuture<Object> submit(Callable<? extends CompletableFuture<?>> send) {
+        Call call = new Call(send);
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+            } else if (waiting.size() < queueCapacity) {
+                waiting.add(call);
+                return call.result;
+            } else {
+                throw new RejectedExecutionException("Bulkhead " + name + " is full");
+            }
+        }
+        if (!start(call)) {
+            release();
+        }
+        return call.result;
+    }
+
+    /**
+     * Sends holding a slot: being handed to the channel or waiting for it to confirm delivery.
+     */
+    synchronized int active() {
+        return active;
+    }
+
+    /**
+     * Sends waiting for a slot.
+     */
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean start(Call call) {
+        try {
+            executor.execute(() -> run(call));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shut down: the slot goes to the next waiting send, which fails the same way
+            call.result.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private void run(Call call) {
+        CompletableFuture<?> delivery;
+        try {
+            delivery = call.send.call();
+        } catch (Exception e) {
+            delivery = CompletableFuture.failedFuture(e);
+        }
+        delivery.whenComplete((value, error) -> {
+            release();
+            if (error == null) {
+                call.result.complete(value);
+            } else {
+                call.result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * Hands the slot of a finished send to the oldest waiting one.
+     */
+    private void release() {
+        while (true) {
+            Call next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            if (start(next)) {
+                return;
+            }
+        }
+    }
+
+    private static final class Call {
+
+        private final Callable<? extends CompletableFuture<?>> send;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Call(Callable<? extends CompletableFuture<?>> send) {
+            this.send = send;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.notification.dispatch;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers order notifications on one channel. Adapters are Spring beans picked up by the
+ * {@link NotificationDispatcher}; adding a channel means adding an adapter.
+ */
+public interface ChannelAdapter {
+
+    DeliveryChannel channel();
+
+    /**
+     * Starts delivering the notification. Implementations should hand the slow part (SMTP, HTTP) to
+     * their own sender and return; the future completes once the notification has been delivered.
+     * Failures may be thrown directly or reported through the future.
+     */
+    CompletableFuture<?> deliver(OrderEvent event) throws Exception;
+}
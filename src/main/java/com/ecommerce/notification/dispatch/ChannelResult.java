@@ -0,0 +1,18 @@
+package com.ecommerce.notification.dispatch;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one channel of a {@link NotificationDispatcher#dispatch} call.
+ *
+ * @param error   why delivery failed, or {@code null} if it succeeded
+ * @param latency time from the start of the dispatch until this channel finished
+ */
+public record ChannelResult(DeliveryChannel channel, Throwable error, Duration latency) {
+
+    public boolean delivered() {
+        return error == null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.notification.dispatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.notification.metrics.OutcomeWindow;
+
+import java.time.Duration;
+
+/**
+ * Stops calling a destination that keeps failing, and probes it before letting traffic through again.
+ * <p>
+ * While {@link State#CLOSED} every call goes through and its outcome is recorded in a sliding time
+ * window. Once the window holds at least {@code minimumCalls} calls and their failure rate reaches the
+ * threshold, the breaker opens: calls are refused for {@code openDuration}. After that it is
+ * {@link State#HALF_OPEN} and lets {@code halfOpenCalls} probes through; if they all succeed it closes
+ * with an empty window, and if one fails it opens again.
+ * <p>
+ * The closed state only costs a volatile read per call and an atomic increment per outcome;
+ * transitions are synchronized.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration window;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private volatile State state = State.CLOSED;
+    private volatile OutcomeWindow outcomes;
+
+    // Guarded by this
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param failureRateThreshold failure ratio in the window, between 0 and 1, that opens the breaker
+     * @param minimumCalls         calls the window must hold before the failure rate is considered
+     */
+    public CircuitBreaker(String name, double failureRateThreshold, int minimumCalls, Duration window,
+                          Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.max(minimumCalls, 1);
+        this.window = window;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+        this.outcomes = new OutcomeWindow(window, 10);
+    }
+
+    /**
+     * Asks to make a call. A caller that gets a permit must report the call with {@link #onSuccess()},
+     * {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return {@code 0} when the call may be made, otherwise the nanoseconds after which to ask again
+     */
+    public long tryAcquire() {
+        if (state == State.CLOSED) {
+            return 0;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                long remaining = openedAt + openNanos - System.nanoTime();
+                if (remaining > 0) {
+                    return remaining;
+                }
+                state = State.HALF_OPEN;
+                probesStarted = 0;
+                probesSucceeded = 0;
+                log.info("Circuit breaker {} half-open, probing with {} call(s)", name, halfOpenCalls);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesStarted >= halfOpenCalls) {
+                    // Wait for the probes rather than a whole open period
+                    return Math.max(openNanos / 10, 1);
+                }
+                probesStarted++;
+            }
+            return 0;
+        }
+    }
+
+    public void onSuccess() {
+        if (state == State.CLOSED) {
+            outcomes.record(false);
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN && ++probesSucceeded >= halfOpenCalls) {
+                outcomes = new OutcomeWindow(window, 10);
+                state = State.CLOSED;
+                log.info("Circuit breaker {} closed", name);
+            }
+        }
+    }
+
+    public void onFailure() {
+        if (state == State.CLOSED) {
+            OutcomeWindow current = outcomes;
+            current.record(true);
+            OutcomeWindow.Snapshot recent = current.snapshot();
+            if (recent.attempts() < minimumCalls || recent.errorRate() < failureRateThreshold) {
+                return;
+            }
+        }
+        synchronized (this) {
+            if (state != State.OPEN) {
+                log.warn("Circuit breaker {} open for {}ms after failures{}", name, Duration.ofNanos(openNanos).toMillis(),
+                    state == State.HALF_OPEN ? " while probing" : "");
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * The permitted call was not made after all (e.g. it was throttled), so it proves nothing.
+     */
+    public void onIgnored() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN && probesStarted > 0) {
+                probesStarted--;
+            }
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.notification.dispatch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.service.OrderNotificationService;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class EmailChannelAdapter implements ChannelAdapter {
+
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.EMAIL;
+    }
+
+    @Override
+    public CompletableFuture<?> deliver(OrderEvent event) {
+        // Joins the next SMTP burst instead of holding the caller for the send
+        return orderNotificationService.queueOrderNotification(event);
+    }
+}
@@ -0,0 +1,233 @@
+package com.ecommerce.notification.dispatch;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.delivery.DeliveryThreads;
+import com.ecommerce.notification.delivery.ExecutionMode;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers one parsed order to several channels at once.
+ * <p>
+ * Each channel is isolated from the others:
+ * <ul>
+ *   <li>Sends run on the channel's own {@link Bulkhead}, never on the caller, so a channel that blocks
+ *       while sending (Slack without batching) cannot tie up the delivery workers or the threads of
+ *       another channel. A send holds its bulkhead slot until it is confirmed, so a channel that
+ *       queues sends for later (SMTP bursts, Slack digests) is bounded too. When the bulkhead is full
+ *       the send is deferred.</li>
+ *   <li>A {@link CircuitBreaker} per channel stops calling a destination whose recent sends mostly
+ *       failed, and lets a few probes through once it has been open for a while.</li>
+ * </ul>
+ * Deferred sends fail with a throttled {@link DeliveryException}, so the caller parks them on the
+ * retry timer without counting an attempt; the webhook that accepted them is not affected.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    private List<ChannelAdapter> channelAdapters;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Value("${notification.delivery.execution-mode:platform}")
+    private String executionMode;
+
+    @Value("${notification.bulkhead.slack.max-concurrent:16}")
+    private int slackMaxConcurrent;
+
+    @Value("${notification.bulkhead.slack.queue-capacity:200}")
+    private int slackQueueCapacity;
+
+    @Value("${notification.bulkhead.email.max-concurrent:8}")
+    private int emailMaxConcurrent;
+
+    @Value("${notification.bulkhead.email.queue-capacity:200}")
+    private int emailQueueCapacity;
+
+    @Value("${notification.bulkhead.virtual-max-concurrent:${notification.delivery.max-in-flight:10000}}")
+    private int virtualMaxConcurrent;
+
+    @Value("${notification.bulkhead.rejected-retry-ms:200}")
+    private long rejectedRetryMs;
+
+    @Value("${notification.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${notification.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${notification.circuit-breaker.window-ms:30000}")
+    private long breakerWindowMs;
+
+    @Value("${notification.circuit-breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${notification.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    private final Map<DeliveryChannel, ChannelAdapter> adapters = new EnumMap<>(DeliveryChannel.class);
+    private final Map<DeliveryChannel, Bulkhead> bulkheads = new EnumMap<>(DeliveryChannel.class);
+    private final Map<DeliveryChannel, CircuitBreaker> breakers = new EnumMap<>(DeliveryChannel.class);
+
+    @PostConstruct
+    void start() {
+        for (ChannelAdapter adapter : channelAdapters) {
+            if (adapters.put(adapter.channel(), adapter) != null) {
+                throw new IllegalStateException("More than one adapter for channel " + adapter.channel());
+            }
+        }
+        ExecutionMode mode = DeliveryThreads.effectiveMode(ExecutionMode.parse(executionMode));
+        for (DeliveryChannel channel : adapters.keySet()) {
+            String name = channel.name().toLowerCase(Locale.ROOT);
+            // Virtual threads parked on a slow channel cost next to nothing, so only max-in-flight bounds them
+            int maxConcurrent = mode == ExecutionMode.VIRTUAL ? virtualMaxConcurrent : switch (channel) {
+                case SLACK -> slackMaxConcurrent;
+                case EMAIL -> emailMaxConcurrent;
+            };
+            int queueCapacity = switch (channel) {
+                case SLACK -> slackQueueCapacity;
+                case EMAIL -> emailQueueCapacity;
+            };
+            // The bulkhead never hands over more calls than it has slots, so the queue stays short
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent,
+                30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                DeliveryThreads.threadFactory(mode, name + "-bulkhead-")
+            );
+            executor.allowCoreThreadTimeOut(true);
+            bulkheads.put(channel, new Bulkhead(name, maxConcurrent, queueCapacity, executor));
+            breakers.put(channel, new CircuitBreaker(name, failureRateThreshold, minimumCalls,
+                Duration.ofMillis(breakerWindowMs), Duration.ofMillis(openMs), halfOpenCalls));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        bulkheads.values().forEach(Bulkhead::shutdown);
+    }
+
+    public Set<DeliveryChannel> channels() {
+        return adapters.keySet();
+    }
+
+    /**
+     * Delivers the order on one channel. Never throws or blocks; failures complete the future exceptionally.
+     */
+    public CompletableFuture<?> deliver(DeliveryChannel channel, OrderEvent event) {
+        ChannelAdapter adapter = adapters.get(channel);
+        if (adapter == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("No adapter for channel " + channel));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<?> delivery = isolated(channel, adapter, event);
+        return delivery.whenComplete((ignored, error) ->
+            metrics.recordSend(channel, NotificationMetrics.Outcome.of(unwrap(error)), System.nanoTime() - start));
+    }
+
+    private CompletableFuture<?> isolated(DeliveryChannel channel, ChannelAdapter adapter, OrderEvent event) {
+        CircuitBreaker breaker = breakers.get(channel);
+        long wait = breaker.tryAcquire();
+        if (wait > 0) {
+            return CompletableFuture.failedFuture(DeliveryException.deferred("Circuit breaker open for " + channel, wait));
+        }
+        CompletableFuture<Object> result;
+        try {
+            result = bulkheads.get(channel).submit(() -> adapter.deliver(event));
+        } catch (RejectedExecutionException e) {
+            breaker.onIgnored();
+            return CompletableFuture.failedFuture(DeliveryException.deferred("Bulkhead full for " + channel,
+                TimeUnit.MILLISECONDS.toNanos(rejectedRetryMs)));
+        }
+        return result.whenComplete((ignored, error) -> {
+            if (error == null) {
+                breaker.onSuccess();
+            } else if (NotificationMetrics.Outcome.of(unwrap(error)) == NotificationMetrics.Outcome.THROTTLED) {
+                breaker.onIgnored();
+            } else if (DeliveryException.find(unwrap(error)).map(failure -> !failure.isRetryable()).orElse(false)) {
+                // A rejected request (one tenant's revoked webhook, a bad recipient) says nothing about the downstream
+                breaker.onIgnored();
+            } else {
+                breaker.onFailure();
+            }
+        });
+    }
+
+    public CircuitBreaker.State circuitState(DeliveryChannel channel) {
+        CircuitBreaker breaker = breakers.get(channel);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    /**
+     * Sends holding a slot of the channel's bulkhead: being sent or waiting for the channel to confirm.
+     */
+    public int bulkheadActive(DeliveryChannel channel) {
+        Bulkhead bulkhead = bulkheads.get(channel);
+        return bulkhead == null ? 0 : bulkhead.active();
+    }
+
+    /**
+     * Sends waiting for a slot of the channel's bulkhead.
+     */
+    public int bulkheadQueued(DeliveryChannel channel) {
+        Bulkhead bulkhead = bulkheads.get(channel);
+        return bulkhead == null ? 0 : bulkhead.queued();
+    }
+
+    /**
+     * Delivers the order on all given channels concurrently.
+     *
+     * @return completes, never exceptionally, once every channel has finished, with one result per channel
+     */
+    public CompletableFuture<List<ChannelResult>> dispatch(OrderEvent event, Collection<DeliveryChannel> channels) {
+        long start = System.nanoTime();
+        List<DeliveryChannel> targets = List.copyOf(channels);
+        List<CompletableFuture<ChannelResult>> results = new ArrayList<>(targets.size());
+        for (DeliveryChannel channel : targets) {
+            // Returns at once: the send itself runs on the channel's bulkhead
+            CompletableFuture<?> delivery = deliver(channel, event);
+            results.add(delivery.handle((ignored, error) -> new ChannelResult(channel, unwrap(error),
+                Duration.ofNanos(System.nanoTime() - start))));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<ChannelResult> outcome = results.stream().map(CompletableFuture::join).toList();
+            if (log.isDebugEnabled()) {
+                log.debug("Order {} dispatched in {}ms: {}", event.orderId(),
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), outcome);
+            }
+            return outcome;
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
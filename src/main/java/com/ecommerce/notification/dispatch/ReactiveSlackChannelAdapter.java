@@ -0,0 +1,33 @@
+package com.ecommerce.notification.dispatch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.service.ReactiveSlackNotificationService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Slack adapter of the reactive stack; replaces {@link SlackChannelAdapter} when
+ * {@code notification.reactive.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "true")
+public class ReactiveSlackChannelAdapter implements ChannelAdapter {
+
+    @Autowired
+    private ReactiveSlackNotificationService reactiveSlackNotificationService;
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.SLACK;
+    }
+
+    @Override
+    public CompletableFuture<?> deliver(OrderEvent event) {
+        return reactiveSlackNotificationService.sendOrderNotification(event).toFuture();
+    }
+}
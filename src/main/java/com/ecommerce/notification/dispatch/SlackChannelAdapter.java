@@ -0,0 +1,30 @@
+package com.ecommerce.notification.dispatch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.service.SlackNotificationService;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class SlackChannelAdapter implements ChannelAdapter {
+
+    @Autowired
+    private SlackNotificationService slackNotificationService;
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.SLACK;
+    }
+
+    @Override
+    public CompletableFuture<?> deliver(OrderEvent event) throws Exception {
+        // May complete later, once the Slack digest containing the order is posted
+        return slackNotificationService.queueOrderNotification(event);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.notification.event;
+
+import java.util.List;
+
+/**
+ * The fields of an {@code OrderCreated} webhook that the notifications use. Missing text fields are
+ * empty and missing numbers are zero, so templates never see {@code null}.
+ *
+ * @param created     order timestamp as sent by the store, e.g. {@code 2025-08-11T20:30:00.000000+00:00}
+ * @param grossAmount {@code total.gross.amount}
+ * @param origin      where the order was placed, which decides where its notifications go
+ */
+public record OrderEvent(
+    String orderId,
+    String created,
+    double grossAmount,
+    String currency,
+    String buyerFirstName,
+    String buyerEmail,
+    List<OrderLine> lines,
+    Origin origin
+) {
+
+    public OrderEvent(String orderId, String created, double grossAmount, String currency,
+                     String buyerFirstName, String buyerEmail, List<OrderLine> lines) {
+        this(orderId, created, grossAmount, currency, buyerFirstName, buyerEmail, lines, Origin.UNKNOWN);
+    }
+
+    /**
+     * @param price {@code variant.product.price}, which the store only sends for some products
+     */
+    public record OrderLine(int quantity, String productName, double price) {
+    }
+
+    /**
+     * @param channel   {@code channel.slug}, the sales channel
+     * @param warehouse {@code collectionPoint.slug} for pickup orders, otherwise the warehouse the first
+     *                  line is allocated from
+     * @param store     the {@code storeId} entry of the order metadata
+     */
+    public record Origin(String channel, String warehouse, String store) {
+
+        public static final Origin UNKNOWN = new Origin("", "", "");
+    }
+}
@@ -0,0 +1,400 @@
+package com.ecommerce.notification.event;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.ecommerce.notification.payload.OrderStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads an {@link OrderEvent} from a webhook payload with Jackson's streaming parser.
+ * <p>
+ * Only the fields the notifications need are kept; everything else (other metadata, variant ids,
+ * payment details) is skipped token by token without building a {@code JsonNode} tree.
+ */
+@Component
+public class OrderEventParser {
+
+    /**
+     * Order metadata key naming the store, for deployments where one sales channel serves several stores.
+     */
+    static final String STORE_METADATA_KEY = "storeId";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @throws IOException              if the payload is not valid JSON
+     * @throws IllegalArgumentException if the payload has no {@code order.id}
+     */
+    public OrderEvent parse(InputStream payload) throws IOException {
+        return read(jsonFactory.createParser(payload));
+    }
+
+    public OrderEvent parse(byte[] payload) throws IOException {
+        return read(jsonFactory.createParser(payload));
+    }
+
+    public OrderEvent parse(String payload) throws IOException {
+        return read(jsonFactory.createParser(payload));
+    }
+
+    /**
+     * Reads a status webhook: the order fields of {@link #parse(byte[])} plus {@code order.status} and
+     * {@code order.version}, or {@code order.updatedAt} if the store does not version its orders.
+     *
+     * @throws IOException              if the payload is not valid JSON
+     * @throws IllegalArgumentException if the payload has no {@code order.id}, no known status or no version
+     */
+    public OrderStatusChange parseStatusChange(byte[] payload) throws IOException {
+        return readDraft(jsonFactory.createParser(payload)).toStatusChange();
+    }
+
+    /**
+     * Reads only {@code order.id}, stopping as soon as it is found.
+     *
+     * @return the id, or an empty string if there is none or the JSON is broken before it; {@link #parse}
+     *         reports the actual problem
+     */
+    public String readOrderId(byte[] payload) {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "";
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                if (parser.nextToken() != JsonToken.START_OBJECT || !"order".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while ((field = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    if ("id".equals(field)) {
+                        return text(parser);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            return "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private OrderEvent read(JsonParser parser) throws IOException {
+        return readDraft(parser).toEvent();
+    }
+
+    private Draft readDraft(JsonParser parser) throws IOException {
+        try (parser) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an order webhook object");
+            }
+            Draft order = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                if (parser.nextToken() == JsonToken.START_OBJECT && "order".equals(field)) {
+                    order = readOrder(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (order == null || order.orderId.isEmpty()) {
+                throw new IllegalArgumentException("Payload has no order.id");
+            }
+            return order;
+        }
+    }
+
+    private static Draft readOrder(JsonParser parser) throws IOException {
+        Draft order = new Draft();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> order.orderId = text(parser);
+                case "created" -> order.created = text(parser);
+                case "status" -> order.status = text(parser);
+                case "version" -> order.version = text(parser);
+                case "updatedAt" -> order.updatedAt = text(parser);
+                case "total" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readTotal(parser, order);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "user" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readUser(parser, order);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "lines" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        readLines(parser, order);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "channel" -> order.channel = slug(parser);
+                case "collectionPoint" -> order.collectionPoint = slug(parser);
+                case "metadata" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        readMetadata(parser, order);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return order;
+    }
+
+    private static void readTotal(JsonParser parser, Draft order) throws IOException {
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            if (parser.nextToken() == JsonToken.START_OBJECT && "gross".equals(field)) {
+                while ((field = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (field) {
+                        case "amount" -> order.grossAmount = number(parser);
+                        case "currency" -> order.currency = text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readUser(JsonParser parser, Draft order) throws IOException {
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "firstName" -> order.buyerFirstName = text(parser);
+                case "email" -> order.buyerEmail = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readLines(JsonParser parser, Draft order) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                order.lines.add(readLine(parser, order));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Picks the {@code storeId} entry out of {@code [{"key": ..., "value": ...}]}.
+     */
+    private static void readMetadata(JsonParser parser, Draft order) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String key = "";
+            String value = "";
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "key" -> key = text(parser);
+                    case "value" -> value = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (STORE_METADATA_KEY.equals(key)) {
+                order.store = value;
+            }
+        }
+    }
+
+    private static OrderEvent.OrderLine readLine(JsonParser parser, Draft order) throws IOException {
+        int quantity = 0;
+        String productName = "";
+        double price = 0.0;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if ("quantity".equals(field)) {
+                quantity = (int) number(parser);
+            } else if ("allocations".equals(field) && token == JsonToken.START_ARRAY) {
+                readAllocations(parser, order);
+            } else if ("variant".equals(field) && token == JsonToken.START_OBJECT) {
+                // variant.product holds both the name and the optional price
+                while ((field = parser.nextFieldName()) != null) {
+                    if (parser.nextToken() == JsonToken.START_OBJECT && "product".equals(field)) {
+                        while ((field = parser.nextFieldName()) != null) {
+                            parser.nextToken();
+                            switch (field) {
+                                case "name" -> productName = text(parser);
+                                case "price" -> price = number(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new OrderEvent.OrderLine(quantity, productName, price);
+    }
+
+    /**
+     * Remembers the warehouse of the first allocation seen: {@code [{"warehouse": {"slug": ...}}]}.
+     */
+    private static void readAllocations(JsonParser parser, Draft order) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if ("warehouse".equals(field) && order.allocatedWarehouse.isEmpty()) {
+                    order.allocatedWarehouse = slug(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads {@code slug} from the current object, e.g. {@code "channel": {"slug": "cafe-1"}}.
+     */
+    private static String slug(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return "";
+        }
+        String slug = "";
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if ("slug".equals(field)) {
+                slug = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return slug;
+    }
+
+    /**
+     * Returns the current scalar as text, or an empty string for null, objects and arrays.
+     */
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? "" : parser.getText();
+        }
+        parser.skipChildren();
+        return "";
+    }
+
+    /**
+     * Returns the current value as a number, accepting numeric strings; anything else is zero.
+     */
+    private static double number(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsDouble(0.0);
+        }
+        parser.skipChildren();
+        return 0.0;
+    }
+
+    private static final class Draft {
+
+        private String orderId = "";
+        private String created = "";
+        private double grossAmount;
+        private String currency = "";
+        private String buyerFirstName = "";
+        private String buyerEmail = "";
+        private final List<OrderEvent.OrderLine> lines = new ArrayList<>();
+        private String channel = "";
+        private String collectionPoint = "";
+        private String allocatedWarehouse = "";
+        private String store = "";
+        private String status = "";
+        private String version = "";
+        private String updatedAt = "";
+
+        private OrderStatusChange toStatusChange() {
+            return new OrderStatusChange(toEvent(), status(), version());
+        }
+
+        private OrderStatus status() {
+            String name = status.trim().toUpperCase(Locale.ROOT);
+            // The store spells it the American way
+            if (name.equals("CANCELED")) {
+                return OrderStatus.CANCELLED;
+            }
+            try {
+                return OrderStatus.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown order.status '" + status + "'");
+            }
+        }
+
+        private long version() {
+            if (!version.isBlank()) {
+                try {
+                    return Long.parseLong(version.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("order.version is not a whole number: " + version);
+                }
+            }
+            if (updatedAt.isBlank()) {
+                throw new IllegalArgumentException("Payload has neither order.version nor order.updatedAt");
+            }
+            try {
+                Instant instant = OffsetDateTime.parse(updatedAt).toInstant();
+                return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("order.updatedAt is not an ISO-8601 timestamp: " + updatedAt);
+            }
+        }
+
+        private OrderEvent toEvent() {
+            OrderEvent.Origin origin = channel.isEmpty() && collectionPoint.isEmpty()
+                    && allocatedWarehouse.isEmpty() && store.isEmpty()
+                ? OrderEvent.Origin.UNKNOWN
+                : new OrderEvent.Origin(channel,
+                    collectionPoint.isEmpty() ? allocatedWarehouse : collectionPoint, store);
+            return new OrderEvent(orderId, created, grossAmount, currency, buyerFirstName, buyerEmail,
+                Collections.unmodifiableList(lines), origin);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.notification.event;
+
+import com.ecommerce.notification.payload.OrderStatus;
+
+/**
+ * An order status webhook: the order as the store sent it, its new status and the version of the
+ * order that status belongs to.
+ *
+ * @param version increases with every change to the order; {@code order.version} if the store sends
+ *                one, otherwise {@code order.updatedAt} in microseconds
+ */
+public record OrderStatusChange(OrderEvent order, OrderStatus status, long version) {
+
+    public String orderId() {
+        return order.orderId();
+    }
+}
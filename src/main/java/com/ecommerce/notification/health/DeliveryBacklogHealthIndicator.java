@@ -0,0 +1,85 @@
+package com.ecommerce.notification.health;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryQueue;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.outbox.OutboxLog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} while this instance is too far behind on deliveries, so the readiness
+ * probe takes it out of the load balancer until it catches up.
+ * <p>
+ * The backlog is the fill ratio of the fullest of the delivery queue and the reactive pipeline buffer,
+ * so an idle queue does not hide a full one, and the number of accepted notifications still
+ * unacknowledged in the outbox, which includes those waiting for a retry.
+ * Once shedding, the instance only reports {@code UP} again when both fall below {@code recover-ratio}
+ * of their thresholds, so readiness does not flap around the limit.
+ */
+@Component
+public class DeliveryBacklogHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private DeliveryQueue deliveryQueue;
+
+    @Autowired
+    private ObjectProvider<ReactiveDeliveryPipeline> reactiveDeliveryPipeline;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Value("${notification.health.backlog.queue-ratio:0.8}")
+    private double queueRatioThreshold;
+
+    @Value("${notification.health.backlog.max-unacked:5000}")
+    private int maxUnacked;
+
+    @Value("${notification.health.backlog.recover-ratio:0.5}")
+    private double recoverRatio;
+
+    private volatile boolean shedding;
+
+    @Override
+    public Health health() {
+        Map<String, Map<String, Integer>> queues = new LinkedHashMap<>();
+        double queueRatio = queue(queues, "delivery", deliveryQueue.depth(), deliveryQueue.capacity());
+        ReactiveDeliveryPipeline pipeline = reactiveDeliveryPipeline.getIfAvailable();
+        if (pipeline != null) {
+            queueRatio = Math.max(queueRatio, queue(queues, "reactive", pipeline.depth(), pipeline.capacity()));
+        }
+        int unacked = outboxLog.unackedCount();
+
+        boolean over = queueRatio >= queueRatioThreshold || unacked >= maxUnacked;
+        boolean recovered = queueRatio < queueRatioThreshold * recoverRatio && unacked < maxUnacked * recoverRatio;
+        if (over) {
+            shedding = true;
+        } else if (recovered) {
+            shedding = false;
+        }
+
+        Health.Builder builder = shedding ? Health.outOfService() : Health.up();
+        return builder
+            .withDetail("queues", queues)
+            .withDetail("queueRatio", Math.round(queueRatio * 1000) / 1000.0)
+            .withDetail("queueRatioThreshold", queueRatioThreshold)
+            .withDetail("unacked", unacked)
+            .withDetail("maxUnacked", maxUnacked)
+            .build();
+    }
+
+    /**
+     * @return the queue's fill ratio
+     */
+    private static double queue(Map<String, Map<String, Integer>> queues, String name, int depth, int capacity) {
+        queues.put(name, Map.of("queued", depth, "capacity", capacity));
+        return capacity == 0 ? 0 : (double) depth / capacity;
+    }
+}
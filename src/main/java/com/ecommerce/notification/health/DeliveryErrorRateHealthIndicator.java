@@ -0,0 +1,60 @@
+package com.ecommerce.notification.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.metrics.OutcomeWindow;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reports {@code DOWN} when a channel's deliveries mostly failed over the recent error window.
+ * Channels with fewer than {@code min-attempts} attempts in the window are not judged. The state of each
+ * channel's circuit breaker is included in the details.
+ */
+@Component
+public class DeliveryErrorRateHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private NotificationMetrics metrics;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Value("${notification.health.error-rate.threshold:0.5}")
+    private double threshold;
+
+    @Value("${notification.health.error-rate.min-attempts:20}")
+    private int minAttempts;
+
+    @Override
+    public Health health() {
+        boolean failing = false;
+        Map<String, Object> channels = new LinkedHashMap<>();
+        for (DeliveryChannel channel : DeliveryChannel.values()) {
+            OutcomeWindow.Snapshot recent = metrics.recent(channel);
+            boolean channelFailing = recent.attempts() >= minAttempts && recent.errorRate() >= threshold;
+            failing |= channelFailing;
+            channels.put(channel.name().toLowerCase(Locale.ROOT), Map.of(
+                "attempts", recent.attempts(),
+                "failures", recent.failures(),
+                "errorRate", Math.round(recent.errorRate() * 1000) / 1000.0,
+                "status", channelFailing ? "DOWN" : "UP",
+                "circuit", notificationDispatcher.circuitState(channel).name()
+            ));
+        }
+        Health.Builder builder = failing ? Health.down() : Health.up();
+        return builder
+            .withDetail("threshold", threshold)
+            .withDetail("channels", channels)
+            .build();
+    }
+}
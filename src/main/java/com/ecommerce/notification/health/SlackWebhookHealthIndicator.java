@@ -0,0 +1,105 @@
+package com.ecommerce.notification.health;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks that the Slack webhook host answers HTTP, without posting a message.
+ * <p>
+ * The probe is a {@code HEAD} request: any response means the host is reachable, even though Slack
+ * rejects the method, except 502, 503 and 504, which a gateway sends when Slack itself is unavailable.
+ * Its result is cached for {@code cache-ttl-ms}, and only one probe runs at a time; concurrent checks
+ * get the previous result. Health scrapes from many load balancer nodes therefore cost at most one
+ * request per interval and never use the Slack delivery connection pool.
+ * The URL is not included in the details, as it is a secret.
+ */
+@Component
+public class SlackWebhookHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(SlackWebhookHealthIndicator.class);
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    @Value("${slack.webhook.url}")
+    private String slackWebhookUrl;
+
+    @Value("${notification.health.webhook.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    @Value("${notification.health.webhook.timeout-ms:2000}")
+    private long timeoutMs;
+
+    private HttpClient httpClient;
+    private URI webhook;
+
+    private volatile Health cached;
+    private volatile long checkedAt;
+
+    @PostConstruct
+    public void start() {
+        webhook = URI.create(slackWebhookUrl);
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    @Override
+    public Health health() {
+        Health last = cached;
+        if (last != null && System.nanoTime() - checkedAt < TimeUnit.MILLISECONDS.toNanos(cacheTtlMs)) {
+            return last;
+        }
+        if (!probing.compareAndSet(false, true)) {
+            return last != null ? last : Health.unknown().withDetail("host", webhook.getHost()).build();
+        }
+        try {
+            Health health = probe();
+            checkedAt = System.nanoTime();
+            cached = health;
+            return health;
+        } finally {
+            probing.set(false);
+        }
+    }
+
+    private Health probe() {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(webhook)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .timeout(Duration.ofMillis(timeoutMs))
+            .build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            Health.Builder builder = status >= 502 && status <= 504 ? Health.down() : Health.up();
+            return builder
+                .withDetail("host", webhook.getHost())
+                .withDetail("status", status)
+                .withDetail("latencyMs", Duration.ofNanos(System.nanoTime() - start).toMillis())
+                .build();
+        } catch (IOException e) {
+            log.debug("Slack webhook probe failed", e);
+            return Health.down()
+                .withDetail("host", webhook.getHost())
+                .withDetail("error", e.toString())
+                .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.unknown().withDetail("host", webhook.getHost()).build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.notification.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.mail.PooledJavaMailSender;
+
+/**
+ * Reports {@code DOWN} when the SMTP pool keeps failing to open connections.
+ * <p>
+ * The check is passive: it reads the pool's own state and never connects to the server, so a health
+ * scrape cannot use up a session that a send is waiting for.
+ */
+@Component
+public class SmtpPoolHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private PooledJavaMailSender mailSender;
+
+    @Value("${notification.health.smtp.max-connect-failures:3}")
+    private int maxConnectFailures;
+
+    @Override
+    public Health health() {
+        int failures = mailSender.consecutiveConnectFailures();
+        Health.Builder builder = failures >= maxConnectFailures ? Health.down() : Health.up();
+        builder
+            .withDetail("active", mailSender.activeConnections())
+            .withDetail("idle", mailSender.idleConnections())
+            .withDetail("max", mailSender.maxConnections())
+            .withDetail("waiting", mailSender.waitingForConnection())
+            .withDetail("consecutiveConnectFailures", failures);
+        String lastFailure = mailSender.lastConnectFailure();
+        if (failures > 0 && lastFailure != null) {
+            builder.withDetail("lastConnectFailure", lastFailure);
+        }
+        return builder.build();
+    }
+}
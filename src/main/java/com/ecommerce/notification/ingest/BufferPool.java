@@ -0,0 +1,53 @@
+package com.ecommerce.notification.ingest;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of fixed-size byte arrays.
+ * <p>
+ * {@link #acquire()} never blocks: when the pool is empty a new array is allocated, and arrays released
+ * into a full pool are left to the garbage collector. The pool therefore only caps how much memory is
+ * kept around between bursts, not how much a burst may use.
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<byte[]> idle;
+
+    /**
+     * @param bufferSize bytes per buffer
+     * @param maxIdle    buffers kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxIdle) {
+        if (bufferSize <= 0 || maxIdle <= 0) {
+            throw new IllegalArgumentException("Buffer size and pool size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = idle.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not use it afterwards.
+     */
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            idle.offer(buffer);
+        }
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Buffers waiting in the pool.
+     */
+    public int idle() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.notification.ingest;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@code @RequestBody byte[]} webhook payloads straight from the request stream into the array the
+ * outbox, the duplicate check and the parser then share.
+ * <p>
+ * Spring's own converter reads through {@link InputStream#readNBytes(int)}, which collects the body in
+ * 8 KiB pieces and copies them into the result, so every body is allocated twice. With a
+ * {@code Content-Length} this converter allocates the result once, at its final size, and reads into
+ * it. Chunked bodies are read into buffers from a {@link BufferPool}, copied once into a result of the
+ * right size, and the buffers go back to the pool before the handler runs. Bodies larger than
+ * {@code maxBytes} are refused with {@code 413} before anything is allocated, or as soon as a chunked
+ * body goes over.
+ */
+public class PayloadHttpMessageConverter extends ByteArrayHttpMessageConverter {
+
+    private final BufferPool bufferPool;
+    private final int maxBytes;
+
+    public PayloadHttpMessageConverter(BufferPool bufferPool, int maxBytes) {
+        this.bufferPool = bufferPool;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public byte[] readInternal(Class<? extends byte[]> clazz, HttpInputMessage inputMessage) throws IOException {
+        long length = inputMessage.getHeaders().getContentLength();
+        if (length > maxBytes) {
+            throw tooLarge();
+        }
+        InputStream body = inputMessage.getBody();
+        if (length >= 0) {
+            byte[] payload = new byte[(int) length];
+            int read = body.readNBytes(payload, 0, payload.length);
+            if (read < payload.length) {
+                throw new HttpMessageNotReadableException(
+                    "Request body ended after " + read + " of " + length + " bytes", inputMessage);
+            }
+            return payload;
+        }
+        return readChunked(body);
+    }
+
+    private byte[] readChunked(InputStream body) throws IOException {
+        List<byte[]> buffers = new ArrayList<>(4);
+        try {
+            int total = 0;
+            int filled;
+            do {
+                byte[] buffer = bufferPool.acquire();
+                buffers.add(buffer);
+                filled = body.readNBytes(buffer, 0, buffer.length);
+                total += filled;
+                if (total > maxBytes) {
+                    throw tooLarge();
+                }
+            } while (filled == bufferPool.bufferSize());
+            byte[] payload = new byte[total];
+            int offset = 0;
+            for (byte[] buffer : buffers) {
+                int count = Math.min(buffer.length, total - offset);
+                System.arraycopy(buffer, 0, payload, offset, count);
+                offset += count;
+            }
+            return payload;
+        } finally {
+            buffers.forEach(bufferPool::release);
+        }
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Request body is larger than " + maxBytes + " bytes");
+    }
+}
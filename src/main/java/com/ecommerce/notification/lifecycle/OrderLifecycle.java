@@ -0,0 +1,364 @@
+package com.ecommerce.notification.lifecycle;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.cluster.ClusterForwarder;
+import com.ecommerce.notification.cluster.ClusterMembership;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.RetryPolicy;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.event.OrderStatusChange;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.reminder.PickupReminders;
+import com.ecommerce.notification.scheduling.TimerWheel;
+import com.ecommerce.notification.service.OrderNotificationService;
+import com.ecommerce.notification.service.SlackNotificationService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the status of each order from its status webhooks and tells Slack and email about changes.
+ * <p>
+ * Each order is a small state machine ({@link OrderStatus#canMoveTo}). A webhook whose version is not
+ * newer than the last one applied is stale and dropped, so redelivered and reordered webhooks cannot
+ * move an order backwards. A change opens a {@code coalesce-window-ms} window; further changes within
+ * it only replace the pending status, and when the window closes each channel is told the latest
+ * status once, or nothing if it already knows it. An order that reaches {@code CANCELLED} or
+ * {@code DELIVERED} also loses its pickup reminder.
+ * <p>
+ * Orders are forgotten {@code retention-ms} after their last webhook. When clustering is enabled, each
+ * order is tracked by the replica that owns it and webhooks received elsewhere are forwarded there.
+ */
+@Component
+public class OrderLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLifecycle.class);
+
+    /**
+     * What became of a status webhook.
+     */
+    public enum Outcome {
+        /**
+         * The order moved to the new status; the channels will be told once the window closes.
+         */
+        APPLIED,
+        /**
+         * The order moved to the new status, replacing one the channels had not been told about yet.
+         */
+        COALESCED,
+        /**
+         * A newer version of the order with the same status; nothing to tell.
+         */
+        UNCHANGED,
+        /**
+         * Not newer than the last webhook applied; dropped.
+         */
+        STALE,
+        /**
+         * Newer, but a move the order cannot make, e.g. out of {@code CANCELLED}; dropped.
+         */
+        REJECTED
+    }
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private SlackNotificationService slackNotificationService;
+
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Autowired
+    private PickupReminders pickupReminders;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    @Autowired
+    private TimerWheel deliveryTimer;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ClusterForwarder clusterForwarder;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Value("${notification.status.channels:slack,email}")
+    private String[] channelNames;
+
+    @Value("${notification.status.coalesce-window-ms:2000}")
+    private long coalesceWindowMs;
+
+    @Value("${notification.status.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${notification.status.max-orders:200000}")
+    private int maxOrders;
+
+    @Value("${notification.status.senders:2}")
+    private int senders;
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private Set<DeliveryChannel> channels;
+    private ExecutorService sender;
+
+    @PostConstruct
+    void start() {
+        channels = EnumSet.noneOf(DeliveryChannel.class);
+        for (String name : channelNames) {
+            if (!name.isBlank()) {
+                channels.add(DeliveryChannel.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(Math.max(senders, 1), runnable -> {
+            Thread thread = new Thread(runnable, "status-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Applies a status webhook here, or on the replica that owns the order.
+     *
+     * @throws IllegalArgumentException  if the payload is not a status webhook
+     * @throws DeliveryRejectedException if too many orders are tracked already
+     */
+    public Outcome accept(byte[] payload) {
+        OrderStatusChange change = parse(payload);
+        if (clusterMembership.enabled()) {
+            String owner = clusterMembership.owner(clusterMembership.partitionBy() == ClusterMembership.PartitionBy.ORDER
+                ? change.orderId() : ClusterMembership.tenantKey(change.order()));
+            if (!clusterMembership.isSelf(owner)) {
+                Optional<Outcome> forwarded = clusterForwarder.forwardStatus(owner, payload);
+                if (forwarded.isPresent()) {
+                    return forwarded.get();
+                }
+            }
+        }
+        return apply(change);
+    }
+
+    /**
+     * Applies a status webhook on this replica whoever owns the order; used for webhooks forwarded by another replica.
+     */
+    public Outcome acceptLocal(byte[] payload) {
+        return apply(parse(payload));
+    }
+
+    Outcome apply(OrderStatusChange change) {
+        Outcome outcome;
+        boolean startWindow = false;
+        Tracker tracker;
+        while (true) {
+            tracker = trackers.get(change.orderId());
+            if (tracker == null) {
+                if (trackers.size() >= maxOrders) {
+                    throw new DeliveryRejectedException("Tracking the status of " + trackers.size() + " orders already");
+                }
+                Tracker created = new Tracker(change.orderId());
+                tracker = trackers.putIfAbsent(change.orderId(), created);
+                if (tracker == null) {
+                    tracker = created;
+                    expireLater(tracker, retentionMs);
+                }
+            }
+            synchronized (tracker) {
+                if (tracker.forgotten) {
+                    continue;
+                }
+                tracker.touchedAt = System.nanoTime();
+                if (tracker.status != null && change.version() <= tracker.version) {
+                    outcome = Outcome.STALE;
+                } else if (tracker.status == change.status()) {
+                    tracker.version = change.version();
+                    tracker.order = change.order();
+                    outcome = Outcome.UNCHANGED;
+                } else if (tracker.status != null && !tracker.status.canMoveTo(change.status())) {
+                    outcome = Outcome.REJECTED;
+                } else {
+                    tracker.status = change.status();
+                    tracker.version = change.version();
+                    tracker.order = change.order();
+                    outcome = tracker.windowOpen ? Outcome.COALESCED : Outcome.APPLIED;
+                    startWindow = !tracker.windowOpen;
+                    tracker.windowOpen = true;
+                }
+            }
+            break;
+        }
+        metrics.recordStatusChange(outcome);
+        if (outcome == Outcome.APPLIED || outcome == Outcome.COALESCED) {
+            // Not held back by the window: a cancelled order must not be reminded of in the meantime
+            pickupReminders.onStatusChange(change.orderId(), change.status());
+        }
+        if (startWindow) {
+            notifyLater(tracker, Duration.ofMillis(coalesceWindowMs));
+        }
+        if (outcome == Outcome.STALE || outcome == Outcome.REJECTED) {
+            log.debug("Dropped {} status {} (version {}) for order {}", outcome, change.status(), change.version(),
+                change.orderId());
+        }
+        return outcome;
+    }
+
+    /**
+     * @return the status last applied to an order, if it is tracked
+     */
+    public Optional<OrderStatus> status(String orderId) {
+        Tracker tracker = trackers.get(orderId);
+        if (tracker == null) {
+            return Optional.empty();
+        }
+        synchronized (tracker) {
+            return Optional.ofNullable(tracker.status);
+        }
+    }
+
+    public int tracked() {
+        return trackers.size();
+    }
+
+    private void notifyLater(Tracker tracker, Duration delay) {
+        // Expired timeouts run on the wheel thread, so the sends are handed to the senders
+        deliveryTimer.schedule(() -> sender.execute(() -> notifyChannels(tracker)), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tells every channel that does not know it yet the latest status, then closes the window, or opens
+     * another one if the status changed while sending or a send is to be retried.
+     */
+    private void notifyChannels(Tracker tracker) {
+        OrderEvent order;
+        OrderStatus status;
+        Set<DeliveryChannel> pending = EnumSet.noneOf(DeliveryChannel.class);
+        synchronized (tracker) {
+            order = tracker.order;
+            status = tracker.status;
+            for (DeliveryChannel channel : channels) {
+                if (tracker.notified.getOrDefault(channel, OrderStatus.PENDING) != status) {
+                    pending.add(channel);
+                }
+            }
+        }
+        Duration retryIn = null;
+        for (DeliveryChannel channel : pending) {
+            try {
+                send(channel, order, status);
+            } catch (RuntimeException e) {
+                int attempt;
+                synchronized (tracker) {
+                    attempt = ++tracker.attempts;
+                }
+                Optional<Duration> delay = retryPolicy.nextDelay(attempt, e);
+                if (delay.isPresent()) {
+                    log.debug("Status update for order {} failed on {}, retrying in {}ms", order.orderId(), channel,
+                        delay.get().toMillis());
+                    retryIn = retryIn == null || delay.get().compareTo(retryIn) < 0 ? delay.get() : retryIn;
+                    continue;
+                }
+                log.error("Giving up on the {} status update for order {} on {} after {} attempts", status,
+                    order.orderId(), channel, attempt, e);
+            }
+            synchronized (tracker) {
+                tracker.notified.put(channel, status);
+            }
+        }
+        synchronized (tracker) {
+            if (retryIn != null) {
+                notifyLater(tracker, retryIn);
+                return;
+            }
+            tracker.attempts = 0;
+            if (tracker.status != status) {
+                notifyLater(tracker, Duration.ofMillis(coalesceWindowMs));
+                return;
+            }
+            tracker.windowOpen = false;
+        }
+    }
+
+    private void send(DeliveryChannel channel, OrderEvent order, OrderStatus status) {
+        switch (channel) {
+            case SLACK -> slackNotificationService.sendStatusUpdate(order, status);
+            case EMAIL -> orderNotificationService.sendStatusUpdate(order, status);
+        }
+    }
+
+    private void expireLater(Tracker tracker, long delayMs) {
+        deliveryTimer.schedule(() -> expire(tracker), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void expire(Tracker tracker) {
+        synchronized (tracker) {
+            long idleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tracker.touchedAt);
+            if (idleMs < retentionMs || tracker.windowOpen) {
+                expireLater(tracker, Math.max(retentionMs - idleMs, coalesceWindowMs));
+                return;
+            }
+            tracker.forgotten = true;
+        }
+        trackers.remove(tracker.orderId, tracker);
+    }
+
+    private OrderStatusChange parse(byte[] payload) {
+        long start = System.nanoTime();
+        try {
+            return orderEventParser.parseStatusChange(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Payload is not valid JSON", e);
+        } finally {
+            metrics.recordParse(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The state of one order; guarded by its own monitor.
+     */
+    private static final class Tracker {
+
+        private final String orderId;
+        private final Map<DeliveryChannel, OrderStatus> notified = new EnumMap<>(DeliveryChannel.class);
+        private OrderEvent order;
+        private OrderStatus status;
+        private long version;
+        private boolean windowOpen;
+        private int attempts;
+        private long touchedAt = System.nanoTime();
+        private boolean forgotten;
+
+        private Tracker(String orderId) {
+            this.orderId = orderId;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.notification.mail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.metrics.NotificationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects mail from concurrent delivery workers and sends it in bursts, one
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call per burst, so a whole burst shares one
+ * pooled SMTP session.
+ * <p>
+ * At most {@code max-pending} mails wait for or are part of a burst; further submits block the
+ * calling sender until a burst has gone out, so a slow SMTP server backs up into the email bulkhead.
+ */
+@Component
+public class MailBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailBatcher.class);
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private NotificationMetrics metrics;
+
+    @Value("${notification.mail.batch.max-size:50}")
+    private int maxBatchSize;
+
+    @Value("${notification.mail.batch.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${notification.mail.batch.senders:4}")
+    private int senders;
+
+    @Value("${notification.mail.batch.max-pending:1000}")
+    private int maxPending;
+
+    private final BlockingQueue<PendingMail> queue = new LinkedBlockingQueue<>();
+    private Semaphore pendingPermits;
+    private final List<Thread> senderThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        pendingPermits = new Semaphore(Math.max(maxPending, 1));
+        running = true;
+        for (int i = 1; i <= senders; i++) {
+            Thread thread = new Thread(this::sendLoop, "mail-batcher-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            senderThreads.add(thread);
+        }
+    }
+
+    /**
+     * Mails waiting for a burst.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Mails that may be queued or in a burst at once before {@link #submit} blocks.
+     */
+    public int capacity() {
+        return maxPending;
+    }
+
+    /**
+     * Queues the message; the returned future completes once the burst containing it has been sent.
+     * Blocks while {@code max-pending} mails are already queued or being sent.
+     */
+    public CompletableFuture<Void> submit(SimpleMailMessage message) throws MailException {
+        try {
+            pendingPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for room in the mail queue", e);
+        }
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        sent.whenComplete((ignored, error) -> pendingPermits.release());
+        if (!running) {
+            sent.completeExceptionally(new MailSendException("Mail batcher stopped"));
+            return sent;
+        }
+        queue.add(new PendingMail(message, sent));
+        return sent;
+    }
+
+    /**
+     * Queues the message and blocks until the burst containing it has been sent.
+     */
+    public void send(SimpleMailMessage message) throws MailException {
+        try {
+            submit(message).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for mail delivery", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MailException mailException) {
+                throw mailException;
+            }
+            throw new MailSendException("Mail delivery failed", e.getCause());
+        }
+    }
+
+    private void sendLoop() {
+        List<PendingMail> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give workers that are formatting their mail right now a moment to join this burst
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    PendingMail next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingMail> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(PendingMail::message).toArray(SimpleMailMessage[]::new);
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);
+            metrics.recordOutbound(NotificationMetrics.Client.SMTP, true, System.nanoTime() - start);
+            batch.forEach(pending -> pending.sent().complete(null));
+            log.debug("Sent a burst of {} mails", batch.size());
+        } catch (MailSendException e) {
+            metrics.recordOutbound(NotificationMetrics.Client.SMTP, false, System.nanoTime() - start);
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingMail pending : batch) {
+                Exception cause = failed.get(pending.message());
+                if (cause == null && !failed.isEmpty()) {
+                    pending.sent().complete(null);
+                } else {
+                    pending.sent().completeExceptionally(cause == null ? e : new MailSendException("Failed to send mail", cause));
+                }
+            }
+        } catch (RuntimeException e) {
+            metrics.recordOutbound(NotificationMetrics.Client.SMTP, false, System.nanoTime() - start);
+            log.error("Failed to send a burst of {} mails", batch.size(), e);
+            batch.forEach(pending -> pending.sent().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        senderThreads.forEach(Thread::interrupt);
+        PendingMail pending;
+        while ((pending = queue.poll()) != null) {
+            pending.sent().completeExceptionally(new MailSendException("Mail batcher stopped"));
+        }
+    }
+
+    private record PendingMail(SimpleMailMessage message, CompletableFuture<Void> sent) {
+    }
+}
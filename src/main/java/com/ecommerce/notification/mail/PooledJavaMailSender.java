@@ -0,0 +1,273 @@
+package com.ecommerce.notification.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps authenticated SMTP {@link Transport} connections open and
+ * reuses them across sends, instead of paying connect, STARTTLS and AUTH for every message.
+ * <p>
+ * At most {@code maxConnections} sessions are open at a time. Idle connections are closed after
+ * {@code idleTimeout}; a connection that drops mid-send is replaced and the message retried once. A
+ * message that still fails is reported in the {@link MailSendException} without failing the rest of
+ * the burst.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final int maxConnections;
+    private final Semaphore permits;
+    private final long idleTimeoutNanos;
+    private final long validateAfterNanos;
+    private final long acquireTimeoutMs;
+    private final ScheduledExecutorService evictor;
+
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong connectionsReused = new AtomicLong();
+    private final AtomicInteger consecutiveConnectFailures = new AtomicInteger();
+    private volatile String lastConnectFailure;
+
+    public PooledJavaMailSender(int maxConnections, Duration idleTimeout, Duration validateAfter, Duration acquireTimeout) {
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.validateAfterNanos = validateAfter.toNanos();
+        this.acquireTimeoutMs = acquireTimeout.toMillis();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport pooled;
+        try {
+            pooled = borrow();
+        } catch (MessagingException ex) {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+            }
+            throw new MailSendException("Mail server connection failed", ex, failedMessages);
+        }
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    prepare(mimeMessage);
+                    if (pooled == null) {
+                        // Reconnecting for an earlier message failed; try again for this one
+                        pooled = open();
+                    }
+                    try {
+                        sendMessage(pooled, mimeMessage);
+                    } catch (MessagingException | IllegalStateException ex) {
+                        // A closed SMTPTransport throws IllegalStateException rather than MessagingException
+                        if (pooled.transport().isConnected()) {
+                            throw ex;
+                        }
+                        // The server dropped the session (idle timeout, network blip): reconnect and retry once
+                        log.debug("SMTP connection lost, reconnecting", ex);
+                        close(pooled);
+                        pooled = null;
+                        pooled = open();
+                        sendMessage(pooled, mimeMessage);
+                    }
+                } catch (MessagingException | RuntimeException ex) {
+                    // Recorded per message, so the ones already sent are not reported as failed and sent again
+                    failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+                }
+            }
+        } finally {
+            release(pooled);
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private static void sendMessage(PooledTransport pooled, MimeMessage message) throws MessagingException {
+        Address[] addresses = message.getAllRecipients();
+        pooled.transport().sendMessage(message, addresses != null ? addresses : new Address[0]);
+    }
+
+    private void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                long idleFor = System.nanoTime() - pooled.releasedAt();
+                if (idleFor < idleTimeoutNanos && (idleFor < validateAfterNanos || pooled.transport().isConnected())) {
+                    connectionsReused.incrementAndGet();
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return open();
+        } catch (MessagingException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the connection to the pool, or closes it if it is no longer usable; {@code null} if the
+     * send lost its connection and could not open another one.
+     */
+    private void release(PooledTransport pooled) {
+        try {
+            if (pooled == null) {
+                return;
+            }
+            if (pooled.transport().isConnected()) {
+                idle.offerFirst(new PooledTransport(pooled.transport(), System.nanoTime()));
+            } else {
+                close(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Transport transport;
+        try {
+            transport = connectTransport();
+        } catch (MessagingException | RuntimeException ex) {
+            consecutiveConnectFailures.incrementAndGet();
+            lastConnectFailure = ex.toString();
+            throw ex;
+        }
+        consecutiveConnectFailures.set(0);
+        connectionsOpened.incrementAndGet();
+        return new PooledTransport(transport, System.nanoTime());
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport().close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP connection", ex);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle for longer than the idle timeout, oldest first.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && now - oldest.releasedAt() >= idleTimeoutNanos) {
+            if (idle.removeLastOccurrence(oldest)) {
+                close(oldest);
+            }
+        }
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Connections currently checked out by a send.
+     */
+    public int activeConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /**
+     * Sends waiting for a connection because all of them are checked out.
+     */
+    public int waitingForConnection() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Connection attempts that failed since the last one that succeeded.
+     */
+    public int consecutiveConnectFailures() {
+        return consecutiveConnectFailures.get();
+    }
+
+    /**
+     * @return the error of the most recent failed connection attempt, or {@code null} if none failed
+     */
+    public String lastConnectFailure() {
+        return lastConnectFailure;
+    }
+
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    public long connectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long connectionsReused() {
+        return connectionsReused.get();
+    }
+
+    @Override
+    public void destroy() {
+        evictor.shutdownNow();
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.notification.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.cluster.ClusterMembership;
+import com.ecommerce.notification.deadletter.DeadLetterStore;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryQueue;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.delivery.VirtualThreadPinningMonitor;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.lifecycle.OrderLifecycle;
+import com.ecommerce.notification.mail.MailBatcher;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.reminder.PickupReminders;
+import com.ecommerce.notification.template.FragmentCache;
+import com.ecommerce.notification.template.NotificationTemplates;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Queue depth and in-flight gauges, sampled on every scrape rather than tracked on the hot path.
+ */
+@Component
+public class DeliveryGauges implements MeterBinder {
+
+    @Autowired
+    private DeliveryQueue deliveryQueue;
+
+    @Autowired
+    private ObjectProvider<ReactiveDeliveryPipeline> reactiveDeliveryPipeline;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private MailBatcher mailBatcher;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private PickupReminders pickupReminders;
+
+    @Autowired
+    private OrderLifecycle orderLifecycle;
+
+    @Autowired
+    private NotificationTemplates notificationTemplates;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.queue.depth", deliveryQueue, DeliveryQueue::depth)
+            .description("Deliveries waiting for a worker")
+            .tag("queue", "delivery")
+            .register(registry);
+        Gauge.builder("notification.queue.capacity", deliveryQueue, DeliveryQueue::capacity)
+            .tag("queue", "delivery")
+            .register(registry);
+        Gauge.builder("notification.queue.in_flight", deliveryQueue, DeliveryQueue::inFlight)
+            .description("Deliveries started and not yet confirmed or failed")
+            .tag("queue", "delivery")
+            .register(registry);
+        Gauge.builder("notification.retries.scheduled", deliveryQueue, DeliveryQueue::scheduledRetries)
+            .description("Deliveries waiting on the timer wheel for their next attempt")
+            .register(registry);
+        Gauge.builder("notification.queue.depth", mailBatcher, MailBatcher::pending)
+            .tag("queue", "smtp")
+            .register(registry);
+        Gauge.builder("notification.queue.capacity", mailBatcher, MailBatcher::capacity)
+            .tag("queue", "smtp")
+            .register(registry);
+        Gauge.builder("notification.outbox.unacked", outboxLog, OutboxLog::unackedCount)
+            .description("Accepted notifications not delivered yet")
+            .register(registry);
+        Gauge.builder("notification.outbox.segments", outboxLog, OutboxLog::segmentCount)
+            .register(registry);
+        Gauge.builder("notification.dead_letters", deadLetterStore, DeadLetterStore::size)
+            .description("Notifications that exhausted their attempts and wait to be replayed or discarded")
+            .register(registry);
+        Gauge.builder("notification.cluster.members.live", clusterMembership, ClusterMembership::liveMembers)
+            .description("Replicas this one sees on the hash ring, itself included")
+            .register(registry);
+        Gauge.builder("notification.reminders.pending", pickupReminders, PickupReminders::pending)
+            .description("Pickup reminders waiting for their orders' pickup time")
+            .register(registry);
+        Gauge.builder("notification.status.tracked", orderLifecycle, OrderLifecycle::tracked)
+            .description("Orders whose status is being tracked")
+            .register(registry);
+        FunctionCounter.builder("notification.threads.pinned", virtualThreadPinningMonitor,
+                VirtualThreadPinningMonitor::mailPinnedEvents)
+            .description("Virtual threads pinned to their carrier for longer than the pinning threshold")
+            .tag("library", "javamail")
+            .register(registry);
+        FunctionCounter.builder("notification.threads.pinned", virtualThreadPinningMonitor,
+                VirtualThreadPinningMonitor::otherPinnedEvents)
+            .tag("library", "other")
+            .register(registry);
+
+        for (Map.Entry<String, FragmentCache> entry : notificationTemplates.fragmentCaches().entrySet()) {
+            FragmentCache cache = entry.getValue();
+            FunctionCounter.builder("notification.template.fragments.gets", cache, FragmentCache::hits)
+                .description("Loop elements looked up in the template's fragment cache")
+                .tag("template", entry.getKey())
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("notification.template.fragments.gets", cache, FragmentCache::misses)
+                .tag("template", entry.getKey())
+                .tag("result", "miss")
+                .register(registry);
+            FunctionCounter.builder("notification.template.fragments.evictions", cache, FragmentCache::evictions)
+                .tag("template", entry.getKey())
+                .register(registry);
+            Gauge.builder("notification.template.fragments.hit_ratio", cache, FragmentCache::hitRatio)
+                .description("Share of loop elements copied from the fragment cache instead of rendered")
+                .tag("template", entry.getKey())
+                .register(registry);
+            Gauge.builder("notification.template.fragments.size", cache, FragmentCache::size)
+                .tag("template", entry.getKey())
+                .register(registry);
+        }
+
+        for (DeliveryChannel channel : notificationDispatcher.channels()) {
+            String channelTag = channel.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("notification.circuit.state", notificationDispatcher,
+                    dispatcher -> dispatcher.circuitState(channel).ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("channel", channelTag)
+                .register(registry);
+            Gauge.builder("notification.bulkhead.active", notificationDispatcher, dispatcher -> dispatcher.bulkheadActive(channel))
+                .description("Sends holding a slot of the channel's bulkhead until the channel confirms them")
+                .tag("channel", channelTag)
+                .register(registry);
+            Gauge.builder("notification.bulkhead.queued", notificationDispatcher, dispatcher -> dispatcher.bulkheadQueued(channel))
+                .tag("channel", channelTag)
+                .register(registry);
+        }
+
+        ReactiveDeliveryPipeline pipeline = reactiveDeliveryPipeline.getIfAvailable();
+        if (pipeline != null) {
+            Gauge.builder("notification.queue.depth", pipeline, ReactiveDeliveryPipeline::depth)
+                .tag("queue", "reactive")
+                .register(registry);
+            Gauge.builder("notification.queue.capacity", pipeline, ReactiveDeliveryPipeline::capacity)
+                .tag("queue", "reactive")
+                .register(registry);
+            Gauge.builder("notification.queue.in_flight", pipeline, ReactiveDeliveryPipeline::inFlight)
+                .tag("queue", "reactive")
+                .register(registry);
+        }
+    }
+}
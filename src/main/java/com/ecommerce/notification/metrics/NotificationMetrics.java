@@ -0,0 +1,178 @@
+package com.ecommerce.notification.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.lifecycle.OrderLifecycle;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and counters for the notification hot path.
+ * <p>
+ * Every meter is registered up front and looked up by ordinal, so recording is a plain
+ * {@code Timer.record(long, TimeUnit)} or {@code Counter.increment()} without tag or map allocation.
+ * Timers keep an HDR histogram for client-side percentiles (p50, p95, p99) and publish histogram
+ * buckets, so Prometheus can aggregate percentiles across instances too.
+ */
+public class NotificationMetrics {
+
+    private static final DeliveryChannel[] CHANNELS = DeliveryChannel.values();
+
+    private static final NotificationMetrics NOOP = new NotificationMetrics(new CompositeMeterRegistry());
+
+    /**
+     * How a delivery attempt ended. Throttled attempts were held back by the local rate limiter and
+     * never reached the destination.
+     */
+    public enum Outcome {
+        SUCCESS, FAILURE, THROTTLED;
+
+        public static Outcome of(Throwable error) {
+            if (error == null) {
+                return SUCCESS;
+            }
+            return DeliveryException.find(error).map(DeliveryException::isThrottled).orElse(false) ? THROTTLED : FAILURE;
+        }
+    }
+
+    /**
+     * Outbound round trips: one Slack webhook POST, one SMTP burst, or one order forwarded to its owning replica.
+     */
+    public enum Client {
+        SLACK, SMTP, PEER
+    }
+
+    private final Timer parse;
+    private final Timer[] render = new Timer[CHANNELS.length];
+    private final Timer[][] send = new Timer[CHANNELS.length][Outcome.values().length];
+    private final Counter[][] deliveries = new Counter[CHANNELS.length][Outcome.values().length];
+    private final Counter[] retries = new Counter[CHANNELS.length];
+    private final Counter[] abandoned = new Counter[CHANNELS.length];
+    private final Timer[][] outbound = new Timer[Client.values().length][2];
+    private final OutcomeWindow[] recent = new OutcomeWindow[CHANNELS.length];
+    private final Counter[] statusChanges = new Counter[OrderLifecycle.Outcome.values().length];
+
+    public NotificationMetrics(MeterRegistry registry) {
+        this(registry, Duration.ofMinutes(1));
+    }
+
+    /**
+     * @param errorWindow how far back {@link #recent(DeliveryChannel)} looks
+     */
+    public NotificationMetrics(MeterRegistry registry, Duration errorWindow) {
+        parse = timer("notification.parse", "Parsing an order webhook into an event")
+            .register(registry);
+        for (DeliveryChannel channel : CHANNELS) {
+            String channelTag = tag(channel);
+            render[channel.ordinal()] = timer("notification.render", "Rendering a notification from its template")
+                .tag("channel", channelTag)
+                .register(registry);
+            for (Outcome outcome : Outcome.values()) {
+                send[channel.ordinal()][outcome.ordinal()] = timer("notification.send",
+                        "Handing a notification to its channel until it is delivered, including batching")
+                    .tag("channel", channelTag)
+                    .tag("outcome", tag(outcome))
+                    .register(registry);
+                deliveries[channel.ordinal()][outcome.ordinal()] = Counter.builder("notification.deliveries")
+                    .description("Delivery attempts by outcome")
+                    .tag("channel", channelTag)
+                    .tag("outcome", tag(outcome))
+                    .register(registry);
+            }
+            retries[channel.ordinal()] = Counter.builder("notification.retries")
+                .description("Failed deliveries scheduled for another attempt")
+                .tag("channel", channelTag)
+                .register(registry);
+            abandoned[channel.ordinal()] = Counter.builder("notification.abandoned")
+                .description("Deliveries given up after the last attempt; they are moved to the dead-letter store")
+                .tag("channel", channelTag)
+                .register(registry);
+            recent[channel.ordinal()] = new OutcomeWindow(errorWindow, 12);
+        }
+        for (Client client : Client.values()) {
+            for (int success = 0; success < 2; success++) {
+                outbound[client.ordinal()][success] = timer("notification.outbound",
+                        "Outbound round trip to Slack, the SMTP server or another replica")
+                    .tag("client", tag(client))
+                    .tag("outcome", success == 1 ? "success" : "error")
+                    .register(registry);
+            }
+        }
+        for (OrderLifecycle.Outcome outcome : OrderLifecycle.Outcome.values()) {
+            statusChanges[outcome.ordinal()] = Counter.builder("notification.status.changes")
+                .description("Order status webhooks by what became of them")
+                .tag("outcome", tag(outcome))
+                .register(registry);
+        }
+    }
+
+    /**
+     * Metrics that are not recorded anywhere, for components created outside the application context.
+     */
+    public static NotificationMetrics noop() {
+        return NOOP;
+    }
+
+    public void recordParse(long nanos) {
+        parse.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRender(DeliveryChannel channel, long nanos) {
+        render[channel.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one delivery attempt: its duration and its outcome.
+     */
+    public void recordSend(DeliveryChannel channel, Outcome outcome, long nanos) {
+        send[channel.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        deliveries[channel.ordinal()][outcome.ordinal()].increment();
+        if (outcome != Outcome.THROTTLED) {
+            recent[channel.ordinal()].record(outcome == Outcome.FAILURE);
+        }
+    }
+
+    /**
+     * Attempts that reached the destination over the error window, and how many of them failed.
+     * Throttled attempts are not counted.
+     */
+    public OutcomeWindow.Snapshot recent(DeliveryChannel channel) {
+        return recent[channel.ordinal()].snapshot();
+    }
+
+    public void retried(DeliveryChannel channel) {
+        retries[channel.ordinal()].increment();
+    }
+
+    public void abandoned(DeliveryChannel channel) {
+        abandoned[channel.ordinal()].increment();
+    }
+
+    public void recordOutbound(Client client, boolean success, long nanos) {
+        outbound[client.ordinal()][success ? 1 : 0].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStatusChange(OrderLifecycle.Outcome outcome) {
+        statusChanges[outcome.ordinal()].increment();
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1_000))
+            .maximumExpectedValue(Duration.ofSeconds(60));
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.notification.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delivery attempts and failures over the last {@code window}, kept in a ring of fixed-size buckets.
+ * <p>
+ * Cumulative Micrometer counters cannot tell a failure from a minute ago apart from one last week;
+ * this window only remembers recent attempts, for health checks. A bucket is reset by the first
+ * attempt recorded after it expires, so recording is a few atomic operations and never allocates.
+ * Counts racing with that reset may be lost, which is fine for an error rate.
+ */
+public class OutcomeWindow {
+
+    private final int buckets;
+    private final long bucketNanos;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray attempts;
+    private final AtomicLongArray failures;
+
+    public OutcomeWindow(Duration window, int buckets) {
+        this.buckets = buckets;
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.epochs = new AtomicLongArray(buckets);
+        this.attempts = new AtomicLongArray(buckets);
+        this.failures = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void record(boolean failed) {
+        record(failed, System.nanoTime());
+    }
+
+    void record(boolean failed, long now) {
+        long epoch = Math.floorDiv(now, bucketNanos);
+        int index = (int) Math.floorMod(epoch, (long) buckets);
+        long current = epochs.get(index);
+        if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+            attempts.set(index, 0);
+            failures.set(index, 0);
+        }
+        attempts.incrementAndGet(index);
+        if (failed) {
+            failures.incrementAndGet(index);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return snapshot(System.nanoTime());
+    }
+
+    Snapshot snapshot(long now) {
+        long epoch = Math.floorDiv(now, bucketNanos);
+        long totalAttempts = 0;
+        long totalFailures = 0;
+        for (int i = 0; i < buckets; i++) {
+            long age = epoch - epochs.get(i);
+            if (age >= 0 && age < buckets) {
+                totalAttempts += attempts.get(i);
+                totalFailures += failures.get(i);
+            }
+        }
+        return new Snapshot(totalAttempts, totalFailures);
+    }
+
+    public record Snapshot(long attempts, long failures) {
+
+        public double errorRate() {
+            return attempts == 0 ? 0 : (double) failures / attempts;
+        }
+    }
+}
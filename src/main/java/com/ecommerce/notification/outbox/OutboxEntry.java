@@ -0,0 +1,9 @@
+package com.ecommerce.notification.outbox;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+/**
+ * An accepted webhook payload recorded in the outbox and not yet acknowledged as delivered.
+ */
+public record OutboxEntry(long sequence, DeliveryChannel channel, String orderId, byte[] payload) {
+}
@@ -0,0 +1,361 @@
+package com.ecommerce.notification.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Durable write-ahead log of accepted notifications, stored as a directory of memory-mapped segments.
+ * <p>
+ * Appends are made durable by a single flusher thread that forces the active segment once per batch
+ * (group commit), so concurrent webhooks share one disk sync instead of paying one each. Delivered
+ * entries are acknowledged with an ACK record; segments are deleted oldest-first once every entry in
+ * them has been acknowledged.
+ */
+public class OutboxLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLog.class);
+
+    private static final byte APPEND = 1;
+    private static final byte ACK = 2;
+    private static final int ACK_BODY_SIZE = 1 + Long.BYTES;
+    private static final DeliveryChannel[] CHANNELS = DeliveryChannel.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final int maxBatch;
+    private final long compactionIntervalNanos;
+
+    private final ConcurrentSkipListMap<Long, OutboxSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<Long, OutboxSegment> owners = new ConcurrentHashMap<>();
+    private OutboxSegment active;
+    private long nextSequence = 1;
+    private long nextSegmentId = 1;
+
+    private List<OutboxEntry> recovered = List.of();
+    private List<Waiter> waiting = new ArrayList<>();
+    private boolean dirty;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public OutboxLog(Path directory, int segmentSize, Duration flushInterval, int maxBatch, Duration compactionInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBatch = maxBatch;
+        this.compactionIntervalNanos = compactionInterval.toNanos();
+    }
+
+    /**
+     * Recovers existing segments and starts the flusher. Entries that were accepted but never
+     * acknowledged are kept for {@link #takeRecovered()}.
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(OutboxSegment::isSegmentFile).sorted().toList();
+        }
+
+        Map<Long, OutboxEntry> pending = new LinkedHashMap<>();
+        for (Path file : files) {
+            OutboxSegment segment = OutboxSegment.open(file);
+            segments.put(segment.id(), segment);
+            segment.recover(body -> recoverRecord(segment, body, pending));
+            active = segment;
+            nextSegmentId = segment.id() + 1;
+        }
+        if (active == null) {
+            roll();
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "outbox-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        log.info("Outbox opened at {} with {} segment(s) and {} unacknowledged entries",
+            directory, segments.size(), pending.size());
+        recovered = new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Hands over the entries recovered by {@link #open()}, in append order. Subsequent calls return an empty list.
+     */
+    public synchronized List<OutboxEntry> takeRecovered() {
+        List<OutboxEntry> entries = recovered;
+        recovered = List.of();
+        return entries;
+    }
+
+    private void recoverRecord(OutboxSegment segment, ByteBuffer body, Map<Long, OutboxEntry> pending) {
+        byte type = body.get();
+        long sequence = body.getLong();
+        nextSequence = Math.max(nextSequence, sequence + 1);
+        if (type == APPEND) {
+            DeliveryChannel channel = CHANNELS[body.get()];
+            byte[] orderId = new byte[body.getShort()];
+            body.get(orderId);
+            byte[] payload = new byte[body.getInt()];
+            body.get(payload);
+            pending.put(sequence, new OutboxEntry(sequence, channel, new String(orderId, StandardCharsets.UTF_8), payload));
+            segment.unacked().incrementAndGet();
+            owners.put(sequence, segment);
+        } else if (type == ACK && pending.remove(sequence) != null) {
+            owners.remove(sequence).unacked().decrementAndGet();
+        }
+    }
+
+    /**
+     * Appends an entry; the returned future completes with its sequence once it has been synced to disk.
+     */
+    public CompletableFuture<Long> append(DeliveryChannel channel, String orderId, byte[] payload) {
+        byte[] id = orderId.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + Long.BYTES + 1 + Short.BYTES + id.length + Integer.BYTES + payload.length;
+        if (OutboxSegment.HEADER_SIZE + bodyLength > segmentSize) {
+            throw new IllegalArgumentException("Payload of " + payload.length + " bytes exceeds the outbox segment size");
+        }
+
+        synchronized (this) {
+            ensureRoom(bodyLength);
+            long sequence = nextSequence++;
+            active.append(bodyLength, body -> body
+                .put(APPEND)
+                .putLong(sequence)
+                .put((byte) channel.ordinal())
+                .putShort((short) id.length)
+                .put(id)
+                .putInt(payload.length)
+                .put(payload));
+            active.unacked().incrementAndGet();
+            owners.put(sequence, active);
+            Waiter waiter = new Waiter(sequence, new CompletableFuture<>());
+            waiting.add(waiter);
+            if (waiting.size() == 1 || waiting.size() >= maxBatch) {
+                notifyAll();
+            }
+            return waiter.future();
+        }
+    }
+
+    /**
+     * Appends an entry and blocks until it is durable.
+     *
+     * @return the sequence to acknowledge once the entry has been delivered
+     */
+    public long appendAndSync(DeliveryChannel channel, String orderId, byte[] payload, Duration timeout) {
+        return appendAndSync(List.of(channel), orderId, payload, timeout).get(0);
+    }
+
+    /**
+     * Appends one entry per channel for the same payload and blocks until all of them are durable.
+     * The entries are appended back to back, so they normally share a single sync.
+     *
+     * @return the sequences to acknowledge, in the order of {@code channels}
+     */
+    public List<Long> appendAndSync(List<DeliveryChannel> channels, String orderId, byte[] payload, Duration timeout) {
+        List<CompletableFuture<Long>> appended = new ArrayList<>(channels.size());
+        for (DeliveryChannel channel : channels) {
+            appended.add(append(channel, orderId, payload));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Long> sequences = new ArrayList<>(channels.size());
+        try {
+            for (CompletableFuture<Long> entry : appended) {
+                sequences.add(entry.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return sequences;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(appended);
+            throw new IllegalStateException("Interrupted while waiting for outbox sync", e);
+        } catch (ExecutionException e) {
+            discard(appended);
+            throw new UncheckedIOException("Outbox sync failed", asIOException(e.getCause()));
+        } catch (TimeoutException e) {
+            discard(appended);
+            throw new UncheckedIOException(new IOException("Outbox sync did not complete within " + timeout));
+        }
+    }
+
+    /**
+     * Acknowledges appended entries as soon as they are synced, for a caller that stopped waiting for
+     * them and reported the webhook as failed. The sender retries it, so the entries must not be
+     * replayed on the next start as well.
+     */
+    public void discard(List<CompletableFuture<Long>> appended) {
+        appended.forEach(entry -> entry.thenAccept(this::ack));
+    }
+
+    /**
+     * Marks an entry as delivered; repeated acks are ignored. ACK records are synced with the next
+     * group commit, so losing one in a crash only causes a redelivery.
+     */
+    public void ack(long sequence) {
+        OutboxSegment owner = owners.remove(sequence);
+        if (owner == null) {
+            return;
+        }
+        synchronized (this) {
+            ensureRoom(ACK_BODY_SIZE);
+            active.append(ACK_BODY_SIZE, body -> body.put(ACK).putLong(sequence));
+            dirty = true;
+        }
+        owner.unacked().decrementAndGet();
+    }
+
+    private void ensureRoom(int bodyLength) {
+        if (!active.hasRoom(bodyLength)) {
+            active.force();
+            roll();
+        }
+    }
+
+    private void roll() {
+        try {
+            OutboxSegment segment = OutboxSegment.create(directory, nextSegmentId++, segmentSize);
+            segments.put(segment.id(), segment);
+            active = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create outbox segment", e);
+        }
+    }
+
+    private void flushLoop() {
+        long lastCompaction = System.nanoTime();
+        while (running) {
+            List<Waiter> batch;
+            boolean acksPending;
+            OutboxSegment segment;
+            synchronized (this) {
+                try {
+                    if (waiting.isEmpty() && !dirty) {
+                        wait(TimeUnit.NANOSECONDS.toMillis(compactionIntervalNanos) + 1);
+                    }
+                    // Linger briefly so that requests arriving together share the sync
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    while (running && !waiting.isEmpty() && waiting.size() < maxBatch) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                batch = waiting;
+                waiting = new ArrayList<>();
+                acksPending = dirty;
+                dirty = false;
+                segment = active;
+            }
+
+            if (!batch.isEmpty() || acksPending) {
+                try {
+                    segment.force();
+                    batch.forEach(Waiter::complete);
+                } catch (RuntimeException e) {
+                    log.error("Outbox sync failed for {} pending entries", batch.size(), e);
+                    batch.forEach(waiter -> waiter.future().completeExceptionally(e));
+                }
+            }
+
+            if (System.nanoTime() - lastCompaction >= compactionIntervalNanos) {
+                compact();
+                lastCompaction = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Deletes fully acknowledged segments, oldest first, stopping at the first one that still has
+     * pending entries so that recovery never loses an ACK for a live entry.
+     *
+     * @return the number of segments removed
+     */
+    public int compact() {
+        int removed = 0;
+        for (OutboxSegment segment : segments.values()) {
+            synchronized (this) {
+                if (segment == active || segment.unacked().get() > 0) {
+                    break;
+                }
+                segments.remove(segment.id());
+            }
+            try {
+                segment.delete();
+                removed++;
+            } catch (IOException e) {
+                log.warn("Could not delete outbox segment {}", segment, e);
+            }
+        }
+        if (removed > 0) {
+            log.debug("Outbox compaction removed {} segment(s)", removed);
+        }
+        return removed;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public int unackedCount() {
+        return owners.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        synchronized (this) {
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            for (OutboxSegment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+            waiting.forEach(Waiter::complete);
+        }
+    }
+
+    private record Waiter(long sequence, CompletableFuture<Long> future) {
+
+        void complete() {
+            future.complete(sequence);
+        }
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+}
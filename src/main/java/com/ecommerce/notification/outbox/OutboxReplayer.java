@@ -0,0 +1,76 @@
+package com.ecommerce.notification.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryQueue;
+import com.ecommerce.notification.delivery.DeliveryTask;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Redelivers outbox entries that were accepted before the last shutdown but never acknowledged.
+ * Runs in the background so the service can take new webhooks while the backlog drains.
+ */
+@Component
+public class OutboxReplayer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxReplayer.class);
+
+    @Autowired
+    private OutboxLog outboxLog;
+
+    @Autowired
+    private DeliveryQueue deliveryQueue;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Value("${notification.outbox.replay-backoff-ms:50}")
+    private long replayBackoffMs;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<OutboxEntry> entries = outboxLog.takeRecovered();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Thread replay = new Thread(() -> replay(entries), "outbox-replay");
+        replay.setDaemon(true);
+        replay.start();
+    }
+
+    private void replay(List<OutboxEntry> entries) {
+        log.info("Replaying {} unacknowledged outbox entries", entries.size());
+        try {
+            for (OutboxEntry entry : entries) {
+                OrderEvent event;
+                try {
+                    event = orderEventParser.parse(entry.payload());
+                } catch (IOException | IllegalArgumentException e) {
+                    // Only validated payloads are appended, so this is a damaged entry; replaying it again will not help
+                    log.error("Dropping unreadable outbox entry {} for order {}", entry.sequence(), entry.orderId(), e);
+                    outboxLog.ack(entry.sequence());
+                    continue;
+                }
+                DeliveryTask task = new DeliveryTask(entry.sequence(), entry.channel(), event, entry.payload());
+                // The queue is shared with live traffic, so wait for room instead of dropping the entry
+                while (!deliveryQueue.offer(task)) {
+                    Thread.sleep(replayBackoffMs);
+                }
+            }
+            log.info("Outbox replay finished");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Outbox replay interrupted; remaining entries will be replayed on the next start");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.notification.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, append-only file of the outbox log.
+ * <p>
+ * Records are framed as {@code [int bodyLength][int crc32c][body]}. A zero length or a checksum
+ * mismatch marks the end of the valid data, which is how a torn write after a crash is detected.
+ */
+final class OutboxSegment {
+
+    static final int HEADER_SIZE = 8;
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+
+    private final long id;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger unacked = new AtomicInteger();
+
+    private OutboxSegment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static OutboxSegment create(Path directory, long id, int size) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, id, SUFFIX));
+        return map(id, file, size);
+    }
+
+    static OutboxSegment open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long id = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        return map(id, file, (int) Files.size(file));
+    }
+
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static OutboxSegment map(long id, Path file, int size) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new OutboxSegment(id, file, channel, buffer);
+    }
+
+    long id() {
+        return id;
+    }
+
+    AtomicInteger unacked() {
+        return unacked;
+    }
+
+    boolean hasRoom(int bodyLength) {
+        return buffer.remaining() >= HEADER_SIZE + bodyLength;
+    }
+
+    /**
+     * Appends one record: {@code writer} fills the body, then the header is written last so a
+     * partially written record never passes the checksum on recovery.
+     */
+    void append(int bodyLength, Consumer<ByteBuffer> writer) {
+        int start = buffer.position();
+        ByteBuffer body = buffer.slice(start + HEADER_SIZE, bodyLength);
+        writer.accept(body);
+        CRC32C crc = new CRC32C();
+        crc.update(body.rewind());
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, bodyLength);
+        buffer.position(start + HEADER_SIZE + bodyLength);
+    }
+
+    /**
+     * Feeds every valid record body to {@code visitor} and leaves the write position after the last one.
+     */
+    void recover(Consumer<ByteBuffer> visitor) {
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(0);
+        CRC32C crc = new CRC32C();
+        while (reader.remaining() >= HEADER_SIZE) {
+            int start = reader.position();
+            int length = reader.getInt();
+            int checksum = reader.getInt();
+            if (length <= 0 || length > reader.remaining()) {
+                reader.position(start);
+                break;
+            }
+            ByteBuffer body = reader.slice(reader.position(), length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                reader.position(start);
+                break;
+            }
+            visitor.accept(body);
+            reader.position(reader.position() + length);
+        }
+        buffer.position(reader.position());
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Closes and removes the file. The mapping itself is released when the buffer is collected.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public String toString() {
+        return file.getFileName().toString();
+    }
+}
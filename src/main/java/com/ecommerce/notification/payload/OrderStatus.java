@@ -1,5 +1,22 @@
 package com.ecommerce.notification.payload;
 
 public enum OrderStatus {
-    PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED
+    PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED;
+
+    /**
+     * Orders only move forward: an order can be cancelled until it ships, and nothing follows
+     * {@code DELIVERED} or {@code CANCELLED}.
+     */
+    public boolean canMoveTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next != PENDING;
+            case CONFIRMED -> next == SHIPPED || next == DELIVERED || next == CANCELLED;
+            case SHIPPED -> next == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    public boolean isFinal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
 }
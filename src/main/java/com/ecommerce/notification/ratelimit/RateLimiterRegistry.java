@@ -0,0 +1,59 @@
+package com.ecommerce.notification.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link TokenBucket} per outbound destination: each Slack webhook URL and each SMTP account
+ * is throttled on its own.
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${notification.rate-limit.slack.permits-per-second:1}")
+    private double slackPermitsPerSecond;
+
+    @Value("${notification.rate-limit.slack.burst:3}")
+    private int slackBurst;
+
+    @Value("${notification.rate-limit.email.permits-per-second:5}")
+    private double emailPermitsPerSecond;
+
+    @Value("${notification.rate-limit.email.burst:20}")
+    private int emailBurst;
+
+    public RateLimiterRegistry() {
+    }
+
+    public RateLimiterRegistry(double slackPermitsPerSecond, int slackBurst, double emailPermitsPerSecond, int emailBurst) {
+        this.slackPermitsPerSecond = slackPermitsPerSecond;
+        this.slackBurst = slackBurst;
+        this.emailPermitsPerSecond = emailPermitsPerSecond;
+        this.emailBurst = emailBurst;
+    }
+
+    /**
+     * @return {@code 0} when a permit was taken, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(DeliveryChannel channel, String destination) {
+        return bucket(channel, destination).tryAcquire();
+    }
+
+    public void pause(DeliveryChannel channel, String destination, long nanos) {
+        bucket(channel, destination).pause(nanos);
+    }
+
+    private TokenBucket bucket(DeliveryChannel channel, String destination) {
+        return buckets.computeIfAbsent(channel + "|" + destination, key -> switch (channel) {
+            case SLACK -> new TokenBucket(slackPermitsPerSecond, slackBurst);
+            case EMAIL -> new TokenBucket(emailPermitsPerSecond, emailBurst);
+        });
+    }
+}
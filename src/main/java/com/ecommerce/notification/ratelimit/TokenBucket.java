@@ -0,0 +1,56 @@
+package com.ecommerce.notification.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * Implemented as the generic cell rate algorithm: the whole bucket state is one "theoretical
+ * arrival time" updated with a CAS, so concurrent senders never block each other.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond sustained rate
+     * @param burst            permits that may be taken at once after an idle period
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(burst, 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return {@code 0} when the permit was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now - burstNanos) + intervalNanos;
+            long wait = next - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Withholds all permits for {@code nanos}, e.g. after the destination answered with Retry-After.
+     */
+    public void pause(long nanos) {
+        // Next permit is granted exactly at now + nanos, with no burst credit on top
+        long resumeAt = System.nanoTime() + nanos - intervalNanos;
+        theoreticalArrival.accumulateAndGet(resumeAt, Math::max);
+    }
+}
@@ -0,0 +1,310 @@
+package com.ecommerce.notification.reminder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.RetryPolicy;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.outbox.OutboxEntry;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.scheduling.TimerWheel;
+import com.ecommerce.notification.service.SlackNotificationService;
+import com.ecommerce.notification.template.OrderTemplateModel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posts an "order ready for pickup" reminder to Slack when an accepted order reaches its pickup time.
+ * <p>
+ * Reminders wait on a timer wheel of their own with a one-second tick, so hundreds of thousands of
+ * them cost one small object each and are added and cancelled in O(1). Each reminder is also written
+ * to an outbox log in {@code notification.reminders.directory} and acknowledged once it is sent or
+ * cancelled, so pending reminders are scheduled again after a restart. Reminders that could not be
+ * sent within {@code max-lateness-ms} of their due time are dropped rather than posted late.
+ */
+@Component
+public class PickupReminders implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PickupReminders.class);
+
+    @Autowired
+    private SlackNotificationService slackNotificationService;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    @Value("${notification.reminders.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notification.reminders.directory:data/reminders}")
+    private String directory;
+
+    @Value("${notification.reminders.segment-size:16777216}")
+    private int segmentSize;
+
+    @Value("${notification.reminders.max-pending:500000}")
+    private int maxPending;
+
+    @Value("${notification.reminders.max-lateness-ms:900000}")
+    private long maxLatenessMs;
+
+    @Value("${notification.reminders.timer-tick-ms:1000}")
+    private long timerTickMs;
+
+    @Value("${notification.reminders.timer-wheel-size:512}")
+    private int timerWheelSize;
+
+    @Value("${notification.reminders.senders:2}")
+    private int senders;
+
+    private final Map<String, Reminder> reminders = new ConcurrentHashMap<>();
+    private final AtomicInteger sent = new AtomicInteger();
+    private OutboxLog reminderLog;
+    private TimerWheel timer;
+    private ExecutorService sender;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        reminderLog = new OutboxLog(Path.of(directory), segmentSize, Duration.ofMillis(10), 256, Duration.ofSeconds(60));
+        reminderLog.open();
+        timer = new TimerWheel("pickup-reminder-timer", Duration.ofMillis(timerTickMs), timerWheelSize);
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(Math.max(senders, 1), runnable -> {
+            Thread thread = new Thread(runnable, "pickup-reminder-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Pickup reminders enabled, stored in {}", directory);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        // Unsent reminders stay in the log and are scheduled again on the next start
+        timer.close();
+        sender.shutdownNow();
+        reminderLog.close();
+    }
+
+    /**
+     * Schedules the pickup reminder for a newly accepted order. An order is only reminded of once, whichever
+     * channels it was accepted on. Never throws: the order has been accepted already, and a reminder that
+     * cannot be scheduled, e.g. while shutting down, must not fail it.
+     *
+     * @param payload the order webhook, stored so the reminder survives a restart
+     */
+    public void register(OrderEvent event, byte[] payload) {
+        if (!enabled || event.orderId().isEmpty() || reminders.containsKey(event.orderId())) {
+            return;
+        }
+        Instant due = OrderTemplateModel.pickupDue(event);
+        if (due == null || tooLate(due)) {
+            log.debug("No pickup reminder for order {}: due at {}", event.orderId(), due);
+            return;
+        }
+        if (reminders.size() >= maxPending) {
+            log.warn("{} pickup reminders pending; none scheduled for order {}", reminders.size(), event.orderId());
+            return;
+        }
+        Reminder reminder = new Reminder(event, due);
+        if (reminders.putIfAbsent(event.orderId(), reminder) != null) {
+            return;
+        }
+        try {
+            schedule(reminder, Duration.between(Instant.now(), due));
+            reminderLog.append(DeliveryChannel.SLACK, event.orderId(), payload).whenComplete((sequence, error) -> {
+                if (error != null) {
+                    log.warn("Could not store the pickup reminder for order {}; it will not survive a restart",
+                        event.orderId(), error);
+                } else {
+                    reminder.stored(sequence);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The timer wheel and the log refuse new work once they are closed
+            cancel(event.orderId());
+            log.warn("Could not schedule the pickup reminder for order {}", event.orderId(), e);
+        }
+    }
+
+    /**
+     * Cancels the reminder of an order that will not be picked up, or already was.
+     */
+    public void onStatusChange(String orderId, OrderStatus status) {
+        if (status == OrderStatus.CANCELLED || status == OrderStatus.DELIVERED) {
+            cancel(orderId);
+        }
+    }
+
+    /**
+     * @return whether the order had a pending reminder
+     */
+    public boolean cancel(String orderId) {
+        Reminder reminder = reminders.remove(orderId);
+        if (reminder == null) {
+            return false;
+        }
+        reminder.cancelled = true;
+        TimerWheel.Timeout timeout = reminder.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        reminder.settle();
+        log.debug("Cancelled the pickup reminder for order {}", orderId);
+        return true;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public int pending() {
+        return reminders.size();
+    }
+
+    public int sent() {
+        return sent.get();
+    }
+
+    /**
+     * Schedules the reminders that were pending at the last shutdown.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        List<OutboxEntry> entries = reminderLog.takeRecovered();
+        int restored = 0;
+        for (OutboxEntry entry : entries) {
+            OrderEvent event;
+            try {
+                event = orderEventParser.parse(entry.payload());
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Dropping unreadable pickup reminder {} for order {}", entry.sequence(), entry.orderId(), e);
+                reminderLog.ack(entry.sequence());
+                continue;
+            }
+            Instant due = OrderTemplateModel.pickupDue(event);
+            Reminder reminder = new Reminder(event, due);
+            reminder.stored(entry.sequence());
+            if (due == null || tooLate(due) || reminders.putIfAbsent(event.orderId(), reminder) != null) {
+                reminder.settle();
+                continue;
+            }
+            schedule(reminder, Duration.between(Instant.now(), due));
+            restored++;
+        }
+        if (!entries.isEmpty()) {
+            log.info("Restored {} of {} stored pickup reminders", restored, entries.size());
+        }
+    }
+
+    private void schedule(Reminder reminder, Duration delay) {
+        // Expired timeouts run on the wheel thread, so the Slack call is handed to the senders
+        reminder.timeout = timer.schedule(() -> sender.execute(() -> send(reminder)),
+            Math.max(delay.toMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    private void send(Reminder reminder) {
+        if (reminder.cancelled) {
+            return;
+        }
+        String orderId = reminder.event.orderId();
+        if (tooLate(reminder.due)) {
+            log.warn("Dropping the pickup reminder for order {}: it was due at {}", orderId, reminder.due);
+            finish(reminder);
+            return;
+        }
+        reminder.attempts++;
+        try {
+            slackNotificationService.sendPickupReminder(reminder.event);
+            sent.incrementAndGet();
+            finish(reminder);
+        } catch (RuntimeException e) {
+            Optional<Duration> retryIn = retryPolicy.nextDelay(reminder.attempts, e);
+            if (retryIn.isPresent() && !reminder.cancelled) {
+                log.debug("Pickup reminder for order {} failed, retrying in {}ms", orderId, retryIn.get().toMillis());
+                schedule(reminder, retryIn.get());
+            } else {
+                log.error("Giving up on the pickup reminder for order {} after {} attempts", orderId, reminder.attempts, e);
+                finish(reminder);
+            }
+        }
+    }
+
+    private void finish(Reminder reminder) {
+        reminders.remove(reminder.event.orderId(), reminder);
+        reminder.settle();
+    }
+
+    private boolean tooLate(Instant due) {
+        return Instant.now().isAfter(due.plusMillis(maxLatenessMs));
+    }
+
+    /**
+     * A pending reminder. Its log entry is acknowledged once it is settled and its append has completed,
+     * in whichever order the two happen.
+     */
+    private final class Reminder {
+
+        private final OrderEvent event;
+        private final Instant due;
+        private volatile TimerWheel.Timeout timeout;
+        private volatile boolean cancelled;
+        private int attempts;
+        private long sequence = -1;
+        private boolean settled;
+
+        private Reminder(OrderEvent event, Instant due) {
+            this.event = event;
+            this.due = due;
+        }
+
+        private synchronized void stored(long sequence) {
+            this.sequence = sequence;
+            if (settled) {
+                reminderLog.ack(sequence);
+            }
+        }
+
+        private synchronized void settle() {
+            if (settled) {
+                return;
+            }
+            settled = true;
+            if (sequence >= 0) {
+                reminderLog.ack(sequence);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.notification.routing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-tenant routing table, loaded from {@code notification.routing.file}.
+ * <p>
+ * The file is YAML (or JSON) with a top-level {@code routes} list; see {@link RoutingTable#compile}. It is
+ * checked for changes every {@code reload-interval-ms} and recompiled in the background. A file that fails
+ * to compile is logged and the previous table stays in use; at startup it fails the application instead,
+ * so that a bad deploy is noticed right away. Without a file every order uses {@link Route#DEFAULT}.
+ */
+@Component
+public class NotificationRoutes {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRoutes.class);
+
+    @Value("${notification.routing.file:}")
+    private String file;
+
+    @Value("${notification.routing.reload-interval-ms:2000}")
+    private long reloadIntervalMs;
+
+    private volatile RoutingTable table = RoutingTable.EMPTY;
+    private volatile Instant loadedAt;
+    private FileTime loadedVersion;
+    private ScheduledExecutorService reloader;
+
+    /**
+     * Routes every order to the deployment-wide destinations, for use outside the application context.
+     */
+    public static NotificationRoutes none() {
+        NotificationRoutes routes = new NotificationRoutes();
+        routes.file = "";
+        return routes;
+    }
+
+    @PostConstruct
+    void load() {
+        if (file.isBlank()) {
+            return;
+        }
+        Path path = Path.of(file);
+        try {
+            if (Files.isRegularFile(path)) {
+                loadedVersion = Files.getLastModifiedTime(path);
+                table = compile(path);
+                loadedAt = Instant.now();
+                log.info("Loaded {} notification route(s) from {}", table.size(), path);
+            } else {
+                log.warn("Routing file {} does not exist; every order uses the default destinations", path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read routing file " + path, e);
+        }
+        if (reloadIntervalMs > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "routing-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    public Route resolve(OrderEvent event) {
+        return table.resolve(event.origin());
+    }
+
+    public RoutingTable table() {
+        return table;
+    }
+
+    /**
+     * @return when the current table was loaded from the file, or {@code null} if it never was
+     */
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    void reloadChanged() {
+        Path path = Path.of(file);
+        try {
+            FileTime version = Files.isRegularFile(path) ? Files.getLastModifiedTime(path) : null;
+            if (version == null ? loadedVersion == null : version.equals(loadedVersion)) {
+                return;
+            }
+            // Remember the version even if it does not compile, so a broken file is reported once
+            loadedVersion = version;
+            table = version == null ? RoutingTable.EMPTY : compile(path);
+            loadedAt = Instant.now();
+            log.info("Reloaded {} notification route(s) from {}", table.size(), version == null ? "nothing (file removed)" : path);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not reload routing file {}; keeping the previous routes", path, e);
+        }
+    }
+
+    private static RoutingTable compile(Path path) throws IOException {
+        Object document;
+        try (Reader reader = Files.newBufferedReader(path)) {
+            document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        }
+        if (document == null) {
+            return RoutingTable.EMPTY;
+        }
+        if (!(document instanceof Map<?, ?> root) || !(root.get("routes") instanceof List<?> routes)) {
+            throw new IllegalArgumentException("Routing file " + path + " must have a top-level 'routes' list");
+        }
+        return RoutingTable.compile(routes);
+    }
+}
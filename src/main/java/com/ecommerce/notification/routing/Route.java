@@ -0,0 +1,14 @@
+package com.ecommerce.notification.routing;
+
+import java.util.List;
+
+/**
+ * Where one tenant's order notifications go. {@code null} fields fall back to the deployment-wide
+ * settings ({@code slack.webhook.url}, {@code slack.channel}, {@code notification.mail.to}).
+ *
+ * @param match which routing entry this is, e.g. {@code store=cafe-1}, for logs and diagnostics
+ */
+public record Route(String match, String slackWebhookUrl, String slackChannel, List<String> emailTo) {
+
+    public static final Route DEFAULT = new Route("default", null, null, null);
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.notification.routing;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup index from order origin to {@link Route}.
+ * <p>
+ * Entries match one attribute of the order: its {@code store}, {@code warehouse} or sales
+ * {@code channel}. Each attribute has its own hash map, so resolving an order costs at most three
+ * lookups however many tenants there are. The most specific match wins (store, then warehouse, then
+ * channel); orders that match nothing use {@link Route#DEFAULT}.
+ * <p>
+ * A table is compiled once from the routing file and swapped in whole on reload, so lookups never
+ * lock and never see a half-loaded file.
+ */
+public final class RoutingTable {
+
+    public static final RoutingTable EMPTY = new RoutingTable(Map.of(), Map.of(), Map.of());
+
+    private static final Set<String> MATCH_KEYS = Set.of("store", "warehouse", "channel");
+    private static final Set<String> ROUTE_KEYS = Set.of("slack-webhook-url", "slack-channel", "email-to");
+
+    private final Map<String, Route> byStore;
+    private final Map<String, Route> byWarehouse;
+    private final Map<String, Route> byChannel;
+
+    private RoutingTable(Map<String, Route> byStore, Map<String, Route> byWarehouse, Map<String, Route> byChannel) {
+        this.byStore = byStore;
+        this.byWarehouse = byWarehouse;
+        this.byChannel = byChannel;
+    }
+
+    public Route resolve(OrderEvent.Origin origin) {
+        Route route;
+        if (!origin.store().isEmpty() && (route = byStore.get(origin.store())) != null) {
+            return route;
+        }
+        if (!origin.warehouse().isEmpty() && (route = byWarehouse.get(origin.warehouse())) != null) {
+            return route;
+        }
+        if (!origin.channel().isEmpty() && (route = byChannel.get(origin.channel())) != null) {
+            return route;
+        }
+        return Route.DEFAULT;
+    }
+
+    public int size() {
+        return byStore.size() + byWarehouse.size() + byChannel.size();
+    }
+
+    /**
+     * Compiles routing entries such as
+     * <pre>
+     * - store: cafe-1
+     *   slack-channel: cafe-1--orders
+     *   email-to: [owner@cafe-1.example]
+     * </pre>
+     * Each entry names exactly one of {@code store}, {@code warehouse} or {@code channel}, and at least one of
+     * {@code slack-webhook-url}, {@code slack-channel} or {@code email-to} (a list or a comma-separated string).
+     *
+     * @throws IllegalArgumentException naming the first invalid entry
+     */
+    public static RoutingTable compile(List<?> entries) {
+        Map<String, Route> byStore = new HashMap<>();
+        Map<String, Route> byWarehouse = new HashMap<>();
+        Map<String, Route> byChannel = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (!(entries.get(i) instanceof Map<?, ?> entry)) {
+                throw new IllegalArgumentException("Route " + (i + 1) + " is not a mapping");
+            }
+            try {
+                compileEntry(entry, byStore, byWarehouse, byChannel);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Route " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return new RoutingTable(byStore, byWarehouse, byChannel);
+    }
+
+    private static void compileEntry(Map<?, ?> entry, Map<String, Route> byStore, Map<String, Route> byWarehouse,
+                                     Map<String, Route> byChannel) {
+        String matchKey = null;
+        String matchValue = null;
+        String webhookUrl = null;
+        String slackChannel = null;
+        List<String> emailTo = null;
+        for (Map.Entry<?, ?> field : entry.entrySet()) {
+            String key = String.valueOf(field.getKey());
+            if (MATCH_KEYS.contains(key)) {
+                if (matchKey != null) {
+                    throw new IllegalArgumentException("matches both " + matchKey + " and " + key);
+                }
+                matchKey = key;
+                matchValue = scalar(key, field.getValue());
+            } else if (!ROUTE_KEYS.contains(key)) {
+                throw new IllegalArgumentException("unknown key '" + key + "'");
+            } else if (field.getValue() != null) {
+                switch (key) {
+                    case "slack-webhook-url" -> webhookUrl = webhookUrl(scalar(key, field.getValue()));
+                    case "slack-channel" -> slackChannel = scalar(key, field.getValue());
+                    default -> emailTo = recipients(field.getValue());
+                }
+            }
+        }
+        if (matchKey == null) {
+            throw new IllegalArgumentException("needs one of " + MATCH_KEYS);
+        }
+        if (webhookUrl == null && slackChannel == null && emailTo == null) {
+            throw new IllegalArgumentException("sets none of " + ROUTE_KEYS);
+        }
+        String match = matchKey + "=" + matchValue;
+        Map<String, Route> index = switch (matchKey) {
+            case "store" -> byStore;
+            case "warehouse" -> byWarehouse;
+            default -> byChannel;
+        };
+        if (index.putIfAbsent(matchValue, new Route(match, webhookUrl, slackChannel, emailTo)) != null) {
+            throw new IllegalArgumentException(match + " is routed twice");
+        }
+    }
+
+    private static String scalar(String key, Object value) {
+        if (value instanceof Map || value instanceof List || value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException(key + " must be a non-empty value");
+        }
+        return value.toString().trim();
+    }
+
+    private static String webhookUrl(String value) {
+        String scheme = value.toLowerCase(Locale.ROOT);
+        if (!scheme.startsWith("https://") && !scheme.startsWith("http://")) {
+            throw new IllegalArgumentException("slack-webhook-url must be an http(s) URL");
+        }
+        return value;
+    }
+
+    private static List<String> recipients(Object value) {
+        List<?> items = value instanceof List<?> list ? list : List.of(value.toString().split(","));
+        List<String> recipients = new ArrayList<>(items.size());
+        for (Object item : items) {
+            String address = item == null ? "" : item.toString().trim();
+            if (address.indexOf('@') <= 0) {
+                throw new IllegalArgumentException("'" + address + "' is not an email address");
+            }
+            recipients.add(address);
+        }
+        if (recipients.isEmpty()) {
+            throw new IllegalArgumentException("email-to is empty");
+        }
+        return List.copyOf(recipients);
+    }
+}
@@ -0,0 +1,272 @@
+package com.ecommerce.notification.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for large numbers of timers, from sub-second retries to reminders hours away.
+ * <p>
+ * The first level has {@code wheelSize} buckets of one tick each. Each level above has as many buckets
+ * again, each spanning a whole revolution of the level below, and is only created once a timer needs
+ * it. A timer goes into the lowest level whose range covers its deadline and moves down a level when
+ * the level below reaches its bucket, so a timer due in hours is touched a few times rather than on
+ * every revolution.
+ * <p>
+ * Scheduling and cancelling are O(1) and never block: new timers are handed to the wheel thread
+ * through a lock-free queue and placed in their bucket on the next tick. Expired tasks run on the
+ * wheel thread, so they must be quick, e.g. re-enqueue work somewhere else.
+ */
+public class TimerWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    public TimerWheel(String name, Duration tickDuration, int wheelSize) {
+        this.tickNanos = tickDuration.toNanos();
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.bits = Integer.numberOfTrailingZeros(size);
+        this.mask = size - 1;
+        level(0);
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel is stopped");
+        }
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay)));
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelled();
+            cascade();
+            transferAdditions();
+            levels.get(0)[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        long sleep = deadline - (System.nanoTime() - startTime);
+        while (sleep > 0) {
+            LockSupport.parkNanos(this, sleep);
+            if (!running) {
+                return -1;
+            }
+            sleep = deadline - (System.nanoTime() - startTime);
+        }
+        return deadline;
+    }
+
+    private void transferAdditions() {
+        // Bounded per tick so a burst of schedules cannot stall expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == Timeout.PENDING) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * Puts a timer in the lowest level that reaches its deadline.
+     */
+    private void place(Timeout timeout) {
+        long deadlineTick = Math.max(timeout.deadline / tickNanos, tick);
+        long delta = deadlineTick - tick;
+        int level = 0;
+        while (bits * (level + 2) < Long.SIZE && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        level(level)[(int) ((deadlineTick >>> (bits * level)) & mask)].add(timeout);
+    }
+
+    /**
+     * Moves the timers of every higher-level bucket that starts at this tick down to the levels below.
+     */
+    private void cascade() {
+        for (int level = levels.size() - 1; level > 0; level--) {
+            if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+                levels.get(level)[(int) ((tick >>> (bits * level)) & mask)].drain(this::place);
+            }
+        }
+    }
+
+    private Bucket[] level(int level) {
+        while (levels.size() <= level) {
+            Bucket[] buckets = new Bucket[mask + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level);
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerWheel owner;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimerWheel owner, Runnable task, long deadline) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return {@code false} if the task already ran or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            owner.pending.decrementAndGet();
+            owner.cancellations.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            owner.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Timer task failed", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only touched by the wheel thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Runs every timer in a first-level bucket; they are all due on the current tick.
+         */
+        private void expire() {
+            drain(Timeout::expire);
+        }
+
+        private void drain(Consumer<Timeout> action) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                remove(timeout);
+                if (!timeout.isCancelled()) {
+                    action.accept(timeout);
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
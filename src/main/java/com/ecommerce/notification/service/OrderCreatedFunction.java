@@ -0,0 +1,124 @@
+package com.ecommerce.notification.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.payload.OrderCreatedEvent;
+import com.ecommerce.notification.payload.OrderResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The {@code orderCreated} function, exposed by Spring Cloud Function under {@code spring.cloud.function.web.path}.
+ * <p>
+ * The route takes one event, a JSON array of events or newline-delimited JSON, so the platform can push a
+ * batch of orders in one request. Each event is accepted for every channel and answered with an
+ * {@link OrderResponse} carrying the status its own webhook would have received (202 accepted, 200 duplicate,
+ * 400 invalid, 429 queue full), in input order. Events of a batch are accepted concurrently and so share
+ * outbox syncs.
+ */
+@Component("orderCreated")
+public class OrderCreatedFunction implements Function<Flux<OrderCreatedEvent>, Flux<OrderResponse>> {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCreatedFunction.class);
+
+    private static final DateTimeFormatter CREATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSxxx");
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private ObjectProvider<ReactiveDeliveryPipeline> reactiveDeliveryPipeline;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${notification.function.concurrency:64}")
+    private int concurrency;
+
+    @Override
+    public Flux<OrderResponse> apply(Flux<OrderCreatedEvent> events) {
+        Set<DeliveryChannel> channels = EnumSet.copyOf(notificationDispatcher.channels());
+        ReactiveDeliveryPipeline pipeline = reactiveDeliveryPipeline.getIfAvailable();
+        return events.flatMapSequential(event -> accept(pipeline, channels, event)
+            .map(receipt -> new OrderResponse(receipt.orderId(),
+                (receipt.duplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED).value()))
+            .onErrorResume(error -> Mono.just(new OrderResponse(orderId(event), status(event, error)))), concurrency);
+    }
+
+    private Mono<DeliveryService.Receipt> accept(ReactiveDeliveryPipeline pipeline, Set<DeliveryChannel> channels,
+                                                 OrderCreatedEvent event) {
+        Mono<byte[]> payload = Mono.fromCallable(() -> toWebhookPayload(event));
+        if (pipeline != null) {
+            return payload.flatMap(bytes -> pipeline.accept(channels, bytes));
+        }
+        // The blocking service waits for the outbox sync, so keep it off the caller's thread
+        return payload.map(bytes -> deliveryService.accept(channels, bytes))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Renders the event in the shape of the store's order webhook, which is what the outbox keeps and
+     * the notification templates read.
+     */
+    byte[] toWebhookPayload(OrderCreatedEvent event) throws JsonProcessingException {
+        if (event.getOrderId() == null) {
+            throw new IllegalArgumentException("Event has no orderId");
+        }
+        ObjectNode webhook = objectMapper.createObjectNode().put("__typename", "OrderCreated");
+        ObjectNode order = webhook.putObject("order").put("id", event.getOrderId().toString());
+        if (event.getCreatedAt() != null) {
+            order.put("created", event.getCreatedAt().atOffset(ZoneOffset.UTC).format(CREATED_FORMAT));
+        }
+        if (event.getStatus() != null) {
+            order.put("status", event.getStatus().name());
+        }
+        if (event.getTotalAmount() != null) {
+            order.putObject("total").putObject("gross").put("amount", event.getTotalAmount());
+        }
+        if (event.getUserId() != null) {
+            order.putObject("user").put("id", event.getUserId());
+        }
+        order.putArray("lines");
+        return objectMapper.writeValueAsBytes(webhook);
+    }
+
+    private static int status(OrderCreatedEvent event, Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST.value();
+        }
+        if (error instanceof DeliveryRejectedException) {
+            return HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        log.error("Failed to accept order {} from a function call", orderId(event), error);
+        return HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private static String orderId(OrderCreatedEvent event) {
+        return event.getOrderId() == null ? "" : event.getOrderId().toString();
+    }
+}
@@ -2,74 +2,123 @@ package com.ecommerce.notification.service;
 
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.mail.MailBatcher;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.ratelimit.RateLimiterRegistry;
+import com.ecommerce.notification.routing.NotificationRoutes;
+import com.ecommerce.notification.routing.Route;
+import com.ecommerce.notification.template.NotificationTemplates;
+import com.ecommerce.notification.template.OrderTemplateModel;
+
+import java.util.concurrent.CompletableFuture;
 @Log4j2
 @Service
 public class OrderNotificationService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailBatcher mailBatcher;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private NotificationTemplates notificationTemplates;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiters;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Autowired
+    private NotificationRoutes notificationRoutes = NotificationRoutes.none();
+
+    @Value("${spring.mail.username:}")
+    private String mailAccount;
+
+    @Value("${notification.mail.to:}")
+    private String[] defaultRecipients;
 
     public String sendOrderNotification(String payload) throws Exception {
-        JsonNode root = objectMapper.readTree(payload);
-        JsonNode order = root.path("order");
-
-        String orderId = order.path("id").asText();
-        String created = order.path("created").asText();
-        String buyer = order.path("user").path("firstName").asText();
-
-
-
-        // Build items table with proper formatting
-        StringBuilder itemsTable = new StringBuilder();
-        itemsTable.append("Items Ordered\n");
-        itemsTable.append("Item                           Quantity   Price     \n");
-        itemsTable.append("----                           --------   -----     \n");
-        
-        for (JsonNode line : order.path("lines")) {
-            int quantity = line.path("quantity").asInt();
-            String productName = line.path("variant").path("product").path("name").asText();
-            double price = line.path("variant").path("product").path("price").asDouble(0.0); // Default to 0 if price not available
-            itemsTable.append(String.format("%-30s %-10d $%-8.2f\n", productName, quantity, price));
-        }
-        
-        // Format the timestamp to be more readable
-        String formattedTimestamp = created.replace("T", " ").replace("+00:00", "");
-        
-        // Calculate pickup time (10 minutes from order time)
-        String pickupTime = "20:40"; // You can make this dynamic based on order time
-        
-        String emailText = String.format(
-            "You've received a new order on BulkMagic.\n\n" +
-            "%s\n\n" +
-            "Order Details:\n" +
-            "✓ Order ID: %s\n" +
-            "✓ Placed At: %s\n" +
-            "✓ Buyer: %s\n\n" +
-            "Please prepare this order for pickup by %s.\n\n" +
-            "Thank you,\n" +
-            "BulkMagic Team",
-            itemsTable.toString(),
-            orderId,
-            formattedTimestamp,
-            buyer,
-            pickupTime
-        );
+        return sendOrderNotification(orderEventParser.parse(payload));
+    }
+
+    public String sendOrderNotification(OrderEvent event) throws Exception {
+        SimpleMailMessage message = newMessage(event);
+        acquirePermit();
+        mailBatcher.send(message);
+        return event.orderId();
+    }
+
+    /**
+     * Like {@link #sendOrderNotification(OrderEvent)}, but returns once the mail is queued for
+     * the next SMTP burst; the future completes when it has been sent.
+     */
+    public CompletableFuture<String> queueOrderNotification(OrderEvent event) {
+        SimpleMailMessage message = newMessage(event);
+        acquirePermit();
+        return mailBatcher.submit(message).thenApply(ignored -> event.orderId());
+    }
 
+    /**
+     * Mails an order's new status to the order's recipients.
+     */
+    public String sendStatusUpdate(OrderEvent event, OrderStatus status) {
+        long start = System.nanoTime();
+        String text = notificationTemplates.emailStatus().render(new OrderTemplateModel(event, status));
+        metrics.recordRender(DeliveryChannel.EMAIL, System.nanoTime() - start);
         SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo("william13928005660@gmail.com");
+        message.setTo(recipients(event));
+        message.setSubject("Order Status Update");
+        message.setText(text);
+        acquirePermit();
+        mailBatcher.send(message);
+        return event.orderId();
+    }
+
+    private SimpleMailMessage newMessage(OrderEvent event) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(recipients(event));
         message.setSubject("New Order Notification");
-        message.setText(emailText);
+        message.setText(buildEmailText(event));
+        return message;
+    }
+
+    private String[] recipients(OrderEvent event) {
+        Route route = notificationRoutes.resolve(event);
+        if (route.emailTo() != null) {
+            return route.emailTo().toArray(String[]::new);
+        }
+        if (defaultRecipients == null || defaultRecipients.length == 0) {
+            throw new DeliveryException("No email recipient for order " + event.orderId()
+                + ": set notification.mail.to or route its store", null, false, null);
+        }
+        return defaultRecipients;
+    }
+
+    /**
+     * Stays under the SMTP account's sending quota.
+     */
+    private void acquirePermit() {
+        long wait = rateLimiters.tryAcquire(DeliveryChannel.EMAIL, mailAccount);
+        if (wait > 0) {
+            throw DeliveryException.throttled("SMTP account " + mailAccount, wait);
+        }
+    }
 
-        mailSender.send(message);
-        return orderId;
+    String buildEmailText(OrderEvent event) {
+        long start = System.nanoTime();
+        String text = notificationTemplates.emailOrder().render(new OrderTemplateModel(event));
+        metrics.recordRender(DeliveryChannel.EMAIL, System.nanoTime() - start);
+        return text;
     }
-} 
\ No newline at end of file
+}
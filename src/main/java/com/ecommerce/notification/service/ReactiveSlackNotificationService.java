@@ -0,0 +1,100 @@
+package com.ecommerce.notification.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.ratelimit.RateLimiterRegistry;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Duration;
+
+/**
+ * Posts order notifications to the Slack webhook through a non-blocking {@link WebClient}.
+ * <p>
+ * Messages are rendered and rate limited exactly like {@link SlackNotificationService}, but each order
+ * is posted on its own: digests rely on a blocking batcher and are not used on the reactive path.
+ */
+@Service
+@ConditionalOnProperty(name = "notification.reactive.enabled", havingValue = "true")
+public class ReactiveSlackNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSlackNotificationService.class);
+
+    @Autowired
+    private WebClient slackWebClient;
+
+    @Autowired
+    private SlackNotificationService slackNotificationService;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiters;
+
+    @Autowired
+    private NotificationMetrics metrics;
+
+    /**
+     * @return emits the order id once Slack has accepted the message; fails with a {@link DeliveryException}
+     */
+    public Mono<String> sendOrderNotification(OrderEvent event) {
+        return Mono.defer(() -> {
+            SlackNotificationService.SlackDestination destination = slackNotificationService.destination(event);
+            long wait = rateLimiters.tryAcquire(DeliveryChannel.SLACK, destination.webhookUrl());
+            if (wait > 0) {
+                return Mono.error(DeliveryException.throttled("Slack webhook", wait));
+            }
+            SlackNotificationService.OrderMessage message = slackNotificationService.buildOrderMessage(event);
+            ObjectNode slackPayload = slackNotificationService.newSlackPayload(destination.channel());
+            slackPayload.put("text", message.text());
+            return post(destination.webhookUrl(), slackPayload.toString())
+                .doOnSuccess(response -> log.debug("Slack notification sent successfully for order: {}", message.orderId()))
+                .thenReturn(message.orderId());
+        });
+    }
+
+    private Mono<String> post(String webhookUrl, String body) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return slackWebClient.post()
+                .uri(webhookUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchangeToMono(response -> readResponse(webhookUrl, response))
+                .doOnSuccess(response -> metrics.recordOutbound(NotificationMetrics.Client.SLACK, true, System.nanoTime() - start))
+                .doOnError(error -> metrics.recordOutbound(NotificationMetrics.Client.SLACK, false, System.nanoTime() - start));
+        })
+            .onErrorMap(error -> !(error instanceof DeliveryException),
+                error -> new DeliveryException("Failed to send Slack notification", error, true, null));
+    }
+
+    private Mono<String> readResponse(String webhookUrl, ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.bodyToMono(String.class).defaultIfEmpty("");
+        }
+        if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            Duration retryAfter = SlackNotificationService.retryAfter(response.headers().asHttpHeaders());
+            rateLimiters.pause(DeliveryChannel.SLACK, webhookUrl, retryAfter.toNanos());
+            log.warn("Slack rate limited the webhook, pausing for {}s", retryAfter.toSeconds());
+            return response.createException().flatMap(error -> Mono.error(
+                new DeliveryException("Failed to send Slack notification: rate limited", error, true, retryAfter)));
+        }
+        // Invalid payload or revoked webhook: retrying the same request will not help
+        boolean retryable = !response.statusCode().is4xxClientError();
+        return response.createException().flatMap(error -> {
+            log.error("Slack rejected the notification: {} {}", error.getStatusCode(), error.getResponseBodyAsString());
+            return Mono.error(new DeliveryException("Failed to send Slack notification", error, retryable, null));
+        });
+    }
+}
@@ -0,0 +1,264 @@
+package com.ecommerce.notification.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ecommerce.notification.delivery.DeliveryException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Groups order notifications bound for the same Slack destination into one message.
+ * <p>
+ * A batch is sent when its time window elapses, when it reaches {@code maxOrders}, or when the next
+ * order would push it over the payload or block limit. Batches for the same destination are sent one
+ * at a time, in order, so a webhook never sees two digests at once; different destinations share a
+ * small pool of sender threads and are sent concurrently.
+ */
+class SlackBatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SlackBatcher.class);
+
+    /**
+     * Slack rejects messages with more than 50 blocks; one is reserved for the digest header.
+     */
+    static final int MAX_BLOCKS = 49;
+
+    interface Sender {
+        void send(String destination, List<Entry> entries) throws Exception;
+    }
+
+    record Entry(String orderId, String text, int bytes, int blocks, CompletableFuture<Void> delivered) {
+    }
+
+    private final long windowMs;
+    private final int maxOrders;
+    private final int maxPayloadBytes;
+    private final Sender sender;
+    private final Semaphore pending;
+
+    private final Map<String, Batch> open = new HashMap<>();
+    /**
+     * Batches waiting for the one being sent to the same destination; a destination has an entry
+     * while one of its batches is being sent.
+     */
+    private final Map<String, Queue<Batch>> sending = new HashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService sendExecutor;
+
+    SlackBatcher(Duration window, int maxOrders, int maxPayloadBytes, int maxPending, int senders, Sender sender) {
+        this.windowMs = window.toMillis();
+        this.maxOrders = maxOrders;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.sender = sender;
+        this.pending = new Semaphore(maxPending);
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("slack-batch-timer"));
+        this.sendExecutor = Executors.newFixedThreadPool(Math.max(senders, 1), daemon("slack-batch-sender-", new AtomicInteger()));
+    }
+
+    /**
+     * Adds an order to the open batch for {@code destination}. Blocks while {@code maxPending} orders
+     * are already waiting to be sent.
+     *
+     * @return completes once the message containing the order has been posted
+     */
+    CompletableFuture<Void> add(String destination, String orderId, String text, int bytes, int blocks)
+            throws InterruptedException {
+        pending.acquire();
+        Entry entry = new Entry(orderId, text, bytes, blocks, new CompletableFuture<>());
+        entry.delivered().whenComplete((ignored, error) -> pending.release());
+
+        List<Batch> ready = new ArrayList<>(2);
+        synchronized (open) {
+            Batch batch = open.get(destination);
+            if (batch != null && !batch.fits(entry)) {
+                ready.add(detach(destination));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(destination);
+                open.put(destination, batch);
+                Batch scheduled = batch;
+                batch.timeout = timer.schedule(() -> flush(scheduled), windowMs, TimeUnit.MILLISECONDS);
+            }
+            batch.add(entry);
+            if (batch.entries.size() >= maxOrders) {
+                ready.add(detach(destination));
+            }
+        }
+        ready.forEach(this::send);
+        return entry.delivered();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (open) {
+            if (open.get(batch.destination) != batch) {
+                return;
+            }
+            detach(batch.destination);
+        }
+        send(batch);
+    }
+
+    private Batch detach(String destination) {
+        Batch batch = open.remove(destination);
+        batch.timeout.cancel(false);
+        return batch;
+    }
+
+    /**
+     * Sends the batch, or queues it behind the batch being sent to the same destination.
+     */
+    private void send(Batch batch) {
+        synchronized (sending) {
+            Queue<Batch> waiting = sending.get(batch.destination);
+            if (waiting != null) {
+                waiting.add(batch);
+                return;
+            }
+            sending.put(batch.destination, new ArrayDeque<>());
+        }
+        post(batch);
+    }
+
+    private void post(Batch batch) {
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    sender.send(batch.destination, batch.entries);
+                    batch.entries.forEach(entry -> entry.delivered().complete(null));
+                } catch (DeliveryException e) {
+                    if (e.isThrottled() && retryLater(batch, e)) {
+                        return;
+                    }
+                    fail(batch, e);
+                } catch (Exception e) {
+                    fail(batch, e);
+                }
+                next(batch.destination);
+            });
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+            next(batch.destination);
+        }
+    }
+
+    /**
+     * Keeps the digest together and posts it once the webhook has a permit again; the destination's
+     * next batch waits for it.
+     *
+     * @return {@code false} if the batcher is closing
+     */
+    private boolean retryLater(Batch batch, DeliveryException e) {
+        long waitMs = e.getRetryAfter().map(Duration::toMillis).orElse(windowMs);
+        try {
+            timer.schedule(() -> post(batch), waitMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException closing) {
+            return false;
+        }
+    }
+
+    private void fail(Batch batch, Exception e) {
+        log.error("Failed to send Slack batch of {} orders to {}", batch.entries.size(), batch.destination, e);
+        batch.entries.forEach(entry -> entry.delivered().completeExceptionally(e));
+    }
+
+    /**
+     * Posts the destination's next waiting batch, if any, once the previous one is done.
+     */
+    private void next(String destination) {
+        Batch batch;
+        synchronized (sending) {
+            batch = sending.get(destination).poll();
+            if (batch == null) {
+                sending.remove(destination);
+                sending.notifyAll();
+                return;
+            }
+        }
+        post(batch);
+    }
+
+    /**
+     * Sends whatever is still open and waits for the sends to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        List<Batch> remaining;
+        synchronized (open) {
+            remaining = new ArrayList<>(open.values());
+            remaining.forEach(batch -> detach(batch.destination));
+        }
+        remaining.forEach(this::send);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        synchronized (sending) {
+            // Batches queued behind another one for their destination are only handed to the executor later
+            while (!sending.isEmpty() && deadline - System.nanoTime() > 0) {
+                sending.wait(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+            }
+        }
+        timer.shutdownNow();
+        sendExecutor.shutdown();
+        sendExecutor.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    private final class Batch {
+
+        private final String destination;
+        private final List<Entry> entries = new ArrayList<>();
+        private int bytes;
+        private int blocks;
+        private ScheduledFuture<?> timeout;
+
+        private Batch(String destination) {
+            this.destination = destination;
+        }
+
+        /**
+         * An empty batch always accepts, so an oversized order is still sent on its own.
+         */
+        private boolean fits(Entry entry) {
+            return entries.isEmpty()
+                || (bytes + entry.bytes() <= maxPayloadBytes && blocks + entry.blocks() <= MAX_BLOCKS);
+        }
+
+        private void add(Entry entry) {
+            entries.add(entry);
+            bytes += entry.bytes();
+            blocks += entry.blocks();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory daemon(String prefix, AtomicInteger counter) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
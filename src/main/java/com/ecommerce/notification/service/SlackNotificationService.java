@@ -1,5 +1,7 @@
 package com.ecommerce.notification.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,16 +10,32 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.metrics.NotificationMetrics;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.ratelimit.RateLimiterRegistry;
+import com.ecommerce.notification.routing.NotificationRoutes;
+import com.ecommerce.notification.routing.Route;
+import com.ecommerce.notification.template.NotificationTemplates;
+import com.ecommerce.notification.template.OrderTemplateModel;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class SlackNotificationService {
@@ -30,6 +48,21 @@ public class SlackNotificationService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RateLimiterRegistry rateLimiters;
+
+    @Autowired
+    private OrderEventParser orderEventParser;
+
+    @Autowired
+    private NotificationTemplates notificationTemplates;
+
+    @Autowired
+    private NotificationMetrics metrics = NotificationMetrics.noop();
+
+    @Autowired
+    private NotificationRoutes notificationRoutes = NotificationRoutes.none();
+
     @Value("${slack.webhook.url}")
     private String slackWebhookUrl;
 
@@ -42,158 +75,280 @@ public class SlackNotificationService {
     @Value("${slack.icon-emoji::shopping_cart:}")
     private String slackIconEmoji;
 
+    @Value("${slack.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${slack.batch.window-ms:1000}")
+    private long batchWindowMs;
+
+    @Value("${slack.batch.max-orders:20}")
+    private int batchMaxOrders;
+
+    @Value("${slack.batch.max-payload-bytes:32000}")
+    private int batchMaxPayloadBytes;
+
+    @Value("${slack.batch.max-pending:5000}")
+    private int batchMaxPending;
+
+    @Value("${slack.batch.senders:4}")
+    private int batchSenders;
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * Slack truncates section text beyond this many characters.
+     */
+    private static final int MAX_SECTION_CHARS = 3000;
+
+    private static final DateTimeFormatter TEST_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private SlackBatcher batcher;
+
+    @PostConstruct
+    void startBatcher() {
+        if (batchEnabled) {
+            batcher = new SlackBatcher(Duration.ofMillis(batchWindowMs), batchMaxOrders, batchMaxPayloadBytes,
+                batchMaxPending, batchSenders, this::sendBatch);
+            log.info("Slack batching enabled: window {}ms, up to {} orders per message", batchWindowMs, batchMaxOrders);
+        }
+    }
+
+    @PreDestroy
+    void stopBatcher() throws InterruptedException {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
     public String sendOrderNotification(String payload) throws Exception {
-        log.info("Processing order notification for Slack");
-        
-        JsonNode root = objectMapper.readTree(payload);
-        JsonNode order = root.path("order");
+        return sendOrderNotification(orderEventParser.parse(payload));
+    }
 
-        // Extract order details
-        String orderId = order.path("id").asText();
-        String created = order.path("created").asText();
+    public String sendOrderNotification(OrderEvent event) {
+        SlackDestination destination = destination(event);
+        OrderMessage message = buildOrderMessage(event);
+        sendSlackNotification(destination, message.text());
         
-        // Fix: Extract amount with proper error handling
-        double amount = 0.0;
-        try {
-            JsonNode totalNode = order.path("total").path("gross").path("amount");
-            log.info("Total node: {}", totalNode);
-            if (!totalNode.isMissingNode() && !totalNode.isNull()) {
-                amount = totalNode.asDouble();
-                log.info("Extracted amount: {}", amount);
-            } else {
-                log.warn("Amount node is missing or null");
+        log.debug("Slack notification sent successfully for order: {}", message.orderId());
+        return message.orderId();
+    }
+
+    /**
+     * Posts the pickup reminder for an order to the same destination as its order notification.
+     */
+    public String sendPickupReminder(OrderEvent event) {
+        long start = System.nanoTime();
+        String text = notificationTemplates.slackPickup().render(new OrderTemplateModel(event));
+        metrics.recordRender(DeliveryChannel.SLACK, System.nanoTime() - start);
+        sendSlackNotification(destination(event), text);
+
+        log.debug("Slack pickup reminder sent for order: {}", event.orderId());
+        return event.orderId();
+    }
+
+    /**
+     * Posts an order's new status to the same destination as its order notification.
+     */
+    public String sendStatusUpdate(OrderEvent event, OrderStatus status) {
+        long start = System.nanoTime();
+        String text = notificationTemplates.slackStatus().render(new OrderTemplateModel(event, status));
+        metrics.recordRender(DeliveryChannel.SLACK, System.nanoTime() - start);
+        sendSlackNotification(destination(event), text);
+
+        log.debug("Slack status update {} sent for order: {}", status, event.orderId());
+        return event.orderId();
+    }
+
+    public CompletableFuture<String> queueOrderNotification(String payload) throws Exception {
+        return queueOrderNotification(orderEventParser.parse(payload));
+    }
+
+    /**
+     * Like {@link #sendOrderNotification(OrderEvent)}, but when batching is enabled the order joins the
+     * current digest for its destination and the returned future completes once the digest is posted.
+     */
+    public CompletableFuture<String> queueOrderNotification(OrderEvent event) throws Exception {
+        if (batcher == null) {
+            return CompletableFuture.completedFuture(sendOrderNotification(event));
+        }
+        OrderMessage message = buildOrderMessage(event);
+        String text = message.text();
+        int blocks = sectionCount(text) + 1;
+        // Escaped text plus the JSON of the block wrappers
+        int bytes = objectMapper.writeValueAsBytes(text).length + 64 * blocks;
+        return batcher.add(destination(event).key(), message.orderId(), text, bytes, blocks)
+            .thenApply(ignored -> message.orderId());
+    }
+
+    OrderMessage buildOrderMessage(OrderEvent event) {
+        long start = System.nanoTime();
+        String text = notificationTemplates.slackOrder().render(new OrderTemplateModel(event));
+        metrics.recordRender(DeliveryChannel.SLACK, System.nanoTime() - start);
+        return new OrderMessage(event.orderId(), text);
+    }
+
+    record OrderMessage(String orderId, String text) {
+    }
+
+    /**
+     * The webhook and channel an order is posted to, from its route or the {@code slack.*} defaults.
+     */
+    SlackDestination destination(OrderEvent event) {
+        Route route = notificationRoutes.resolve(event);
+        if (route.slackWebhookUrl() == null && route.slackChannel() == null) {
+            return defaultDestination();
+        }
+        return new SlackDestination(
+            route.slackWebhookUrl() != null ? route.slackWebhookUrl() : slackWebhookUrl,
+            route.slackChannel() != null ? route.slackChannel() : slackChannel);
+    }
+
+    private SlackDestination defaultDestination() {
+        return new SlackDestination(slackWebhookUrl, slackChannel);
+    }
+
+    record SlackDestination(String webhookUrl, String channel) {
+
+        /**
+         * Identifies the destination as a digest key; neither part can contain a line break.
+         */
+        String key() {
+            return webhookUrl + '\n' + channel;
+        }
+
+        static SlackDestination ofKey(String key) {
+            int separator = key.indexOf('\n');
+            return new SlackDestination(key.substring(0, separator), key.substring(separator + 1));
+        }
+    }
+
+    private void sendSlackNotification(SlackDestination destination, String message) {
+        ObjectNode slackPayload = newSlackPayload(destination.channel());
+        slackPayload.put("text", message);
+        postToSlack(destination.webhookUrl(), slackPayload);
+    }
+
+    /**
+     * Posts a batch as one Block Kit message with a section per order. A single order keeps the
+     * plain-text layout.
+     */
+    private void sendBatch(String key, List<SlackBatcher.Entry> entries) {
+        SlackDestination destination = SlackDestination.ofKey(key);
+        if (entries.size() == 1) {
+            sendSlackNotification(destination, entries.get(0).text());
+            return;
+        }
+        String summary = entries.size() + " new orders on BulkMagic";
+        ObjectNode slackPayload = newSlackPayload(destination.channel());
+        slackPayload.put("text", summary);
+        ArrayNode blocks = slackPayload.putArray("blocks");
+        ObjectNode header = blocks.addObject().put("type", "header");
+        header.putObject("text").put("type", "plain_text").put("text", summary);
+        for (SlackBatcher.Entry entry : entries) {
+            String text = entry.text();
+            for (int start = 0; start < text.length(); ) {
+                int end = sectionEnd(text, start);
+                ObjectNode section = blocks.addObject().put("type", "section");
+                section.putObject("text").put("type", "mrkdwn").put("text", text.substring(start, end));
+                start = end;
             }
-        } catch (Exception e) {
-            log.warn("Could not extract amount from order, using default: {}", e.getMessage());
-            amount = 0.0;
+            blocks.addObject().put("type", "divider");
         }
-        
-        String currency = order.path("total").path("gross").path("currency").asText();
-        String buyerFirstName = order.path("user").path("firstName").asText();
-        String buyerEmail = order.path("user").path("email").asText();
-
-        // Build ordered items list
-        StringBuilder orderedItems = new StringBuilder();
-        StringBuilder quantityList = new StringBuilder();
-        StringBuilder priceList = new StringBuilder();
-        
-        for (JsonNode line : order.path("lines")) {
-            int quantity = line.path("quantity").asInt();
-            String productName = line.path("variant").path("product").path("name").asText();
-            
-            // Use the total amount as the price since individual line prices aren't available
-            double linePrice = amount;
-            
-            orderedItems.append("• ").append(productName).append("\n");
-            quantityList.append(quantity).append("\n");
-            priceList.append("$").append(String.format("%.2f", linePrice)).append("\n");
+        postToSlack(destination.webhookUrl(), slackPayload);
+        log.info("Slack digest with {} orders sent to {}", entries.size(), destination.channel());
+    }
+
+    private static int sectionCount(String text) {
+        int count = 0;
+        for (int start = 0; start < text.length(); start = sectionEnd(text, start)) {
+            count++;
         }
+        return Math.max(count, 1);
+    }
 
-        // Format timestamp
-        LocalDateTime orderTime = LocalDateTime.parse(created.substring(0, 19));
-        String formattedTime = orderTime.format(
-            DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm", Locale.ENGLISH)
-        );
-        
-        // Calculate pickup time (10 minutes from order time)
-        LocalDateTime pickupTime = orderTime.plusMinutes(10);
-        String formattedPickupTime = pickupTime.format(DateTimeFormatter.ofPattern("HH:mm"));
-
-        // Build Slack message using the template
-        String slackMessage = buildSlackMessage(
-            orderedItems.toString(),
-            quantityList.toString(),
-            priceList.toString(),
-            orderId,
-            formattedTime,
-            buyerFirstName,
-            formattedPickupTime
-        );
-
-        // Send to Slack
-        sendSlackNotification(slackMessage);
-        
-        log.info("Slack notification sent successfully for order: {}", orderId);
-        return orderId;
-    }
-
-    private String buildSlackMessage(String orderedItems, String quantities, String prices, 
-                                   String orderId, String timestamp, String buyerName, String pickupTime) {
-        return String.format(
-            "You've received a new order on BulkMagic.\n\n" +
-            "*Items Ordered*\n" +
-            "```\n" +
-            "%-30s %-10s %-10s\n" +
-            "%-30s %-10s %-10s\n" +
-            "%s" +
-            "```\n\n" +
-            "*Order Details:*\n" +
-            ":heavy_check_mark:    Order ID: `%s`\n" +
-            ":heavy_check_mark:    Placed At: %s\n" +
-            ":heavy_check_mark:    Buyer: %s\n\n" +
-            "Please prepare this order for pickup by *%s*.\n\n" +
-            "Thank you,\n" +
-            "BulkMagic Team",
-            "Item", "Quantity", "Price",
-            "----", "--------", "-----",
-            formatOrderTable(orderedItems, quantities, prices),
-            orderId,
-            timestamp,
-            buyerName,
-            pickupTime
-        );
-    }
-
-    private String formatOrderTable(String items, String quantities, String prices) {
-        String[] itemLines = items.split("\n");
-        String[] quantityLines = quantities.split("\n");
-        String[] priceLines = prices.split("\n");
-        
-        StringBuilder table = new StringBuilder();
-        for (int i = 0; i < itemLines.length; i++) {
-            if (itemLines[i].trim().isEmpty()) continue;
-            
-            String item = itemLines[i].replace("• ", "").trim();
-            String quantity = i < quantityLines.length ? quantityLines[i].trim() : "";
-            String price = i < priceLines.length ? priceLines[i].trim() : "";
-            
-            // Ensure proper alignment with fixed widths
-            String formattedItem = String.format("%-30s", item);
-            String formattedQuantity = String.format("%-10s", quantity);
-            String formattedPrice = String.format("%-10s", price);
-            
-            table.append(formattedItem).append(" ").append(formattedQuantity).append(" ").append(formattedPrice).append("\n");
+    /**
+     * Splits long order texts on a line break so no section exceeds Slack's text limit.
+     */
+    private static int sectionEnd(String text, int start) {
+        if (text.length() - start <= MAX_SECTION_CHARS) {
+            return text.length();
         }
-        return table.toString();
+        int newline = text.lastIndexOf('\n', start + MAX_SECTION_CHARS - 1);
+        return newline > start ? newline + 1 : start + MAX_SECTION_CHARS;
     }
 
-    private void sendSlackNotification(String message) {
-        try {
-            ObjectNode slackPayload = objectMapper.createObjectNode();
-            slackPayload.put("channel", slackChannel);
-            slackPayload.put("username", slackUsername);
-            slackPayload.put("icon_emoji", slackIconEmoji);
-            slackPayload.put("text", message);
+    ObjectNode newSlackPayload(String channel) {
+        ObjectNode slackPayload = objectMapper.createObjectNode();
+        slackPayload.put("channel", channel);
+        slackPayload.put("username", slackUsername);
+        slackPayload.put("icon_emoji", slackIconEmoji);
+        return slackPayload;
+    }
 
+    /**
+     * Rate limits are per webhook, so tenants with their own webhook do not share Slack's quota.
+     */
+    private void postToSlack(String webhookUrl, ObjectNode slackPayload) {
+        long wait = rateLimiters.tryAcquire(DeliveryChannel.SLACK, webhookUrl);
+        if (wait > 0) {
+            throw DeliveryException.throttled("Slack webhook", wait);
+        }
+        try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
             HttpEntity<String> request = new HttpEntity<>(slackPayload.toString(), headers);
-            
-            String response = restTemplate.postForObject(slackWebhookUrl, request, String.class);
-            log.info("Slack webhook response: {}", response);
-            
+
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                String response = restTemplate.postForObject(webhookUrl, request, String.class);
+                success = true;
+                log.debug("Slack webhook response: {}", response);
+            } finally {
+                metrics.recordOutbound(NotificationMetrics.Client.SLACK, success, System.nanoTime() - start);
+            }
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            Duration retryAfter = retryAfter(e.getResponseHeaders());
+            rateLimiters.pause(DeliveryChannel.SLACK, webhookUrl, retryAfter.toNanos());
+            log.warn("Slack rate limited the webhook, pausing for {}s", retryAfter.toSeconds());
+            throw new DeliveryException("Failed to send Slack notification: rate limited", e, true, retryAfter);
+        } catch (HttpClientErrorException e) {
+            // Invalid payload or revoked webhook: retrying the same request will not help
+            log.error("Slack rejected the notification: {} {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new DeliveryException("Failed to send Slack notification", e, false, null);
         } catch (Exception e) {
             log.error("Failed to send Slack notification", e);
-            throw new RuntimeException("Failed to send Slack notification", e);
+            throw new DeliveryException("Failed to send Slack notification", e, true, null);
+        }
+    }
+
+    /**
+     * Reads Slack's Retry-After header, which is given in seconds (or, per HTTP, as a date).
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException ignored) {
+                return DEFAULT_RETRY_AFTER;
+            }
         }
     }
 
     public void sendTestNotification() {
         String testMessage = "🚀 *BulkMagic Notification Service Test*\n\n" +
                            "This is a test message to verify Slack integration is working properly.\n" +
-                           "Timestamp: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+                           "Timestamp: " + LocalDateTime.now().format(TEST_TIMESTAMP);
         
-        sendSlackNotification(testMessage);
+        sendSlackNotification(defaultDestination(), testMessage);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.ecommerce.notification.template;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of rendered template fragments, e.g. one line of the item table per product, quantity
+ * and price. The catalog is small and orders repeat the same lines, so most lines are rendered once.
+ * <p>
+ * Lookups are a plain {@link ConcurrentHashMap} read that sets the entry's reference bit. When the cache
+ * outgrows {@code maxEntries}, one thread sweeps it CLOCK-style: entries referenced since the last sweep
+ * lose their bit and stay, the others are evicted. Recently used fragments therefore survive as with an
+ * LRU cache, without a lock or a linked list on the read path.
+ */
+public final class FragmentCache {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<Object, Entry> entries;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries {@code 0} disables caching
+     */
+    public FragmentCache(int maxEntries) {
+        this.maxEntries = Math.max(maxEntries, 0);
+        this.entries = new ConcurrentHashMap<>(Math.min(this.maxEntries, 1024));
+    }
+
+    /**
+     * @return the cached fragment, or {@code null} if the caller has to render it
+     */
+    String get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.text;
+    }
+
+    void put(Object key, String text) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (entries.putIfAbsent(key, new Entry(text)) == null && entries.size() > maxEntries) {
+            sweep();
+        }
+    }
+
+    /**
+     * Evicts down to 90% of the limit so the next few inserts do not sweep again. Concurrent inserts
+     * leave the sweeping to whoever started it.
+     */
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxEntries - maxEntries / 10;
+            while (entries.size() > target) {
+                Iterator<Entry> iterator = entries.values().iterator();
+                while (iterator.hasNext() && entries.size() > target) {
+                    Entry entry = iterator.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Drops every fragment, e.g. because the template they were rendered from changed.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Share of lookups served from the cache since startup; {@code 0} before the first lookup.
+     */
+    public double hitRatio() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private static final class Entry {
+
+        private final String text;
+        private volatile boolean referenced;
+
+        private Entry(String text) {
+            this.text = text;
+        }
+    }
+}
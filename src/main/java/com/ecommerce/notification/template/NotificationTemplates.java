@@ -0,0 +1,216 @@
+package com.ecommerce.notification.template;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The compiled order notification templates.
+ * <p>
+ * The bundled layouts in {@code classpath:templates/} are used unless {@code notification.templates.directory}
+ * holds a file of the same name, e.g. {@code slack-order.txt} or {@code slack-pickup.txt}. Such files are checked for changes every
+ * {@code reload-interval-ms} and recompiled in the background; a template that fails to compile is
+ * logged and the previous version stays in use.
+ * <p>
+ * Each template keeps up to {@code fragment-cache-size} rendered item lines in a {@link FragmentCache},
+ * so the lines of the catalog's popular products are rendered once rather than for every order.
+ */
+@Component
+public class NotificationTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationTemplates.class);
+
+    static final String SLACK_ORDER = "slack-order";
+    static final String EMAIL_ORDER = "email-order";
+    static final String SLACK_PICKUP = "slack-pickup";
+    static final String SLACK_STATUS = "slack-status";
+    static final String EMAIL_STATUS = "email-status";
+
+    private static final int DEFAULT_FRAGMENT_CACHE_SIZE = 4096;
+
+    @Value("${notification.templates.directory:}")
+    private String directory;
+
+    @Value("${notification.templates.reload-interval-ms:2000}")
+    private long reloadIntervalMs;
+
+    @Value("${notification.templates.fragment-cache-size:4096}")
+    private int fragmentCacheSize;
+
+    private final Entry slackOrder = new Entry(SLACK_ORDER);
+    private final Entry emailOrder = new Entry(EMAIL_ORDER);
+    private final Entry slackPickup = new Entry(SLACK_PICKUP);
+    private final Entry slackStatus = new Entry(SLACK_STATUS);
+    private final Entry emailStatus = new Entry(EMAIL_STATUS);
+    private ScheduledExecutorService reloader;
+
+    /**
+     * Templates compiled from the bundled layouts, for use outside the application context.
+     */
+    public static NotificationTemplates defaults() {
+        NotificationTemplates templates = new NotificationTemplates();
+        templates.directory = "";
+        templates.fragmentCacheSize = DEFAULT_FRAGMENT_CACHE_SIZE;
+        templates.load();
+        return templates;
+    }
+
+    @PostConstruct
+    void load() {
+        slackOrder.load();
+        emailOrder.load();
+        slackPickup.load();
+        slackStatus.load();
+        emailStatus.load();
+        if (!directory.isBlank() && reloadIntervalMs > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "template-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+            log.info("Watching {} for notification template changes", directory);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    public Template<OrderTemplateModel> slackOrder() {
+        return slackOrder.template;
+    }
+
+    public Template<OrderTemplateModel> emailOrder() {
+        return emailOrder.template;
+    }
+
+    /**
+     * The reminder posted when an order is due for pickup.
+     */
+    public Template<OrderTemplateModel> slackPickup() {
+        return slackPickup.template;
+    }
+
+    /**
+     * The update posted when an order changes status.
+     */
+    public Template<OrderTemplateModel> slackStatus() {
+        return slackStatus.template;
+    }
+
+    public Template<OrderTemplateModel> emailStatus() {
+        return emailStatus.template;
+    }
+
+    /**
+     * The fragment cache of each template, by template name.
+     */
+    public Map<String, FragmentCache> fragmentCaches() {
+        Map<String, FragmentCache> caches = new LinkedHashMap<>();
+        for (Entry entry : List.of(slackOrder, emailOrder, slackPickup, slackStatus, emailStatus)) {
+            caches.put(entry.name, entry.fragments);
+        }
+        return caches;
+    }
+
+    void reloadChanged() {
+        slackOrder.reloadIfChanged();
+        emailOrder.reloadIfChanged();
+        slackPickup.reloadIfChanged();
+        slackStatus.reloadIfChanged();
+        emailStatus.reloadIfChanged();
+    }
+
+    private final class Entry {
+
+        private final String name;
+        private volatile Template<OrderTemplateModel> template;
+        private FragmentCache fragments;
+        private FileTime loadedVersion;
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+        private Path file() {
+            return directory.isBlank() ? null : Path.of(directory, name + ".txt");
+        }
+
+        /**
+         * Compiles the override file if there is one, otherwise the bundled layout. Startup fails on a
+         * broken template so that a bad deploy is noticed right away.
+         */
+        private void load() {
+            fragments = new FragmentCache(fragmentCacheSize);
+            Path file = file();
+            try {
+                if (file != null && Files.isRegularFile(file)) {
+                    loadedVersion = Files.getLastModifiedTime(file);
+                    template = compile(Files.readString(file));
+                    log.info("Loaded notification template {} from {}", name, file);
+                } else {
+                    template = compile(bundled());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read notification template " + name, e);
+            }
+        }
+
+        private void reloadIfChanged() {
+            Path file = file();
+            try {
+                FileTime version = Files.isRegularFile(file) ? Files.getLastModifiedTime(file) : null;
+                if (version == null ? loadedVersion == null : version.equals(loadedVersion)) {
+                    return;
+                }
+                // Remember the version even if it does not compile, so a broken file is reported once
+                loadedVersion = version;
+                template = compile(version == null ? bundled() : Files.readString(file));
+                // The previous version's fragments can no longer match; free them rather than wait for eviction
+                fragments.clear();
+                log.info("Reloaded notification template {} from {}", name, version == null ? "the bundled default" : file);
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not reload notification template {}; keeping the previous version", name, e);
+            }
+        }
+
+        private String bundled() throws IOException {
+            try (InputStream in = NotificationTemplates.class.getResourceAsStream("/templates/" + name + ".txt")) {
+                if (in == null) {
+                    throw new IOException("Bundled template templates/" + name + ".txt is missing");
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        private Template<OrderTemplateModel> compile(String source) {
+            String text = source.replace("\r\n", "\n");
+            // Editors add a final newline; the messages do not end with one
+            if (text.endsWith("\n")) {
+                text = text.substring(0, text.length() - 1);
+            }
+            return OrderTemplateModel.SCHEMA.compile(name, text, fragments);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.notification.template;
+
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.payload.OrderStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * What the order notification templates can show. Inside {@code {{#lines}}} the line fields refer to
+ * the current line; all order fields stay available. Lines are cached by product, quantity and price.
+ */
+public final class OrderTemplateModel {
+
+    private static final DateTimeFormatter PLACED_AT = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm", Locale.ENGLISH);
+    private static final DateTimeFormatter PICKUP_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Orders are ready for pickup this many minutes after they are placed.
+     */
+    private static final int PICKUP_MINUTES = 10;
+
+    public static final TemplateSchema<OrderTemplateModel> SCHEMA = new TemplateSchema<OrderTemplateModel>()
+        .field("orderId", (model, out) -> out.append(model.event.orderId()))
+        .field("buyer", (model, out) -> out.append(model.event.buyerFirstName()))
+        .field("buyerEmail", (model, out) -> out.append(model.event.buyerEmail()))
+        .field("currency", (model, out) -> out.append(model.event.currency()))
+        .field("total", (model, out) -> Text.appendFixed2(out, model.event.grossAmount()))
+        .field("placedAt", (model, out) -> out.append(model.placedAt))
+        .field("timestamp", (model, out) -> out.append(model.timestamp))
+        .field("pickupTime", (model, out) -> out.append(model.pickupTime))
+        .field("status", (model, out) -> out.append(model.status))
+        .loop("lines", new TemplateSchema.Loop<>() {
+            @Override
+            public int size(OrderTemplateModel model) {
+                return model.event.lines().size();
+            }
+
+            @Override
+            public void select(OrderTemplateModel model, int index) {
+                model.line = model.event.lines().get(index);
+            }
+
+            @Override
+            public Object key(OrderTemplateModel model) {
+                return model.line;
+            }
+        })
+        .elementField("item", (model, out) -> out.append(model.line.productName()))
+        .elementField("quantity", (model, out) -> out.append(model.line.quantity()))
+        .elementField("price", (model, out) -> Text.appendFixed2(out, model.line.price()));
+
+    private final OrderEvent event;
+    private final String placedAt;
+    private final String timestamp;
+    private final String pickupTime;
+    private final String status;
+    private OrderEvent.OrderLine line;
+
+    public OrderTemplateModel(OrderEvent event) {
+        this(event, null);
+    }
+
+    /**
+     * @param status shown as {@code {{status}}}, e.g. {@code Shipped}; empty if {@code null}
+     */
+    public OrderTemplateModel(OrderEvent event, OrderStatus status) {
+        this.event = event;
+        this.status = status == null ? "" : status.name().charAt(0) + status.name().substring(1).toLowerCase(Locale.ROOT);
+        String created = event.created();
+        this.timestamp = created.replace("T", " ").replace("+00:00", "");
+        LocalDateTime orderTime = parseOrderTime(created);
+        if (orderTime == null) {
+            this.placedAt = timestamp;
+            this.pickupTime = "";
+        } else {
+            this.placedAt = orderTime.format(PLACED_AT);
+            this.pickupTime = orderTime.plusMinutes(PICKUP_MINUTES).format(PICKUP_TIME);
+        }
+    }
+
+    /**
+     * When an order is due for pickup, or {@code null} if its timestamp cannot be read. A timestamp
+     * without an offset is taken as UTC.
+     */
+    public static Instant pickupDue(OrderEvent event) {
+        try {
+            return OffsetDateTime.parse(event.created()).plusMinutes(PICKUP_MINUTES).toInstant();
+        } catch (DateTimeParseException e) {
+            LocalDateTime orderTime = parseOrderTime(event.created());
+            return orderTime == null ? null : orderTime.plusMinutes(PICKUP_MINUTES).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Reads the local date and time from an ISO timestamp such as {@code 2025-08-11T20:30:00.000000+00:00}.
+     */
+    private static LocalDateTime parseOrderTime(String created) {
+        if (created.length() < 19) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(created.substring(0, 19));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.notification.template;
+
+/**
+ * One compiled piece of a {@link Template}.
+ */
+interface Segment<T> {
+
+    void render(T model, StringBuilder out);
+
+    record Literal<T>(String text) implements Segment<T> {
+
+        @Override
+        public void render(T model, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    /**
+     * A field, padded with spaces on the right to {@code width} characters like {@code %-<width>s}.
+     *
+     * @param element whether the field reads only the element a loop selected
+     */
+    record Value<T>(TemplateSchema.Field<T> field, int width, boolean element) implements Segment<T> {
+
+        @Override
+        public void render(T model, StringBuilder out) {
+            int start = out.length();
+            field.append(model, out);
+            Text.pad(out, width - (out.length() - start));
+        }
+    }
+
+    record Loop<T>(TemplateSchema.Loop<T> loop, Segment<T>[] body) implements Segment<T> {
+
+        @Override
+        public void render(T model, StringBuilder out) {
+            int size = loop.size(model);
+            for (int i = 0; i < size; i++) {
+                loop.select(model, i);
+                Template.render(body, model, out);
+            }
+        }
+    }
+
+    /**
+     * A run of literals and element fields inside a loop body, copied from the {@link FragmentCache} once
+     * it has been rendered for an element. Other fields of the body, e.g. an order total, are rendered
+     * around it every time. The key includes the run itself, so fragments of a replaced template are
+     * never picked up.
+     */
+    record CachedRun<T>(TemplateSchema.Loop<T> loop, Segment<T>[] parts, FragmentCache fragments) implements Segment<T> {
+
+        @Override
+        public void render(T model, StringBuilder out) {
+            Object element = loop.key(model);
+            if (element == null) {
+                Template.render(parts, model, out);
+                return;
+            }
+            Fragment key = new Fragment(parts, element);
+            String cached = fragments.get(key);
+            if (cached != null) {
+                out.append(cached);
+                return;
+            }
+            int start = out.length();
+            Template.render(parts, model, out);
+            fragments.put(key, out.substring(start));
+        }
+    }
+
+    /**
+     * Cache key of one rendered run; {@code run} compares by identity.
+     */
+    record Fragment(Object run, Object element) {
+    }
+}
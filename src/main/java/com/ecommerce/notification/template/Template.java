@@ -0,0 +1,61 @@
+package com.ecommerce.notification.template;
+
+import java.util.List;
+
+/**
+ * A compiled template: a flat list of literal, field and loop segments that render straight into a
+ * {@link StringBuilder}. Instances are immutable and safe to share between threads.
+ *
+ * @param <T> the model the template reads its fields from
+ */
+public final class Template<T> {
+
+    /**
+     * Buffers that grew past this are dropped instead of being kept for the thread's next render.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String name;
+    private final Segment<T>[] segments;
+
+    @SuppressWarnings("unchecked")
+    Template(String name, List<Segment<T>> segments) {
+        this.name = name;
+        this.segments = segments.toArray(new Segment[0]);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Renders into a per-thread buffer that is reused across calls.
+     */
+    public String render(T model) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        render(model, out);
+        String text = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return text;
+    }
+
+    public void render(T model, StringBuilder out) {
+        render(segments, model, out);
+    }
+
+    static <T> void render(Segment<T>[] segments, T model, StringBuilder out) {
+        for (Segment<T> segment : segments) {
+            segment.render(model, out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Template[" + name + ", " + segments.length + " segments]";
+    }
+}
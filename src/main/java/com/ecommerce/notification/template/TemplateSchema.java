@@ -0,0 +1,217 @@
+package com.ecommerce.notification.template;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields and loops a family of templates may use, and the compiler for them.
+ * <p>
+ * Template syntax:
+ * <ul>
+ *   <li>{@code {{name}}} inserts a field;</li>
+ *   <li>{@code {{name:30}}} inserts it left-aligned and padded with spaces to 30 characters;</li>
+ *   <li>{@code {{#name}}...{{/name}}} repeats the enclosed text once per element of a loop.
+ *       Loop tags on a line of their own do not leave an empty line behind.</li>
+ * </ul>
+ * Templates compiled with a {@link FragmentCache} render each distinct loop element once: the runs of a
+ * loop body made of literals and {@linkplain #elementField element fields} are cached per
+ * {@linkplain Loop#key element key} and copied on later renders. Other fields in the body are rendered
+ * every time.
+ *
+ * @param <T> the model the templates render
+ */
+public final class TemplateSchema<T> {
+
+    /**
+     * Appends a value read from the model.
+     */
+    @FunctionalInterface
+    public interface Field<T> {
+        void append(T model, StringBuilder out);
+    }
+
+    /**
+     * A repeated section; {@link #select} points the model at the element the loop body renders next.
+     */
+    public interface Loop<T> {
+
+        int size(T model);
+
+        void select(T model, int index);
+
+        /**
+         * Identifies the selected element for the {@link FragmentCache}: elements with equal keys must
+         * render every {@linkplain #elementField element field} the same. {@code null} renders the body
+         * without the cache.
+         */
+        default Object key(T model) {
+            return null;
+        }
+    }
+
+    private final Map<String, Field<T>> fields = new HashMap<>();
+    private final Set<String> elementFields = new HashSet<>();
+    private final Map<String, Loop<T>> loops = new HashMap<>();
+
+    public TemplateSchema<T> field(String name, Field<T> field) {
+        fields.put(name, field);
+        return this;
+    }
+
+    /**
+     * A field that reads only the element a loop selected, so it renders the same for equal {@link Loop#key keys}.
+     */
+    public TemplateSchema<T> elementField(String name, Field<T> field) {
+        elementFields.add(name);
+        return field(name, field);
+    }
+
+    public TemplateSchema<T> loop(String name, Loop<T> loop) {
+        loops.put(name, loop);
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the source uses an unknown name or has unbalanced loop tags
+     */
+    public Template<T> compile(String name, String source) {
+        return compile(name, source, null);
+    }
+
+    /**
+     * @param fragments caches the rendered elements of the template's loops; {@code null} for none
+     * @throws IllegalArgumentException if the source uses an unknown name or has unbalanced loop tags
+     */
+    public Template<T> compile(String name, String source, FragmentCache fragments) {
+        Deque<Open<T>> open = new ArrayDeque<>();
+        open.push(new Open<>(null, null, new ArrayList<>()));
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int tagStart = source.indexOf("{{", position);
+            if (tagStart < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+            int tagEnd = source.indexOf("}}", tagStart + 2);
+            if (tagEnd < 0) {
+                throw error(name, tagStart, "unclosed tag");
+            }
+            literal.append(source, position, tagStart);
+            String tag = source.substring(tagStart + 2, tagEnd).trim();
+            position = tagEnd + 2;
+
+            if (tag.startsWith("#") || tag.startsWith("/")) {
+                boolean standalone = (literal.isEmpty() ? isLineStart(source, tagStart) : literal.charAt(literal.length() - 1) == '\n')
+                    && source.startsWith("\n", position);
+                if (standalone) {
+                    position++;
+                }
+                flush(literal, open.peek().segments());
+                String loopName = tag.substring(1).trim();
+                if (tag.charAt(0) == '#') {
+                    Loop<T> loop = loops.get(loopName);
+                    if (loop == null) {
+                        throw error(name, tagStart, "unknown loop '" + loopName + "'");
+                    }
+                    open.push(new Open<>(loopName, loop, new ArrayList<>()));
+                } else {
+                    Open<T> closed = open.pop();
+                    if (!loopName.equals(closed.name())) {
+                        throw error(name, tagStart, "'{{/" + loopName + "}}' does not close "
+                            + (closed.name() == null ? "any loop" : "'{{#" + closed.name() + "}}'"));
+                    }
+                    @SuppressWarnings("unchecked")
+                    Segment<T>[] body = closed.segments().toArray(new Segment[0]);
+                    open.peek().segments().add(loop(closed.loop(), body, fragments));
+                }
+            } else {
+                flush(literal, open.peek().segments());
+                open.peek().segments().add(value(name, tagStart, tag));
+            }
+        }
+        flush(literal, open.peek().segments());
+        if (open.size() > 1) {
+            throw error(name, source.length(), "'{{#" + open.peek().name() + "}}' is never closed");
+        }
+        return new Template<>(name, open.pop().segments());
+    }
+
+    private Segment<T> value(String template, int offset, String tag) {
+        int colon = tag.indexOf(':');
+        String fieldName = colon < 0 ? tag : tag.substring(0, colon).trim();
+        Field<T> field = fields.get(fieldName);
+        if (field == null) {
+            throw error(template, offset, "unknown field '" + fieldName + "'");
+        }
+        int width = 0;
+        if (colon >= 0) {
+            try {
+                width = Integer.parseInt(tag.substring(colon + 1).trim());
+            } catch (NumberFormatException e) {
+                throw error(template, offset, "invalid width in '{{" + tag + "}}'");
+            }
+        }
+        return new Segment.Value<>(field, width, elementFields.contains(fieldName));
+    }
+
+    /**
+     * Wraps each run of literals and element fields in the body that reads the element at all in a
+     * {@link Segment.CachedRun}; other fields and nested loops are left to render every time.
+     */
+    private static <T> Segment<T> loop(Loop<T> loop, Segment<T>[] body, FragmentCache fragments) {
+        if (fragments == null) {
+            return new Segment.Loop<>(loop, body);
+        }
+        List<Segment<T>> segments = new ArrayList<>(body.length);
+        List<Segment<T>> run = new ArrayList<>();
+        for (Segment<T> segment : body) {
+            if (segment instanceof Segment.Literal<T> || segment instanceof Segment.Value<T> value && value.element()) {
+                run.add(segment);
+            } else {
+                flushRun(loop, run, fragments, segments);
+                segments.add(segment);
+            }
+        }
+        flushRun(loop, run, fragments, segments);
+        @SuppressWarnings("unchecked")
+        Segment<T>[] cachedBody = segments.toArray(new Segment[0]);
+        return new Segment.Loop<>(loop, cachedBody);
+    }
+
+    private static <T> void flushRun(Loop<T> loop, List<Segment<T>> run, FragmentCache fragments, List<Segment<T>> segments) {
+        boolean readsElement = run.stream().anyMatch(segment -> segment instanceof Segment.Value<T>);
+        if (readsElement) {
+            @SuppressWarnings("unchecked")
+            Segment<T>[] parts = run.toArray(new Segment[0]);
+            segments.add(new Segment.CachedRun<>(loop, parts, fragments));
+        } else {
+            segments.addAll(run);
+        }
+        run.clear();
+    }
+
+    private static boolean isLineStart(String source, int index) {
+        return index == 0 || source.charAt(index - 1) == '\n';
+    }
+
+    private static <T> void flush(StringBuilder literal, List<Segment<T>> segments) {
+        if (!literal.isEmpty()) {
+            segments.add(new Segment.Literal<>(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    private static IllegalArgumentException error(String template, int offset, String message) {
+        return new IllegalArgumentException("Template " + template + " at offset " + offset + ": " + message);
+    }
+
+    private record Open<T>(String name, Loop<T> loop, List<Segment<T>> segments) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.notification.template;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formatting helpers that append to a {@link StringBuilder} without going through {@link java.util.Formatter}.
+ */
+public final class Text {
+
+    private static final String SPACES = " ".repeat(64);
+
+    private Text() {
+    }
+
+    /**
+     * Appends {@code count} spaces; does nothing when {@code count} is not positive.
+     */
+    public static void pad(StringBuilder out, int count) {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length());
+            out.append(SPACES, 0, chunk);
+            count -= chunk;
+        }
+    }
+
+    /**
+     * Appends {@code value} with two decimals, rounding half up exactly like {@code String.format("%.2f")}.
+     */
+    public static void appendFixed2(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        double scaled = Math.abs(value) * 100;
+        // Near a tie the binary value and its decimal form may round differently, and huge values overflow a long
+        if (scaled >= 1e17 || Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-6) {
+            out.append(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long cents = Math.round(scaled);
+        if (value < 0 && cents != 0) {
+            out.append('-');
+        }
+        out.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            out.append('0');
+        }
+        out.append(remainder);
+    }
+}
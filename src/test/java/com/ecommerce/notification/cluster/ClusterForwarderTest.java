@@ -0,0 +1,111 @@
+package com.ecommerce.notification.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class ClusterForwarderTest {
+
+    private HttpServer owner;
+    private String ownerUrl;
+    private ClusterMembership membership;
+    private ClusterForwarder forwarder;
+    private volatile int status;
+    private volatile String body;
+    private volatile String query;
+    private volatile String forwardedBy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/api/cluster/orders", exchange -> {
+            query = exchange.getRequestURI().getQuery();
+            forwardedBy = exchange.getRequestHeaders().getFirst(ClusterForwarder.FORWARDED_HEADER);
+            exchange.getRequestBody().readAllBytes();
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        owner.start();
+        ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+
+        membership = mock(ClusterMembership.class);
+        when(membership.self()).thenReturn("http://localhost:1");
+        forwarder = new ClusterForwarder();
+        ReflectionTestUtils.setField(forwarder, "clusterMembership", membership);
+        ReflectionTestUtils.setField(forwarder, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(forwarder, "timeoutMs", 1000L);
+        forwarder.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        owner.stop(0);
+    }
+
+    @Test
+    void testOwnersReceiptIsReturned() {
+        // Arrange
+        status = 202;
+        body = "{\"status\":\"accepted\",\"orderId\":\"X\",\"accepted\":[\"SLACK\"],\"duplicates\":[\"EMAIL\"]}";
+
+        // Act
+        Optional<DeliveryService.Receipt> receipt = forwarder.forward(ownerUrl,
+            Set.of(DeliveryChannel.SLACK), "{}".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(Optional.of(new DeliveryService.Receipt("X", List.of(DeliveryChannel.SLACK), List.of(DeliveryChannel.EMAIL))), receipt);
+        assertEquals("channels=slack", query);
+        assertEquals("http://localhost:1", forwardedBy);
+        verify(membership, never()).suspect(any());
+    }
+
+    @Test
+    void testOwnersRejectionsAreReported() {
+        // Arrange
+        body = "{\"status\":\"error\",\"message\":\"Delivery queue is full\"}";
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        status = 429;
+        assertThrows(DeliveryRejectedException.class, () -> forwarder.forward(ownerUrl, Set.of(DeliveryChannel.EMAIL), payload));
+        status = 400;
+        assertThrows(IllegalArgumentException.class, () -> forwarder.forward(ownerUrl, Set.of(DeliveryChannel.EMAIL), payload));
+        verify(membership, never()).suspect(any());
+    }
+
+    @Test
+    void testFailingOrUnreachableOwnerIsSuspectedAndTheOrderKept() {
+        // Arrange
+        status = 500;
+        body = "";
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        Optional<DeliveryService.Receipt> failed = forwarder.forward(ownerUrl, Set.of(DeliveryChannel.EMAIL), payload);
+        owner.stop(0);
+        Optional<DeliveryService.Receipt> unreachable = forwarder.forward(ownerUrl, Set.of(DeliveryChannel.EMAIL), payload);
+
+        // Assert
+        assertTrue(failed.isEmpty());
+        assertTrue(unreachable.isEmpty());
+        verify(membership, times(2)).suspect(ownerUrl);
+    }
+}
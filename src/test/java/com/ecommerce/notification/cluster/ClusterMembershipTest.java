@@ -0,0 +1,112 @@
+package com.ecommerce.notification.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+
+class ClusterMembershipTest {
+
+    private static final String SELF = "http://localhost:1";
+
+    private HttpServer peer;
+    private String peerUrl;
+    private volatile int status = 200;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        peer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        peer.createContext("/api/cluster/ping", exchange -> {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        peer.start();
+        peerUrl = "http://localhost:" + peer.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        peer.stop(0);
+    }
+
+    @Test
+    void testPeerLeavesTheRingAfterMissedProbesAndRejoins() {
+        // Arrange
+        ClusterMembership membership = membership();
+        assertEquals(2, membership.liveMembers());
+
+        // Act
+        status = 503;
+        membership.probeAll();
+        membership.probeAll();
+        int afterTwoMisses = membership.liveMembers();
+        membership.probeAll();
+        int afterThreeMisses = membership.liveMembers();
+        String owner = membership.owner("store:cafe-1");
+        status = 200;
+        membership.probeAll();
+
+        // Assert
+        assertEquals(2, afterTwoMisses);
+        assertEquals(1, afterThreeMisses);
+        assertEquals(SELF, owner);
+        assertEquals(2, membership.liveMembers());
+        assertEquals(Map.of(SELF, true, peerUrl, true), membership.memberStates());
+    }
+
+    @Test
+    void testSuspectedPeerLeavesTheRingAtOnce() {
+        // Arrange
+        ClusterMembership membership = membership();
+
+        // Act
+        membership.suspect(peerUrl);
+        membership.suspect("http://not-a-member");
+
+        // Assert
+        assertEquals(1, membership.liveMembers());
+        assertFalse(membership.memberStates().get(peerUrl));
+        assertTrue(membership.isSelf(membership.owner("order-1")));
+    }
+
+    @Test
+    void testTenantKeyPrefersTheMostSpecificOrigin() {
+        // Arrange
+        OrderEvent withStore = event(new OrderEvent.Origin("web", "downtown", "cafe-1"));
+        OrderEvent withWarehouse = event(new OrderEvent.Origin("web", "downtown", ""));
+        OrderEvent withNothing = event(OrderEvent.Origin.UNKNOWN);
+
+        // Act & Assert
+        assertEquals("store:cafe-1", ClusterMembership.tenantKey(withStore));
+        assertEquals("warehouse:downtown", ClusterMembership.tenantKey(withWarehouse));
+        assertEquals("order:X", ClusterMembership.tenantKey(withNothing));
+    }
+
+    private ClusterMembership membership() {
+        ClusterMembership membership = new ClusterMembership();
+        ReflectionTestUtils.setField(membership, "enabled", true);
+        ReflectionTestUtils.setField(membership, "self", SELF + "/");
+        ReflectionTestUtils.setField(membership, "members", new String[] {SELF, peerUrl});
+        ReflectionTestUtils.setField(membership, "partitionBy", "tenant");
+        ReflectionTestUtils.setField(membership, "virtualNodes", 64);
+        // Probes are driven by the test
+        ReflectionTestUtils.setField(membership, "probeIntervalMs", 0L);
+        ReflectionTestUtils.setField(membership, "probeTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(membership, "failureThreshold", 3);
+        membership.start();
+        return membership;
+    }
+
+    private static OrderEvent event(OrderEvent.Origin origin) {
+        return new OrderEvent("X", "2024-01-01T00:00:00Z", 10.0, "EUR", "Ada", "ada@example.com", List.of(), origin);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.notification.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class HashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void testKeysAreSpreadEvenlyAcrossMembers() {
+        // Arrange
+        HashRing ring = HashRing.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+        // Act
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.owner("store:" + i), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 3) < KEYS / 3 * 0.2, counts.toString()));
+    }
+
+    @Test
+    void testAddingAMemberOnlyMovesItsShare() {
+        // Arrange
+        HashRing three = HashRing.of("http://a:8080", "http://b:8080", "http://c:8080");
+        HashRing four = HashRing.of("http://a:8080", "http://b:8080", "http://c:8080", "http://d:8080");
+
+        // Act
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String before = three.owner("order-" + i);
+            String after = four.owner("order-" + i);
+            if (!before.equals(after)) {
+                moved++;
+                // A key only ever moves to the new member
+                assertEquals("http://d:8080", after);
+            }
+        }
+
+        // Assert
+        // With 128 virtual nodes a member's share is within about a quarter of 1/n
+        assertTrue(moved > KEYS / 4 * 0.7 && moved < KEYS / 4 * 1.3, "moved " + moved);
+    }
+
+    @Test
+    void testRingsBuiltFromTheSameMembersAgree() {
+        // Arrange
+        HashRing first = HashRing.of("http://b:8080", "http://a:8080");
+        HashRing second = HashRing.of("http://a:8080", "http://b:8080");
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.owner("k" + i), second.owner("k" + i));
+        }
+        assertEquals("http://a:8080", HashRing.of("http://a:8080").owner("anything"));
+    }
+}
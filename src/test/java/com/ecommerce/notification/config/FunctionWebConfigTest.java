@@ -0,0 +1,81 @@
+package com.ecommerce.notification.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class FunctionWebConfigTest {
+
+    @Test
+    void testNdjsonLinesBecomeOneJsonArray() {
+        // Arrange: CRLF line ends, a blank line and no newline after the last record
+        byte[] ndjson = "{\"orderId\":1}\r\n\n  {\"orderId\":2}\n{\"orderId\":3}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        String array = new String(FunctionWebConfig.toJsonArray(ndjson), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals("[{\"orderId\":1},{\"orderId\":2},{\"orderId\":3}]", array);
+        assertEquals("[]", new String(FunctionWebConfig.toJsonArray(new byte[0]), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testOversizedNdjsonBodyIsRejectedBeforeTheFunctionRuns() throws Exception {
+        // Arrange
+        FunctionWebConfig config = config(16);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/functions/orderCreated");
+        request.setContentType("application/x-ndjson");
+        request.setContent("{\"orderId\":1}\n{\"orderId\":2}\n".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        config.ndjsonFunctionFilter().doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testOversizedReactiveNdjsonBodyIsRejectedBeforeTheFunctionRuns() {
+        // Arrange: chunked, so only the bytes read tell the body is too large
+        FunctionWebConfig config = config(16);
+        DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/functions/orderCreated")
+            .header("Content-Type", "application/x-ndjson")
+            .body(Flux.just("{\"orderId\":1}\n", "{\"orderId\":2}\n")
+                .map(line -> buffers.wrap(line.getBytes(StandardCharsets.UTF_8)))));
+        AtomicBoolean called = new AtomicBoolean();
+
+        // Act
+        config.reactiveNdjsonFunctionFilter()
+            .filter(exchange, filtered -> Mono.fromRunnable(() -> called.set(true)))
+            .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+        assertFalse(called.get());
+    }
+
+    private static FunctionWebConfig config(int maxPayloadBytes) {
+        FunctionWebConfig config = new FunctionWebConfig();
+        ReflectionTestUtils.setField(config, "functionPath", "/functions");
+        ReflectionTestUtils.setField(config, "maxPayloadBytes", maxPayloadBytes);
+        return config;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.notification.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+class WebConfigTest {
+
+    private HttpServer stubWebhook;
+    private volatile long responseDelayMs;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Local stand-in for hooks.slack.com that answers "ok" like the real webhook
+        stubWebhook = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubWebhook.createContext("/services/test", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (responseDelayMs > 0) {
+                try {
+                    Thread.sleep(responseDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stubWebhook.start();
+
+        WebConfig config = new WebConfig();
+        ReflectionTestUtils.setField(config, "maxConnections", 10);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", 5);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 300L);
+        ReflectionTestUtils.setField(config, "poolAcquireTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "keepAliveMs", 60000L);
+
+        connectionManager = config.slackConnectionManager();
+        httpClient = config.slackHttpClient(connectionManager);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("slackHttpClient", httpClient);
+        restTemplate = config.restTemplate(beans.getBeanProvider(CloseableHttpClient.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        stubWebhook.stop(0);
+    }
+
+    @Test
+    void testSequentialWebhookCallsReuseOneConnection() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            String response = restTemplate.postForObject(webhookUrl(), "{\"text\":\"hi\"}", String.class);
+            assertEquals("ok", response);
+        }
+
+        // Assert
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void testSlowWebhookHitsReadTimeout() {
+        // Arrange
+        responseDelayMs = 1000;
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () ->
+            restTemplate.postForObject(webhookUrl(), "{\"text\":\"hi\"}", String.class));
+    }
+
+    private String webhookUrl() {
+        return "http://localhost:" + stubWebhook.getAddress().getPort() + "/services/test";
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.notification.deadletter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+class DeadLetterReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private DeadLetterStore store;
+    private DeliveryService deliveryService;
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new DeadLetterStore(directory, 100);
+        store.open();
+        deliveryService = mock(DeliveryService.class);
+        replayer = new DeadLetterReplayer();
+        ReflectionTestUtils.setField(replayer, "deadLetterStore", store);
+        ReflectionTestUtils.setField(replayer, "deliveryService", deliveryService);
+        ReflectionTestUtils.setField(replayer, "defaultPermitsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(replayer, "backoffMs", 1L);
+    }
+
+    @Test
+    void testReplayRedeliversMatchingDeadLettersAndRemovesThem() throws Exception {
+        // Arrange
+        DeadLetter slack = store.add(DeliveryChannel.SLACK, "order-1", bytes("{\"orderId\":\"order-1\"}"), 5, null);
+        DeadLetter email = store.add(DeliveryChannel.EMAIL, "order-2", bytes("{\"orderId\":\"order-2\"}"), 5, null);
+        // The queue is full once, then has room
+        when(deliveryService.redeliver(eq(DeliveryChannel.SLACK), any())).thenReturn(false, true);
+
+        // Act
+        DeadLetterReplayer.Replay replay = replayer.start(
+            new DeadLetterFilter(DeliveryChannel.SLACK, null, null, null, null), 10, null);
+        awaitFinished(replay);
+
+        // Assert
+        assertEquals(DeadLetterReplayer.State.COMPLETED, replay.state());
+        assertEquals(1, replay.total());
+        assertEquals(1, replay.replayed());
+        assertTrue(store.get(slack.id()).isEmpty());
+        assertTrue(store.get(email.id()).isPresent());
+        verify(deliveryService, times(2)).redeliver(DeliveryChannel.SLACK, slack.payload());
+        verify(deliveryService, never()).redeliver(eq(DeliveryChannel.EMAIL), any());
+    }
+
+    @Test
+    void testInvalidPayloadIsKept() throws Exception {
+        // Arrange
+        DeadLetter damaged = store.add(DeliveryChannel.EMAIL, "order-1", bytes("not json"), 5, null);
+        DeadLetter valid = store.add(DeliveryChannel.EMAIL, "order-2", bytes("{}"), 5, null);
+        when(deliveryService.redeliver(DeliveryChannel.EMAIL, damaged.payload()))
+            .thenThrow(new IllegalArgumentException("Payload is not valid JSON"));
+        when(deliveryService.redeliver(DeliveryChannel.EMAIL, valid.payload())).thenReturn(true);
+
+        // Act
+        DeadLetterReplayer.Replay replay = replayer.start(DeadLetterFilter.ALL, 10, null);
+        awaitFinished(replay);
+
+        // Assert
+        assertEquals(1, replay.failed());
+        assertEquals(1, replay.replayed());
+        assertTrue(store.get(damaged.id()).isPresent());
+        assertTrue(store.get(valid.id()).isEmpty());
+    }
+
+    @Test
+    void testOnlyOneReplayRunsAtATime() throws Exception {
+        // Arrange: a slow rate keeps the first replay running
+        for (int i = 0; i < 3; i++) {
+            store.add(DeliveryChannel.EMAIL, "order-" + i, bytes("{}"), 5, null);
+        }
+        when(deliveryService.redeliver(any(), any())).thenReturn(true);
+        DeadLetterReplayer.Replay first = replayer.start(DeadLetterFilter.ALL, 10, 0.5);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> replayer.start(DeadLetterFilter.ALL, 10, null));
+        assertTrue(replayer.cancel());
+        awaitFinished(first);
+        assertEquals(DeadLetterReplayer.State.CANCELLED, first.state());
+        assertTrue(store.size() >= 2);
+    }
+
+    private static void awaitFinished(DeadLetterReplayer.Replay replay) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replay.finishedAt().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(replay.finishedAt().isPresent(), "replay did not finish");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
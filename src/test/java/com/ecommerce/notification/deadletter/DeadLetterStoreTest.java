@@ -0,0 +1,152 @@
+package com.ecommerce.notification.deadletter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+class DeadLetterStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDeadLettersSurviveRestart() throws Exception {
+        // Arrange
+        DeadLetterStore store = newStore(10);
+        store.open();
+        DeadLetter kept = store.add(DeliveryChannel.SLACK, "order-1", bytes("{\"n\":1}"), 5,
+            new RuntimeException("Failed to send Slack notification", new IOException("Connection refused")));
+        DeadLetter removed = store.add(DeliveryChannel.EMAIL, "order-2", bytes("{\"n\":2}"), 3, new RuntimeException("boom"));
+        assertTrue(store.remove(removed.id()));
+        store.close();
+
+        // Act
+        DeadLetterStore reopened = newStore(10);
+        reopened.open();
+
+        // Assert
+        assertEquals(1, reopened.size());
+        DeadLetter letter = reopened.get(kept.id()).orElseThrow();
+        assertEquals(DeliveryChannel.SLACK, letter.channel());
+        assertEquals("order-1", letter.orderId());
+        assertEquals(5, letter.attempts());
+        assertEquals(NOW, letter.failedAt());
+        assertTrue(letter.error().contains("Connection refused"));
+        assertEquals("{\"n\":1}", new String(letter.payload(), StandardCharsets.UTF_8));
+        assertTrue(reopened.get(removed.id()).isEmpty());
+
+        // Ids are not reused after a restart
+        DeadLetter next = reopened.add(DeliveryChannel.EMAIL, "order-3", bytes("{}"), 1, null);
+        assertTrue(next.id() > removed.id());
+        reopened.close();
+    }
+
+    @Test
+    void testTornRecordIsDroppedOnOpen() throws Exception {
+        // Arrange
+        DeadLetterStore store = newStore(10);
+        store.open();
+        store.add(DeliveryChannel.EMAIL, "order-1", bytes("{}"), 1, null);
+        store.add(DeliveryChannel.EMAIL, "order-2", bytes("{}"), 1, null);
+        store.close();
+        Path journal = directory.resolve("dead-letters.log");
+        try (FileChannel file = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            file.truncate(file.size() - 3);
+        }
+
+        // Act
+        DeadLetterStore reopened = newStore(10);
+        reopened.open();
+        reopened.add(DeliveryChannel.SLACK, "order-3", bytes("{}"), 1, null);
+        reopened.close();
+        DeadLetterStore again = newStore(10);
+        again.open();
+
+        // Assert: the torn record is gone and records appended after it are readable
+        assertEquals(List.of("order-1", "order-3"),
+            again.find(DeadLetterFilter.ALL, 0, 10).stream().map(DeadLetter::orderId).toList());
+        again.close();
+    }
+
+    @Test
+    void testCompactionKeepsOnlyLiveDeadLetters() throws Exception {
+        // Arrange
+        DeadLetterStore store = newStore(5000);
+        store.open();
+        for (int i = 0; i < 1100; i++) {
+            store.add(DeliveryChannel.EMAIL, "order-" + i, bytes("x".repeat(100)), 1, null);
+        }
+        long sizeBefore = Files.size(directory.resolve("dead-letters.log"));
+
+        // Act: enough removals to trigger a compaction
+        for (long id = 1; id <= 1050; id++) {
+            store.remove(id);
+        }
+        store.close();
+
+        // Assert
+        assertTrue(Files.size(directory.resolve("dead-letters.log")) < sizeBefore / 10);
+        DeadLetterStore reopened = newStore(5000);
+        reopened.open();
+        assertEquals(50, reopened.size());
+        assertEquals("order-1050", reopened.find(DeadLetterFilter.ALL, 0, 1).get(0).orderId());
+        reopened.close();
+    }
+
+    @Test
+    void testAddFailsWhenFull() throws Exception {
+        // Arrange
+        DeadLetterStore store = newStore(1);
+        store.open();
+        store.add(DeliveryChannel.EMAIL, "order-1", bytes("{}"), 1, null);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> store.add(DeliveryChannel.EMAIL, "order-2", bytes("{}"), 1, null));
+        assertEquals(1, store.size());
+        store.close();
+    }
+
+    @Test
+    void testFindFiltersAndPages() throws Exception {
+        // Arrange
+        DeadLetterStore store = newStore(10);
+        store.open();
+        store.add(DeliveryChannel.SLACK, "order-1", bytes("{}"), 1, new RuntimeException("HTTP 503 Service Unavailable"));
+        store.add(DeliveryChannel.EMAIL, "order-2", bytes("{}"), 1, new RuntimeException("Mail server timeout"));
+        store.add(DeliveryChannel.SLACK, "order-3", bytes("{}"), 1, new RuntimeException("http 503"));
+
+        // Act
+        DeadLetterFilter slack503 = new DeadLetterFilter(DeliveryChannel.SLACK, null, "HTTP 503", null, null);
+
+        // Assert
+        assertEquals(2, store.count(slack503));
+        assertEquals(List.of("order-3"), store.find(slack503, 1, 10).stream().map(DeadLetter::orderId).toList());
+        assertEquals(0, store.count(new DeadLetterFilter(null, null, null, NOW.plusSeconds(1), null)));
+        assertEquals(3, store.count(new DeadLetterFilter(null, null, null, NOW, NOW.plusSeconds(1))));
+        store.close();
+    }
+
+    private DeadLetterStore newStore(int maxEntries) {
+        return new DeadLetterStore(directory, maxEntries, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
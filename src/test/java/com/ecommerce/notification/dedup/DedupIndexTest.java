@@ -0,0 +1,99 @@
+package com.ecommerce.notification.dedup;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class DedupIndexTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private DedupIndex newIndex(int maxEntries) throws Exception {
+        DedupIndex index = new DedupIndex(directory.resolve("dedup.snapshot"), TTL, maxEntries, 4, Duration.ZERO, now::get);
+        index.open();
+        return index;
+    }
+
+    @Test
+    void testRepeatsAreDetectedPerChannelUntilTheTtlPasses() throws Exception {
+        // Arrange
+        DedupIndex index = newIndex(1000);
+
+        // Act & Assert
+        assertTrue(index.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ=="));
+        assertFalse(index.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ=="));
+        assertTrue(index.markAccepted(DeliveryChannel.SLACK, "T3JkZXI6MQ=="));
+
+        now.addAndGet(TTL.toMillis() - 1);
+        assertFalse(index.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ=="));
+
+        now.addAndGet(TTL.toMillis() / 2);
+        assertTrue(index.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ=="));
+        assertEquals(2, index.hits());
+        assertEquals(3, index.misses());
+    }
+
+    @Test
+    void testForgottenOrdersCanBeAcceptedAgain() throws Exception {
+        // Arrange
+        DedupIndex index = newIndex(1000);
+        for (int i = 0; i < 200; i++) {
+            index.markAccepted(DeliveryChannel.EMAIL, "order-" + i);
+        }
+
+        // Act
+        for (int i = 0; i < 200; i += 2) {
+            index.forget(DeliveryChannel.EMAIL, "order-" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 0, index.markAccepted(DeliveryChannel.EMAIL, "order-" + i), "order-" + i);
+        }
+    }
+
+    @Test
+    void testIndexStaysBoundedWhenFull() throws Exception {
+        // Arrange
+        DedupIndex index = newIndex(400);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            index.markAccepted(DeliveryChannel.SLACK, "order-" + i);
+        }
+
+        // Assert
+        assertTrue(index.size() <= 400);
+        assertEquals(1000 - index.size(), index.evictedEarly());
+        assertFalse(index.markAccepted(DeliveryChannel.SLACK, "order-999"));
+    }
+
+    @Test
+    void testSnapshotSurvivesRestart() throws Exception {
+        // Arrange
+        DedupIndex index = newIndex(1000);
+        index.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ==");
+        index.close();
+
+        // Act
+        now.addAndGet(Duration.ofMinutes(5).toMillis());
+        DedupIndex restarted = newIndex(1000);
+
+        // Assert
+        assertEquals(1, restarted.size());
+        assertFalse(restarted.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6MQ=="));
+        assertTrue(restarted.markAccepted(DeliveryChannel.EMAIL, "T3JkZXI6Mg=="));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.notification.delivery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.outbox.OutboxLog;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+class DeliveryQueueTest {
+
+    private final NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+    private final OutboxLog outboxLog = mock(OutboxLog.class);
+    private final DeliveryQueue queue = new DeliveryQueue();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queue, "notificationDispatcher", dispatcher);
+        ReflectionTestUtils.setField(queue, "outboxLog", outboxLog);
+        ReflectionTestUtils.setField(queue, "deliveryRetries", mock(DeliveryRetries.class));
+        ReflectionTestUtils.setField(queue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(queue, "workers", 2);
+        ReflectionTestUtils.setField(queue, "executionMode", "platform");
+        ReflectionTestUtils.setField(queue, "maxInFlight", 10);
+        ReflectionTestUtils.setField(queue, "shutdownTimeoutSeconds", 5L);
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.stop();
+    }
+
+    @Test
+    void testDeliveriesCountAsInFlightUntilTheChannelConfirms() throws Exception {
+        // Arrange: the send is started at once but confirmed later, like a Slack digest
+        CompletableFuture<Object> digest = new CompletableFuture<>();
+        doReturn(digest).when(dispatcher).deliver(any(), any());
+
+        // Act
+        assertTrue(queue.offer(task(1L, "order-1")));
+        assertTrue(queue.offer(task(2L, "order-2")));
+
+        // Assert
+        waitUntil(() -> queue.inFlight() == 2);
+        digest.complete(null);
+        waitUntil(() -> queue.inFlight() == 0);
+        verify(outboxLog).ack(1L);
+        verify(outboxLog).ack(2L);
+    }
+
+    private static DeliveryTask task(long sequence, String orderId) {
+        OrderEvent event = new OrderEvent(orderId, "2025-08-11T20:30:00.000000+00:00", 3.0, "USD",
+            "Austin", "austin@example.com", List.of());
+        return new DeliveryTask(sequence, DeliveryChannel.SLACK, event, "{}".getBytes());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
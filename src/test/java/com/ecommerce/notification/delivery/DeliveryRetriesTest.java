@@ -0,0 +1,131 @@
+package com.ecommerce.notification.delivery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.deadletter.DeadLetterStore;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.scheduling.TimerWheel;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+class DeliveryRetriesTest {
+
+    @TempDir
+    Path directory;
+
+    private final RetryPolicy retryPolicy = mock(RetryPolicy.class);
+    private final OutboxLog outboxLog = mock(OutboxLog.class);
+    private final TimerWheel timer = new TimerWheel("test-timer", Duration.ofMillis(5), 64);
+    private final DeliveryRetries retries = new DeliveryRetries();
+    private DeadLetterStore deadLetterStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        deadLetterStore = new DeadLetterStore(directory, 100);
+        deadLetterStore.open();
+        ReflectionTestUtils.setField(retries, "retryPolicy", retryPolicy);
+        ReflectionTestUtils.setField(retries, "deliveryTimer", timer);
+        ReflectionTestUtils.setField(retries, "outboxLog", outboxLog);
+        ReflectionTestUtils.setField(retries, "deadLetterStore", deadLetterStore);
+        ReflectionTestUtils.setField(retries, "maxScheduled", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void testFailedTaskIsResubmittedWithTheNextAttempt() throws Exception {
+        // Arrange
+        when(retryPolicy.nextDelay(anyInt(), any())).thenReturn(Optional.of(Duration.ofMillis(20)));
+        List<DeliveryTask> resubmitted = new CopyOnWriteArrayList<>();
+
+        // Act
+        retries.failed(task(), new DeliveryException("Failed to send Slack notification", null, true, null), task -> {
+            resubmitted.add(task);
+            return true;
+        }, Runnable::run);
+
+        // Assert
+        waitUntil(() -> resubmitted.size() == 1);
+        assertEquals(2, resubmitted.get(0).attempt());
+        assertEquals(0, deadLetterStore.size());
+    }
+
+    @Test
+    void testTaskIsOfferedAgainWhileTheQueueIsFull() throws Exception {
+        // Arrange
+        when(retryPolicy.nextDelay(anyInt(), any())).thenReturn(Optional.of(Duration.ofMillis(10)));
+        AtomicInteger offers = new AtomicInteger();
+
+        // Act
+        retries.failed(task(), new IllegalStateException("boom"), task -> offers.incrementAndGet() == 2, Runnable::run);
+
+        // Assert
+        waitUntil(() -> offers.get() == 2);
+        Thread.sleep(300);
+        assertEquals(2, offers.get());
+    }
+
+    @Test
+    void testBacklogIsFullWhileMaxScheduledTasksWait() throws Exception {
+        // Arrange
+        when(retryPolicy.nextDelay(anyInt(), any())).thenReturn(Optional.of(Duration.ofMillis(100)));
+        AtomicInteger offers = new AtomicInteger();
+        retries.failed(task(), DeliveryException.deferred("Bulkhead full for SLACK", 0), task -> offers.incrementAndGet() > 0, Runnable::run);
+        assertFalse(retries.backlogFull());
+
+        // Act
+        retries.failed(task(), DeliveryException.deferred("Bulkhead full for SLACK", 0), task -> offers.incrementAndGet() > 0, Runnable::run);
+
+        // Assert
+        assertTrue(retries.backlogFull());
+        waitUntil(() -> offers.get() == 2);
+        assertFalse(retries.backlogFull());
+        assertEquals(0, retries.scheduled());
+    }
+
+    @Test
+    void testAbandonedTaskBecomesADeadLetterAndLeavesTheOutbox() {
+        // Arrange
+        when(retryPolicy.nextDelay(anyInt(), any())).thenReturn(Optional.empty());
+
+        // Act
+        retries.failed(task(), new IllegalStateException("boom"), task -> fail("not to be resubmitted"), Runnable::run);
+
+        // Assert
+        assertEquals(1, deadLetterStore.size());
+        verify(outboxLog).ack(7L);
+    }
+
+    private static DeliveryTask task() {
+        OrderEvent event = new OrderEvent("order-1", "2025-08-11T20:30:00.000000+00:00", 3.0, "USD",
+            "Austin", "austin@example.com", List.of());
+        return new DeliveryTask(7L, DeliveryChannel.SLACK, event, "{}".getBytes());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.notification.delivery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+class DeliveryThreadsTest {
+
+    @Test
+    void testVirtualModeFallsBackToPlatformThreadsBeforeJava21() {
+        // Act & Assert
+        assertEquals(ExecutionMode.PLATFORM, DeliveryThreads.effectiveMode(ExecutionMode.VIRTUAL, 17));
+        assertEquals(ExecutionMode.VIRTUAL, DeliveryThreads.effectiveMode(ExecutionMode.VIRTUAL, 21));
+        assertEquals(ExecutionMode.PLATFORM, DeliveryThreads.effectiveMode(ExecutionMode.PLATFORM, 21));
+    }
+
+    @Test
+    void testPlatformThreadsAreNamedDaemons() {
+        // Arrange
+        ThreadFactory factory = DeliveryThreads.threadFactory(ExecutionMode.PLATFORM, "delivery-worker-");
+
+        // Act
+        Thread first = factory.newThread(() -> { });
+        Thread second = factory.newThread(() -> { });
+
+        // Assert
+        assertEquals("delivery-worker-1", first.getName());
+        assertEquals("delivery-worker-2", second.getName());
+        assertTrue(first.isDaemon());
+    }
+
+    @Test
+    void testExecutionModeIsParsedIgnoringCaseAndSpaces() {
+        // Act & Assert
+        assertEquals(ExecutionMode.VIRTUAL, ExecutionMode.parse("virtual"));
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.parse(" Platform "));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> ExecutionMode.parse("green"));
+        assertTrue(error.getMessage().contains("[platform, virtual]"), error.getMessage());
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.notification.delivery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import com.ecommerce.notification.cluster.ClusterForwarder;
+import com.ecommerce.notification.dedup.DedupIndex;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.outbox.OutboxLog;
+import com.ecommerce.notification.reminder.PickupReminders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+class ReactiveDeliveryPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private ReactiveDeliveryPipeline pipeline;
+    private NotificationDispatcher dispatcher;
+    private OutboxLog outbox;
+    private DedupIndex dedupIndex;
+    private DeliveryService deliveryService;
+    private ClusterForwarder clusterForwarder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outbox = new OutboxLog(directory.resolve("outbox"), 1024 * 1024, Duration.ofMillis(1), 64, Duration.ofHours(1));
+        outbox.open();
+        dedupIndex = new DedupIndex(directory.resolve("dedup.snapshot"), Duration.ofHours(1), 1000, 4, Duration.ZERO);
+        dedupIndex.open();
+        dispatcher = mock(NotificationDispatcher.class);
+        deliveryService = mock(DeliveryService.class);
+        clusterForwarder = mock(ClusterForwarder.class);
+
+        pipeline = new ReactiveDeliveryPipeline();
+        ReflectionTestUtils.setField(pipeline, "notificationDispatcher", dispatcher);
+        ReflectionTestUtils.setField(pipeline, "orderEventParser", new OrderEventParser());
+        ReflectionTestUtils.setField(pipeline, "outboxLog", outbox);
+        ReflectionTestUtils.setField(pipeline, "dedupIndex", dedupIndex);
+        ReflectionTestUtils.setField(pipeline, "deliveryRetries", mock(DeliveryRetries.class));
+        ReflectionTestUtils.setField(pipeline, "pickupReminders", mock(PickupReminders.class));
+        ReflectionTestUtils.setField(pipeline, "deliveryService", deliveryService);
+        ReflectionTestUtils.setField(pipeline, "clusterForwarder", clusterForwarder);
+        ReflectionTestUtils.setField(pipeline, "commitTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pipeline.stop();
+        dedupIndex.close();
+        outbox.close();
+    }
+
+    @Test
+    void testAcceptedOrderIsDeliveredOnEveryChannelAndAcknowledged() throws Exception {
+        // Arrange
+        start(10, 10);
+        doReturn(CompletableFuture.completedFuture("order-1")).when(dispatcher).deliver(any(), any());
+
+        // Act / Assert
+        StepVerifier.create(pipeline.accept(EnumSet.allOf(DeliveryChannel.class), order("order-1")))
+            .assertNext(receipt -> {
+                assertEquals("order-1", receipt.orderId());
+                assertEquals(List.of(DeliveryChannel.EMAIL, DeliveryChannel.SLACK), receipt.accepted());
+            })
+            .verifyComplete();
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.SLACK), order("order-1")))
+            .assertNext(receipt -> assertTrue(receipt.duplicate()))
+            .verifyComplete();
+
+        verify(dispatcher, timeout(1000)).deliver(eq(DeliveryChannel.EMAIL), any());
+        verify(dispatcher, timeout(1000)).deliver(eq(DeliveryChannel.SLACK), any());
+        waitUntil(() -> outbox.unackedCount() == 0);
+    }
+
+    @Test
+    void testOrdersBeyondConcurrencyAndBufferAreRejected() throws Exception {
+        // Arrange: one delivery in flight that never finishes, and room for one more in the buffer
+        start(1, 1);
+        doReturn(new CompletableFuture<>()).when(dispatcher).deliver(any(), any());
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.EMAIL), order("order-1"))).expectNextCount(1).verifyComplete();
+        waitUntil(() -> pipeline.inFlight() == 1);
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.EMAIL), order("order-2"))).expectNextCount(1).verifyComplete();
+
+        // Act / Assert
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.EMAIL), order("order-3")))
+            .verifyError(DeliveryRejectedException.class);
+        assertEquals(1, pipeline.depth());
+        assertEquals(2, outbox.unackedCount());
+        // The store may retry the rejected order later
+        assertTrue(dedupIndex.markAccepted(DeliveryChannel.EMAIL, "order-3"));
+    }
+
+    @Test
+    void testOrderOwnedByAnotherReplicaIsForwardedToIt() {
+        // Arrange
+        start(10, 10);
+        byte[] payload = order("order-1");
+        DeliveryService.Receipt receipt = new DeliveryService.Receipt("order-1", List.of(DeliveryChannel.SLACK), List.of());
+        when(deliveryService.remoteOwner(payload)).thenReturn(Optional.of("http://replica-2:8080"));
+        when(clusterForwarder.forward("http://replica-2:8080", Set.of(DeliveryChannel.SLACK), payload))
+            .thenReturn(Optional.of(receipt));
+
+        // Act / Assert
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.SLACK), payload))
+            .expectNext(receipt)
+            .verifyComplete();
+        assertEquals(0, outbox.unackedCount());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void testOrderIsAcceptedHereWhenItsOwnerCannotBeReached() {
+        // Arrange
+        start(10, 10);
+        byte[] payload = order("order-1");
+        when(deliveryService.remoteOwner(payload)).thenReturn(Optional.of("http://replica-2:8080"));
+        when(clusterForwarder.forward(any(), any(), any())).thenReturn(Optional.empty());
+        doReturn(new CompletableFuture<>()).when(dispatcher).deliver(any(), any());
+
+        // Act / Assert
+        StepVerifier.create(pipeline.accept(Set.of(DeliveryChannel.SLACK), payload))
+            .assertNext(accepted -> assertEquals(List.of(DeliveryChannel.SLACK), accepted.accepted()))
+            .verifyComplete();
+        assertEquals(1, outbox.unackedCount());
+    }
+
+    private void start(int maxConcurrency, int bufferCapacity) {
+        ReflectionTestUtils.setField(pipeline, "maxConcurrency", maxConcurrency);
+        ReflectionTestUtils.setField(pipeline, "bufferCapacity", bufferCapacity);
+        pipeline.start();
+    }
+
+    private static byte[] order(String id) {
+        return ("{\"order\":{\"id\":\"" + id + "\",\"lines\":[]}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
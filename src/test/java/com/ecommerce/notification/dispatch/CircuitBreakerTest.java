@@ -0,0 +1,64 @@
+package com.ecommerce.notification.dispatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensOnceTheFailureRateIsReachedOverEnoughCalls() {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker("slack", 0.5, 4, Duration.ofSeconds(10), Duration.ofSeconds(10), 1);
+
+        // Act
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        CircuitBreaker.State afterThree = breaker.state();
+        breaker.onSuccess();
+        CircuitBreaker.State afterFourAtHalf = breaker.state();
+
+        // Assert: the rate is checked when a call fails, and only once the window holds four calls
+        assertEquals(CircuitBreaker.State.CLOSED, afterThree);
+        assertEquals(CircuitBreaker.State.CLOSED, afterFourAtHalf);
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        long wait = breaker.tryAcquire();
+        assertTrue(wait > Duration.ofSeconds(9).toNanos());
+    }
+
+    @Test
+    void testHalfOpenProbesCloseOrReopenTheCircuit() throws Exception {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker("email", 0.5, 2, Duration.ofSeconds(10), Duration.ofMillis(50), 2);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Thread.sleep(60);
+
+        // Act & Assert: two probes are let through, a third caller waits for them
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(0, breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire() > 0);
+
+        // A probe that was not sent gives its slot back
+        breaker.onIgnored();
+        assertEquals(0, breaker.tryAcquire());
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(60);
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(0, breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.tryAcquire());
+    }
+}
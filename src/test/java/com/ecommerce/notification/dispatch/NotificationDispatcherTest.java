@@ -0,0 +1,223 @@
+package com.ecommerce.notification.dispatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NotificationDispatcherTest {
+
+    private static final OrderEvent ORDER = new OrderEvent(
+        "T3JkZXI6MQ==", "2025-08-11T20:30:00.000000+00:00", 1.99, "USD", "TestUser", "test@example.com", List.of());
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "executionMode", "platform");
+        ReflectionTestUtils.setField(dispatcher, "slackMaxConcurrent", 4);
+        ReflectionTestUtils.setField(dispatcher, "slackQueueCapacity", 10);
+        ReflectionTestUtils.setField(dispatcher, "emailMaxConcurrent", 4);
+        ReflectionTestUtils.setField(dispatcher, "emailQueueCapacity", 10);
+        ReflectionTestUtils.setField(dispatcher, "rejectedRetryMs", 200L);
+        ReflectionTestUtils.setField(dispatcher, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(dispatcher, "minimumCalls", 4);
+        ReflectionTestUtils.setField(dispatcher, "breakerWindowMs", 10_000L);
+        ReflectionTestUtils.setField(dispatcher, "openMs", 10_000L);
+        ReflectionTestUtils.setField(dispatcher, "halfOpenCalls", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void testChannelsAreDeliveredConcurrently() throws Exception {
+        // Arrange: both channels block their caller for 300ms, like a synchronous SMTP or HTTP send
+        ReflectionTestUtils.setField(dispatcher, "channelAdapters", List.of(
+            blocking(DeliveryChannel.EMAIL, 300), blocking(DeliveryChannel.SLACK, 300)));
+        dispatcher.start();
+
+        // Act
+        long start = System.nanoTime();
+        List<ChannelResult> results = dispatcher.dispatch(ORDER, EnumSet.allOf(DeliveryChannel.class)).get(5, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(ChannelResult::delivered));
+        assertTrue(elapsedMs < 550, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testEachChannelReportsItsOwnOutcome() throws Exception {
+        // Arrange
+        ChannelAdapter failing = new ChannelAdapter() {
+            @Override
+            public DeliveryChannel channel() {
+                return DeliveryChannel.SLACK;
+            }
+
+            @Override
+            public CompletableFuture<?> deliver(OrderEvent event) {
+                throw new IllegalStateException("webhook revoked");
+            }
+        };
+        ReflectionTestUtils.setField(dispatcher, "channelAdapters", List.of(blocking(DeliveryChannel.EMAIL, 0), failing));
+        dispatcher.start();
+
+        // Act
+        List<ChannelResult> results = dispatcher.dispatch(ORDER, EnumSet.allOf(DeliveryChannel.class)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        ChannelResult email = results.stream().filter(result -> result.channel() == DeliveryChannel.EMAIL).findFirst().orElseThrow();
+        ChannelResult slack = results.stream().filter(result -> result.channel() == DeliveryChannel.SLACK).findFirst().orElseThrow();
+        assertTrue(email.delivered());
+        assertFalse(slack.delivered());
+        assertEquals("webhook revoked", slack.error().getMessage());
+    }
+
+    @Test
+    void testOpenCircuitDefersSendsWithoutCallingTheChannel() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        ChannelAdapter failing = new ChannelAdapter() {
+            @Override
+            public DeliveryChannel channel() {
+                return DeliveryChannel.SLACK;
+            }
+
+            @Override
+            public CompletableFuture<?> deliver(OrderEvent event) {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(new IllegalStateException("Slack is down"));
+            }
+        };
+        ReflectionTestUtils.setField(dispatcher, "channelAdapters", List.of(blocking(DeliveryChannel.EMAIL, 0), failing));
+        dispatcher.start();
+        for (int i = 0; i < 4; i++) {
+            dispatcher.deliver(DeliveryChannel.SLACK, ORDER).handle((ignored, error) -> null).get(5, TimeUnit.SECONDS);
+        }
+
+        // Act
+        ExecutionException deferred = assertThrows(ExecutionException.class,
+            () -> dispatcher.deliver(DeliveryChannel.SLACK, ORDER).get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, dispatcher.circuitState(DeliveryChannel.SLACK));
+        assertEquals(4, calls.get());
+        DeliveryException cause = assertInstanceOf(DeliveryException.class, deferred.getCause());
+        assertTrue(cause.isThrottled());
+        assertTrue(cause.getRetryAfter().orElseThrow().toMillis() > 9_000);
+        assertEquals(CircuitBreaker.State.CLOSED, dispatcher.circuitState(DeliveryChannel.EMAIL));
+        assertDoesNotThrow(() -> dispatcher.deliver(DeliveryChannel.EMAIL, ORDER).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSlowChannelIsBoundedByItsBulkhead() throws Exception {
+        // Arrange: Slack hangs; 4 sends run, 10 wait, the rest are deferred
+        CountDownLatch release = new CountDownLatch(1);
+        ChannelAdapter hanging = new ChannelAdapter() {
+            @Override
+            public DeliveryChannel channel() {
+                return DeliveryChannel.SLACK;
+            }
+
+            @Override
+            public CompletableFuture<?> deliver(OrderEvent event) throws Exception {
+                release.await();
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        ReflectionTestUtils.setField(dispatcher, "channelAdapters", List.of(blocking(DeliveryChannel.EMAIL, 0), hanging));
+        dispatcher.start();
+
+        // Act
+        List<CompletableFuture<?>> slack = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            slack.add(dispatcher.deliver(DeliveryChannel.SLACK, ORDER));
+        }
+        CompletableFuture<?> email = dispatcher.deliver(DeliveryChannel.EMAIL, ORDER);
+
+        // Assert: email is not stuck behind Slack
+        assertDoesNotThrow(() -> email.get(1, TimeUnit.SECONDS));
+        ExecutionException deferred = assertThrows(ExecutionException.class, () -> slack.get(14).get(1, TimeUnit.SECONDS));
+        assertTrue(assertInstanceOf(DeliveryException.class, deferred.getCause()).isThrottled());
+        assertEquals(10, dispatcher.bulkheadQueued(DeliveryChannel.SLACK));
+        release.countDown();
+        for (int i = 0; i < 14; i++) {
+            slack.get(i).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testQueuedSendsHoldTheirSlotUntilConfirmed() throws Exception {
+        // Arrange: email hands every mail to a burst that has not gone out yet
+        CompletableFuture<Void> burst = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        ChannelAdapter batching = new ChannelAdapter() {
+            @Override
+            public DeliveryChannel channel() {
+                return DeliveryChannel.EMAIL;
+            }
+
+            @Override
+            public CompletableFuture<?> deliver(OrderEvent event) {
+                calls.incrementAndGet();
+                return burst;
+            }
+        };
+        ReflectionTestUtils.setField(dispatcher, "channelAdapters", List.of(batching, blocking(DeliveryChannel.SLACK, 0)));
+        dispatcher.start();
+
+        // Act
+        List<CompletableFuture<?>> email = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            email.add(dispatcher.deliver(DeliveryChannel.EMAIL, ORDER));
+        }
+
+        // Assert
+        ExecutionException deferred = assertThrows(ExecutionException.class, () -> email.get(14).get(1, TimeUnit.SECONDS));
+        assertTrue(assertInstanceOf(DeliveryException.class, deferred.getCause()).isThrottled());
+        assertEquals(4, dispatcher.bulkheadActive(DeliveryChannel.EMAIL));
+        assertEquals(10, dispatcher.bulkheadQueued(DeliveryChannel.EMAIL));
+        burst.complete(null);
+        for (int i = 0; i < 14; i++) {
+            email.get(i).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(14, calls.get());
+        assertEquals(0, dispatcher.bulkheadActive(DeliveryChannel.EMAIL));
+    }
+
+    private static ChannelAdapter blocking(DeliveryChannel channel, long millis) {
+        return new ChannelAdapter() {
+            @Override
+            public DeliveryChannel channel() {
+                return channel;
+            }
+
+            @Override
+            public CompletableFuture<?> deliver(OrderEvent event) throws Exception {
+                Thread.sleep(millis);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+    }
+}
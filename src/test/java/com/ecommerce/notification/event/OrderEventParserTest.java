@@ -0,0 +1,143 @@
+package com.ecommerce.notification.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.notification.payload.OrderStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class OrderEventParserTest {
+
+    private final OrderEventParser parser = new OrderEventParser();
+
+    @Test
+    void testExtractsOrderFieldsAndSkipsTheRest() throws Exception {
+        // Arrange
+        String payload = """
+            {
+              "__typename": "OrderCreated",
+              "order": {
+                "id": "T3JkZXI6MQ==",
+                "metadata": [{"key": "id", "value": {"id": "not-the-order"}}],
+                "created": "2025-08-11T20:30:00.000000+00:00",
+                "total": {"net": {"amount": 1.00}, "gross": {"amount": 25.97, "currency": "USD"}},
+                "lines": [
+                  {"quantity": 2, "variant": {"name": "1L", "product": {"name": "Apple Juice", "price": 4.5}}},
+                  {"variant": {"product": {"name": "Bread", "metadata": [{"key": "name", "value": "x"}]}}, "quantity": 1}
+                ],
+                "user": {"id": "VXNlcjoxMg==", "email": "test@example.com", "firstName": "TestUser"}
+              }
+            }
+            """;
+
+        // Act
+        OrderEvent event = parser.parse(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals("T3JkZXI6MQ==", event.orderId());
+        assertEquals("2025-08-11T20:30:00.000000+00:00", event.created());
+        assertEquals(25.97, event.grossAmount());
+        assertEquals("USD", event.currency());
+        assertEquals("TestUser", event.buyerFirstName());
+        assertEquals("test@example.com", event.buyerEmail());
+        assertEquals(2, event.lines().size());
+        assertEquals(new OrderEvent.OrderLine(2, "Apple Juice", 4.5), event.lines().get(0));
+        assertEquals(new OrderEvent.OrderLine(1, "Bread", 0.0), event.lines().get(1));
+    }
+
+    @Test
+    void testMissingOptionalFieldsDefaultToEmpty() throws Exception {
+        // Arrange
+        String payload = "{\"order\": {\"id\": \"o-1\", \"user\": null, \"total\": {\"gross\": {\"amount\": null}}}}";
+
+        // Act
+        OrderEvent event = parser.parse(payload);
+
+        // Assert
+        assertEquals("o-1", event.orderId());
+        assertEquals("", event.created());
+        assertEquals("", event.buyerFirstName());
+        assertEquals(0.0, event.grossAmount());
+        assertTrue(event.lines().isEmpty());
+    }
+
+    @Test
+    void testRejectsPayloadsWithoutOrderId() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("{\"__typename\": \"OrderCreated\"}"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("{\"order\": {\"id\": \"\"}}"));
+        assertThrows(IOException.class, () -> parser.parse("{ invalid json }"));
+        assertThrows(IOException.class, () -> parser.parse("[]"));
+    }
+
+    @Test
+    void testReadsTheOrderOrigin() throws Exception {
+        // Arrange
+        String payload = """
+            {
+              "order": {
+                "id": "o-1",
+                "channel": {"id": "Q2hhbm5lbDox", "slug": "cafes"},
+                "metadata": [{"key": "source", "value": "app"}, {"key": "storeId", "value": "cafe-1"}],
+                "lines": [
+                  {"quantity": 1, "allocations": [{"quantity": 1, "warehouse": {"slug": "downtown"}}]},
+                  {"quantity": 1, "allocations": [{"warehouse": {"slug": "uptown"}}]}
+                ]
+              }
+            }
+            """;
+        String pickup = "{\"order\": {\"id\": \"o-2\", \"collectionPoint\": {\"slug\": \"kiosk\"},"
+            + " \"lines\": [{\"allocations\": [{\"warehouse\": {\"slug\": \"downtown\"}}]}]}}";
+
+        // Act
+        OrderEvent event = parser.parse(payload);
+        OrderEvent pickupEvent = parser.parse(pickup);
+        OrderEvent plain = parser.parse("{\"order\": {\"id\": \"o-3\"}}");
+
+        // Assert
+        assertEquals(new OrderEvent.Origin("cafes", "downtown", "cafe-1"), event.origin());
+        assertEquals(2, event.lines().size());
+        assertEquals("kiosk", pickupEvent.origin().warehouse());
+        assertSame(OrderEvent.Origin.UNKNOWN, plain.origin());
+    }
+
+    @Test
+    void testReadsStatusChanges() throws Exception {
+        // Arrange
+        byte[] versioned = bytes("{\"order\": {\"id\": \"o-1\", \"status\": \"shipped\", \"version\": 7,"
+            + " \"metadata\": [{\"key\": \"storeId\", \"value\": \"cafe-1\"}]}}");
+        byte[] timestamped = bytes("{\"order\": {\"id\": \"o-2\", \"status\": \"CANCELED\","
+            + " \"updatedAt\": \"2025-08-11T20:30:00.000250+00:00\"}}");
+
+        // Act
+        OrderStatusChange shipped = parser.parseStatusChange(versioned);
+        OrderStatusChange cancelled = parser.parseStatusChange(timestamped);
+
+        // Assert
+        assertEquals("o-1", shipped.orderId());
+        assertEquals(OrderStatus.SHIPPED, shipped.status());
+        assertEquals(7, shipped.version());
+        assertEquals("cafe-1", shipped.order().origin().store());
+        assertEquals(OrderStatus.CANCELLED, cancelled.status());
+        assertEquals(1754944200000250L, cancelled.version());
+    }
+
+    @Test
+    void testRejectsStatusChangesWithoutStatusOrVersion() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.parseStatusChange(bytes("{\"order\": {\"id\": \"o-1\", \"version\": 1}}")));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.parseStatusChange(bytes("{\"order\": {\"id\": \"o-1\", \"status\": \"LOST\", \"version\": 1}}")));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.parseStatusChange(bytes("{\"order\": {\"id\": \"o-1\", \"status\": \"SHIPPED\"}}")));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.notification.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.delivery.DeliveryQueue;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.outbox.OutboxLog;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryBacklogHealthIndicatorTest {
+
+    @Mock
+    private DeliveryQueue deliveryQueue;
+
+    @Mock
+    private ObjectProvider<ReactiveDeliveryPipeline> reactiveDeliveryPipeline;
+
+    @Mock
+    private OutboxLog outboxLog;
+
+    @InjectMocks
+    private DeliveryBacklogHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indicator, "queueRatioThreshold", 0.8);
+        ReflectionTestUtils.setField(indicator, "maxUnacked", 100);
+        ReflectionTestUtils.setField(indicator, "recoverRatio", 0.5);
+        when(deliveryQueue.capacity()).thenReturn(1000);
+    }
+
+    @Test
+    void testFullQueueTakesTheInstanceOutOfServiceUntilItHasDrained() {
+        // Arrange
+        when(deliveryQueue.depth()).thenReturn(100, 850, 600, 350);
+        when(outboxLog.unackedCount()).thenReturn(10);
+
+        // Act & Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+        // Below the threshold but above the recovery point: still shedding
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    void testFullReactiveBufferIsNotHiddenByAnIdleDeliveryQueue() {
+        // Arrange
+        ReactiveDeliveryPipeline pipeline = mock(ReactiveDeliveryPipeline.class);
+        when(reactiveDeliveryPipeline.getIfAvailable()).thenReturn(pipeline);
+        when(pipeline.depth()).thenReturn(900);
+        when(pipeline.capacity()).thenReturn(1000);
+        when(deliveryQueue.depth()).thenReturn(0);
+        when(outboxLog.unackedCount()).thenReturn(10);
+
+        // Act
+        var health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(0.9, health.getDetails().get("queueRatio"));
+    }
+
+    @Test
+    void testUndeliveredOutboxEntriesCountAsBacklog() {
+        // Arrange
+        when(deliveryQueue.depth()).thenReturn(0);
+        when(outboxLog.unackedCount()).thenReturn(150);
+
+        // Act
+        var health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(150, health.getDetails().get("unacked"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.notification.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SlackWebhookHealthIndicatorTest {
+
+    private HttpServer server;
+    private final AtomicInteger probes = new AtomicInteger();
+    private volatile int status = 400;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            probes.incrementAndGet();
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testReachableHostIsUpAndProbedOncePerInterval() {
+        // Arrange
+        SlackWebhookHealthIndicator indicator = indicator(60_000);
+
+        // Act
+        var first = indicator.health();
+        var second = indicator.health();
+
+        // Assert
+        assertEquals(Status.UP, first.getStatus());
+        assertEquals(400, first.getDetails().get("status"));
+        assertSame(first, second);
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    void testUnavailableAndUnreachableHostsAreDown() {
+        // Arrange
+        status = 503;
+        SlackWebhookHealthIndicator indicator = indicator(0);
+
+        // Act & Assert
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        server.stop(0);
+        var unreachable = indicator.health();
+        assertEquals(Status.DOWN, unreachable.getStatus());
+        assertTrue(unreachable.getDetails().containsKey("error"));
+    }
+
+    private SlackWebhookHealthIndicator indicator(long cacheTtlMs) {
+        SlackWebhookHealthIndicator indicator = new SlackWebhookHealthIndicator();
+        ReflectionTestUtils.setField(indicator, "slackWebhookUrl",
+            "http://localhost:" + server.getAddress().getPort() + "/hook");
+        ReflectionTestUtils.setField(indicator, "cacheTtlMs", cacheTtlMs);
+        ReflectionTestUtils.setField(indicator, "timeoutMs", 1000L);
+        indicator.start();
+        return indicator;
+    }
+}
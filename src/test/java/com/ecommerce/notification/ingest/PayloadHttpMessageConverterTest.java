@@ -0,0 +1,72 @@
+package com.ecommerce.notification.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+
+class PayloadHttpMessageConverterTest {
+
+    private final BufferPool bufferPool = new BufferPool(16, 4);
+    private final PayloadHttpMessageConverter converter = new PayloadHttpMessageConverter(bufferPool, 100);
+
+    @Test
+    void testBodyWithContentLengthIsReadWhole() throws Exception {
+        // Arrange
+        byte[] body = "{\"order\":{\"id\":\"X\"}}".getBytes(StandardCharsets.UTF_8);
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentLength(body.length);
+
+        // Act
+        byte[] payload = converter.readInternal(byte[].class, message);
+
+        // Assert
+        assertArrayEquals(body, payload);
+        assertEquals(0, bufferPool.idle());
+    }
+
+    @Test
+    void testChunkedBodyIsAssembledFromPooledBuffers() throws Exception {
+        // Arrange
+        byte[] body = "{\"order\":{\"id\":\"a-rather-long-order-id\"}}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] first = converter.readInternal(byte[].class, new MockHttpInputMessage(body));
+        byte[] second = converter.readInternal(byte[].class, new MockHttpInputMessage(body));
+        byte[] exact = converter.readInternal(byte[].class, new MockHttpInputMessage(new byte[32]));
+
+        // Assert
+        assertArrayEquals(body, first);
+        assertArrayEquals(body, second);
+        assertEquals(32, exact.length);
+        // Three buffers for the body, reused by the second read and returned afterwards
+        assertEquals(3, bufferPool.idle());
+    }
+
+    @Test
+    void testOversizedAndTruncatedBodiesAreRefused() {
+        // Arrange
+        MockHttpInputMessage declared = new MockHttpInputMessage(new byte[0]);
+        declared.getHeaders().setContentLength(101);
+        MockHttpInputMessage chunked = new MockHttpInputMessage(new byte[101]);
+        MockHttpInputMessage truncated = new MockHttpInputMessage(new byte[10]);
+        truncated.getHeaders().setContentLength(20);
+
+        // Act
+        ResponseStatusException tooLarge = assertThrows(ResponseStatusException.class,
+            () -> converter.readInternal(byte[].class, declared));
+        ResponseStatusException chunkedTooLarge = assertThrows(ResponseStatusException.class,
+            () -> converter.readInternal(byte[].class, chunked));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge.getStatusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, chunkedTooLarge.getStatusCode());
+        assertEquals(4, bufferPool.idle());
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.readInternal(byte[].class, truncated));
+    }
+}
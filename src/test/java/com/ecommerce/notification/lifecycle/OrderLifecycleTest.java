@@ -0,0 +1,151 @@
+package com.ecommerce.notification.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.cluster.ClusterMembership;
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.delivery.RetryPolicy;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.reminder.PickupReminders;
+import com.ecommerce.notification.scheduling.TimerWheel;
+import com.ecommerce.notification.service.OrderNotificationService;
+import com.ecommerce.notification.service.SlackNotificationService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+class OrderLifecycleTest {
+
+    private final SlackNotificationService slack = mock(SlackNotificationService.class);
+    private final OrderNotificationService email = mock(OrderNotificationService.class);
+    private final PickupReminders pickupReminders = mock(PickupReminders.class);
+    private final RetryPolicy retryPolicy = mock(RetryPolicy.class);
+    private final TimerWheel timer = new TimerWheel("test-timer", Duration.ofMillis(5), 64);
+    private final OrderLifecycle lifecycle = new OrderLifecycle();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lifecycle, "orderEventParser", new OrderEventParser());
+        ReflectionTestUtils.setField(lifecycle, "slackNotificationService", slack);
+        ReflectionTestUtils.setField(lifecycle, "orderNotificationService", email);
+        ReflectionTestUtils.setField(lifecycle, "pickupReminders", pickupReminders);
+        ReflectionTestUtils.setField(lifecycle, "retryPolicy", retryPolicy);
+        ReflectionTestUtils.setField(lifecycle, "deliveryTimer", timer);
+        ReflectionTestUtils.setField(lifecycle, "clusterMembership", mock(ClusterMembership.class));
+        ReflectionTestUtils.setField(lifecycle, "channelNames", new String[] {"slack", "email"});
+        ReflectionTestUtils.setField(lifecycle, "coalesceWindowMs", 100L);
+        ReflectionTestUtils.setField(lifecycle, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(lifecycle, "maxOrders", 1000);
+        ReflectionTestUtils.setField(lifecycle, "senders", 1);
+        lifecycle.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lifecycle.stop();
+        timer.close();
+    }
+
+    @Test
+    void testChangesWithinTheWindowAreSentOnceWithTheLatestStatus() throws Exception {
+        // Act
+        OrderLifecycle.Outcome confirmed = lifecycle.accept(status("o-1", "CONFIRMED", 1));
+        OrderLifecycle.Outcome shipped = lifecycle.accept(status("o-1", "SHIPPED", 2));
+        OrderLifecycle.Outcome delivered = lifecycle.accept(status("o-1", "DELIVERED", 3));
+
+        // Assert
+        assertEquals(OrderLifecycle.Outcome.APPLIED, confirmed);
+        assertEquals(OrderLifecycle.Outcome.COALESCED, shipped);
+        assertEquals(OrderLifecycle.Outcome.COALESCED, delivered);
+        verify(slack, timeout(2000)).sendStatusUpdate(any(), eq(OrderStatus.DELIVERED));
+        verify(email, timeout(2000)).sendStatusUpdate(any(), eq(OrderStatus.DELIVERED));
+        Thread.sleep(250);
+        verify(slack, times(1)).sendStatusUpdate(any(), any());
+        verify(email, times(1)).sendStatusUpdate(any(), any());
+    }
+
+    @Test
+    void testStaleAndImpossibleChangesAreDropped() {
+        // Arrange
+        lifecycle.accept(status("o-1", "SHIPPED", 5));
+
+        // Act
+        OrderLifecycle.Outcome older = lifecycle.accept(status("o-1", "CONFIRMED", 3));
+        OrderLifecycle.Outcome repeated = lifecycle.accept(status("o-1", "SHIPPED", 5));
+        OrderLifecycle.Outcome touched = lifecycle.accept(status("o-1", "SHIPPED", 6));
+        OrderLifecycle.Outcome impossible = lifecycle.accept(status("o-1", "CANCELLED", 7));
+
+        // Assert
+        assertEquals(OrderLifecycle.Outcome.STALE, older);
+        assertEquals(OrderLifecycle.Outcome.STALE, repeated);
+        assertEquals(OrderLifecycle.Outcome.UNCHANGED, touched);
+        assertEquals(OrderLifecycle.Outcome.REJECTED, impossible);
+        assertEquals(Optional.of(OrderStatus.SHIPPED), lifecycle.status("o-1"));
+        verify(pickupReminders, never()).onStatusChange("o-1", OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void testCancellationReachesPickupRemindersWithoutWaitingForTheWindow() {
+        // Act
+        lifecycle.accept(status("o-1", "CANCELLED", 1));
+
+        // Assert
+        verify(pickupReminders).onStatusChange("o-1", OrderStatus.CANCELLED);
+        verify(slack, never()).sendStatusUpdate(any(), any());
+    }
+
+    @Test
+    void testChangeAfterTheWindowIsSentSeparately() {
+        // Arrange
+        lifecycle.accept(status("o-1", "CONFIRMED", 1));
+        verify(slack, timeout(2000)).sendStatusUpdate(any(), eq(OrderStatus.CONFIRMED));
+
+        // Act
+        OrderLifecycle.Outcome shipped = lifecycle.accept(status("o-1", "SHIPPED", 2));
+
+        // Assert
+        assertEquals(OrderLifecycle.Outcome.APPLIED, shipped);
+        verify(slack, timeout(2000)).sendStatusUpdate(any(), eq(OrderStatus.SHIPPED));
+        verify(email, timeout(2000)).sendStatusUpdate(any(), eq(OrderStatus.SHIPPED));
+    }
+
+    @Test
+    void testFailedChannelIsRetriedAlone() {
+        // Arrange
+        DeliveryException failure = new DeliveryException("Failed to send Slack notification", null, true, null);
+        when(slack.sendStatusUpdate(any(), any())).thenThrow(failure).thenReturn("o-1");
+        when(retryPolicy.nextDelay(1, failure)).thenReturn(Optional.of(Duration.ofMillis(20)));
+
+        // Act
+        lifecycle.accept(status("o-1", "CONFIRMED", 1));
+
+        // Assert
+        verify(slack, timeout(2000).times(2)).sendStatusUpdate(any(), eq(OrderStatus.CONFIRMED));
+        verify(email, times(1)).sendStatusUpdate(any(), eq(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void testPayloadWithoutVersionIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> lifecycle.accept(
+            "{\"order\": {\"id\": \"o-1\", \"status\": \"SHIPPED\"}}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0, lifecycle.tracked());
+    }
+
+    private static byte[] status(String orderId, String status, long version) {
+        return """
+            {"__typename": "OrderUpdated", "order": {"id": "%s", "status": "%s", "version": %d,
+              "created": "2025-08-11T20:30:00.000000+00:00", "user": {"firstName": "Austin"}}}
+            """.formatted(orderId, status, version).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.notification.mail;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.metrics.NotificationMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class MailBatcherTest {
+
+    private final CountDownLatch smtpReleased = new CountDownLatch(1);
+    private MailBatcher mailBatcher;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> smtpReleased.await(5, TimeUnit.SECONDS))
+            .when(mailSender).send(any(SimpleMailMessage[].class));
+        mailBatcher = new MailBatcher();
+        ReflectionTestUtils.setField(mailBatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(mailBatcher, "metrics", NotificationMetrics.noop());
+        ReflectionTestUtils.setField(mailBatcher, "maxBatchSize", 1);
+        ReflectionTestUtils.setField(mailBatcher, "lingerMs", 0L);
+        ReflectionTestUtils.setField(mailBatcher, "senders", 1);
+        ReflectionTestUtils.setField(mailBatcher, "maxPending", 2);
+        mailBatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtpReleased.countDown();
+        mailBatcher.stop();
+    }
+
+    @Test
+    void testSubmitBlocksOnceMaxPendingMailsWait() throws Exception {
+        // Arrange
+        CompletableFuture<Void> first = mailBatcher.submit(message("Order 1"));
+        CompletableFuture<Void> second = mailBatcher.submit(message("Order 2"));
+
+        // Act
+        CompletableFuture<CompletableFuture<Void>> third =
+            CompletableFuture.supplyAsync(() -> mailBatcher.submit(message("Order 3")));
+
+        // Assert
+        assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+        smtpReleased.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+    }
+
+    private static SimpleMailMessage message(String subject) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo("orders@example.com");
+        message.setSubject(subject);
+        return message;
+    }
+}
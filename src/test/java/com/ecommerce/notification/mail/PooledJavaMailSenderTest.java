@@ -0,0 +1,186 @@
+package com.ecommerce.notification.mail;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class PooledJavaMailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = newSender(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailSender.destroy();
+    }
+
+    @Test
+    void testSessionIsReusedAcrossSends() throws Exception {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            mailSender.send(message("Order " + i));
+        }
+
+        // Assert
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        assertEquals(1, mailSender.connectionsOpened());
+        assertEquals(2, mailSender.connectionsReused());
+        assertEquals(1, mailSender.idleConnections());
+        assertEquals(0, mailSender.activeConnections());
+    }
+
+    @Test
+    void testBurstIsSentOverOneSession() throws Exception {
+        // Act
+        mailSender.send(message("Order 1"), message("Order 2"), message("Order 3"), message("Order 4"));
+
+        // Assert
+        assertEquals(4, greenMail.getReceivedMessages().length);
+        assertEquals(1, mailSender.connectionsOpened());
+    }
+
+    @Test
+    void testIdleSessionIsEvictedAndReopened() throws Exception {
+        // Arrange
+        mailSender.destroy();
+        mailSender = newSender(Duration.ZERO);
+        mailSender.send(message("Order 1"));
+
+        // Act
+        mailSender.evictIdle();
+        mailSender.send(message("Order 2"));
+
+        // Assert
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2, mailSender.connectionsOpened());
+    }
+
+    @Test
+    void testBurstContinuesOnANewSessionWhenTheConnectionDrops() throws Exception {
+        // Arrange
+        mailSender.destroy();
+        DroppingSender sender = newDroppingSender(Set.of());
+        mailSender = sender;
+
+        // Act
+        sender.send(sender.message("Order 1", false), sender.message("Order 2", true), sender.message("Order 3", false));
+
+        // Assert
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        assertEquals(2, sender.connectionsOpened());
+        assertEquals(0, sender.activeConnections());
+    }
+
+    @Test
+    void testOnlyTheMessageThatCouldNotBeResentFails() throws Exception {
+        // Arrange
+        mailSender.destroy();
+        DroppingSender sender = newDroppingSender(Set.of(2));
+        mailSender = sender;
+        MimeMessage dropped = sender.message("Order 2", true);
+
+        // Act
+        MailSendException error = assertThrows(MailSendException.class,
+            () -> sender.send(sender.message("Order 1", false), dropped, sender.message("Order 3", false)));
+
+        // Assert
+        assertEquals(Set.of(dropped), error.getFailedMessages().keySet());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(0, sender.activeConnections());
+        assertEquals(1, sender.idleConnections());
+    }
+
+    private DroppingSender newDroppingSender(Set<Integer> failingConnects) {
+        DroppingSender sender = new DroppingSender(failingConnects);
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private PooledJavaMailSender newSender(Duration idleTimeout) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(2, idleTimeout, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static SimpleMailMessage message(String subject) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("orders@bulkmagic.test");
+        message.setTo("store@bulkmagic.test");
+        message.setSubject(subject);
+        message.setText("You've received a new order on BulkMagic.");
+        return message;
+    }
+
+    /**
+     * Closes its open connections while a message is prepared, as a server dropping the session would,
+     * and fails the connection attempts numbered in {@code failingConnects}.
+     */
+    private static final class DroppingSender extends PooledJavaMailSender {
+
+        private final Set<Integer> failingConnects;
+        private final List<Transport> transports = new ArrayList<>();
+
+        private DroppingSender(Set<Integer> failingConnects) {
+            super(2, Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofSeconds(5));
+            this.failingConnects = failingConnects;
+        }
+
+        @Override
+        protected Transport connectTransport() throws MessagingException {
+            if (failingConnects.contains(transports.size() + 1)) {
+                transports.add(null);
+                throw new MessagingException("Connection refused");
+            }
+            Transport transport = super.connectTransport();
+            transports.add(transport);
+            return transport;
+        }
+
+        private MimeMessage message(String subject, boolean dropConnection) throws MessagingException {
+            MimeMessage message = new MimeMessage(Session.getInstance(getJavaMailProperties())) {
+                @Override
+                public void saveChanges() throws MessagingException {
+                    super.saveChanges();
+                    if (dropConnection) {
+                        for (Transport transport : transports) {
+                            if (transport != null) {
+                                transport.close();
+                            }
+                        }
+                    }
+                }
+            };
+            message.setFrom(new InternetAddress("orders@bulkmagic.test"));
+            message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress("store@bulkmagic.test"));
+            message.setSubject(subject);
+            message.setText("You've received a new order on BulkMagic.");
+            return message;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.notification.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+class NotificationMetricsTest {
+
+    @Test
+    void testSendsAreCountedAndTimedPerChannelAndOutcome() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationMetrics metrics = new NotificationMetrics(registry);
+
+        // Act
+        metrics.recordSend(DeliveryChannel.SLACK, NotificationMetrics.Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(12));
+        metrics.recordSend(DeliveryChannel.SLACK, NotificationMetrics.Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(8));
+        metrics.recordSend(DeliveryChannel.EMAIL, NotificationMetrics.Outcome.FAILURE, TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.retried(DeliveryChannel.EMAIL);
+        metrics.abandoned(DeliveryChannel.EMAIL);
+
+        // Assert
+        assertEquals(2.0, registry.get("notification.deliveries").tags("channel", "slack", "outcome", "success").counter().count());
+        assertEquals(1.0, registry.get("notification.deliveries").tags("channel", "email", "outcome", "failure").counter().count());
+        assertEquals(0.0, registry.get("notification.deliveries").tags("channel", "slack", "outcome", "failure").counter().count());
+        Timer slackSends = registry.get("notification.send").tags("channel", "slack", "outcome", "success").timer();
+        assertEquals(2, slackSends.count());
+        assertEquals(20.0, slackSends.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1.0, registry.get("notification.retries").tag("channel", "email").counter().count());
+        assertEquals(1.0, registry.get("notification.abandoned").tag("channel", "email").counter().count());
+    }
+
+    @Test
+    void testStageAndOutboundTimersAreRegisteredUpFront() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationMetrics metrics = new NotificationMetrics(registry);
+
+        // Act
+        metrics.recordParse(TimeUnit.MICROSECONDS.toNanos(40));
+        metrics.recordRender(DeliveryChannel.EMAIL, TimeUnit.MICROSECONDS.toNanos(15));
+        metrics.recordOutbound(NotificationMetrics.Client.SMTP, false, TimeUnit.SECONDS.toNanos(2));
+
+        // Assert
+        assertEquals(1, registry.get("notification.parse").timer().count());
+        assertEquals(1, registry.get("notification.render").tag("channel", "email").timer().count());
+        assertEquals(0, registry.get("notification.render").tag("channel", "slack").timer().count());
+        assertEquals(1, registry.get("notification.outbound").tags("client", "smtp", "outcome", "error").timer().count());
+        assertEquals(0, registry.get("notification.outbound").tags("client", "slack", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void testOutcomeDistinguishesThrottledAttempts() {
+        // Act & Assert
+        assertEquals(NotificationMetrics.Outcome.SUCCESS, NotificationMetrics.Outcome.of(null));
+        assertEquals(NotificationMetrics.Outcome.THROTTLED,
+            NotificationMetrics.Outcome.of(new CompletionException(DeliveryException.throttled("Slack webhook", 1_000_000))));
+        assertEquals(NotificationMetrics.Outcome.FAILURE, NotificationMetrics.Outcome.of(new IllegalStateException("boom")));
+    }
+}
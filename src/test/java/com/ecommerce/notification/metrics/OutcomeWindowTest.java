@@ -0,0 +1,48 @@
+package com.ecommerce.notification.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+class OutcomeWindowTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testOnlyAttemptsWithinTheWindowAreCounted() {
+        // Arrange
+        OutcomeWindow window = new OutcomeWindow(Duration.ofSeconds(10), 10);
+
+        // Act
+        window.record(true, 0);
+        window.record(true, 2 * SECOND);
+        window.record(false, 9 * SECOND);
+
+        // Assert
+        OutcomeWindow.Snapshot recent = window.snapshot(9 * SECOND);
+        assertEquals(3, recent.attempts());
+        assertEquals(2, recent.failures());
+        OutcomeWindow.Snapshot later = window.snapshot(11 * SECOND);
+        assertEquals(2, later.attempts());
+        assertEquals(0.5, later.errorRate(), 0.0001);
+    }
+
+    @Test
+    void testExpiredBucketIsResetWhenReused() {
+        // Arrange
+        OutcomeWindow window = new OutcomeWindow(Duration.ofSeconds(10), 10);
+        window.record(true, SECOND);
+
+        // Act
+        window.record(false, 11 * SECOND);
+
+        // Assert
+        OutcomeWindow.Snapshot recent = window.snapshot(11 * SECOND);
+        assertEquals(1, recent.attempts());
+        assertEquals(0, recent.failures());
+        assertEquals(0.0, new OutcomeWindow(Duration.ofSeconds(1), 4).snapshot().errorRate());
+    }
+}
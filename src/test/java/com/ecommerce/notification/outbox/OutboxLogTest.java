@@ -0,0 +1,123 @@
+package com.ecommerce.notification.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class OutboxLogTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testUnacknowledgedEntriesAreRecoveredAfterRestart() throws Exception {
+        // Arrange
+        OutboxLog outbox = newOutbox(1024 * 1024);
+        outbox.open();
+        long delivered = outbox.appendAndSync(DeliveryChannel.EMAIL, "order-1", bytes("{\"n\":1}"), TIMEOUT);
+        long pending = outbox.appendAndSync(DeliveryChannel.SLACK, "order-2", bytes("{\"n\":2}"), TIMEOUT);
+        outbox.ack(delivered);
+        outbox.close();
+
+        // Act
+        OutboxLog reopened = newOutbox(1024 * 1024);
+        reopened.open();
+        List<OutboxEntry> recovered = reopened.takeRecovered();
+
+        // Assert
+        assertEquals(1, recovered.size());
+        OutboxEntry entry = recovered.get(0);
+        assertEquals(pending, entry.sequence());
+        assertEquals(DeliveryChannel.SLACK, entry.channel());
+        assertEquals("order-2", entry.orderId());
+        assertEquals("{\"n\":2}", new String(entry.payload(), StandardCharsets.UTF_8));
+        assertTrue(reopened.takeRecovered().isEmpty());
+
+        // Sequences keep increasing across restarts
+        long next = reopened.appendAndSync(DeliveryChannel.EMAIL, "order-3", bytes("{}"), TIMEOUT);
+        assertTrue(next > pending);
+        reopened.close();
+    }
+
+    @Test
+    void testCompactionRemovesOnlyFullyAcknowledgedSegments() throws Exception {
+        // Arrange: segments small enough to hold a couple of entries each
+        OutboxLog outbox = newOutbox(256);
+        outbox.open();
+        byte[] payload = bytes("x".repeat(80));
+        long[] sequences = new long[6];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = outbox.appendAndSync(DeliveryChannel.EMAIL, "order-" + i, payload, TIMEOUT);
+        }
+        int segmentsBefore = outbox.segmentCount();
+
+        // Act: acknowledge everything except the last entry
+        for (int i = 0; i < sequences.length - 1; i++) {
+            outbox.ack(sequences[i]);
+        }
+        int removed = outbox.compact();
+        outbox.close();
+
+        // Assert
+        assertTrue(segmentsBefore > 1);
+        assertTrue(removed > 0);
+        OutboxLog reopened = newOutbox(256);
+        reopened.open();
+        List<OutboxEntry> recovered = reopened.takeRecovered();
+        assertEquals(1, recovered.size());
+        assertEquals(sequences[sequences.length - 1], recovered.get(0).sequence());
+        reopened.close();
+    }
+
+    @Test
+    void testEntriesOfATimedOutAppendAreNotReplayed() throws Exception {
+        // Arrange: a group commit window far longer than the caller waits
+        OutboxLog outbox = new OutboxLog(directory, 1024 * 1024, Duration.ofMillis(200), 64, Duration.ofHours(1));
+        outbox.open();
+
+        // Act
+        assertThrows(UncheckedIOException.class, () ->
+            outbox.appendAndSync(List.of(DeliveryChannel.EMAIL, DeliveryChannel.SLACK), "order-1", bytes("{}"), Duration.ZERO));
+
+        // Assert
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (outbox.unackedCount() > 0) {
+            assertTrue(System.nanoTime() < deadline, "entries still unacknowledged");
+            Thread.sleep(10);
+        }
+        outbox.close();
+        OutboxLog reopened = newOutbox(1024 * 1024);
+        reopened.open();
+        assertTrue(reopened.takeRecovered().isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void testPayloadLargerThanSegmentIsRejected() throws Exception {
+        OutboxLog outbox = newOutbox(128);
+        outbox.open();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            outbox.append(DeliveryChannel.SLACK, "order-1", new byte[256]));
+        outbox.close();
+    }
+
+    private OutboxLog newOutbox(int segmentSize) {
+        return new OutboxLog(directory, segmentSize, Duration.ofMillis(1), 64, Duration.ofHours(1));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.notification.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketTest {
+
+    @Test
+    void testBurstIsGrantedThenCallersMustWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        // Act & Assert
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testPauseWithholdsPermitsForTheRetryAfterPeriod() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(100, 10);
+
+        // Act
+        bucket.pause(TimeUnit.SECONDS.toNanos(30));
+
+        // Assert
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(29));
+    }
+}
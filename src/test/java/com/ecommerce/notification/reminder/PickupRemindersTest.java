@@ -0,0 +1,181 @@
+package com.ecommerce.notification.reminder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.delivery.RetryPolicy;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.payload.OrderStatus;
+import com.ecommerce.notification.scheduling.TimerWheel;
+import com.ecommerce.notification.service.SlackNotificationService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class PickupRemindersTest {
+
+    @TempDir
+    Path directory;
+
+    private final OrderEventParser parser = new OrderEventParser();
+    private final SlackNotificationService slack = mock(SlackNotificationService.class);
+    private final RetryPolicy retryPolicy = mock(RetryPolicy.class);
+    private final List<PickupReminders> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (PickupReminders reminders : opened) {
+            reminders.close();
+        }
+    }
+
+    @Test
+    void testReminderIsSentAtPickupTime() throws Exception {
+        // Arrange
+        PickupReminders reminders = open();
+        byte[] payload = order("order-1", Instant.now().minus(Duration.ofMinutes(10)).plusMillis(200));
+
+        // Act
+        reminders.register(parser.parse(payload), payload);
+
+        // Assert
+        assertEquals(1, reminders.pending());
+        verify(slack, never()).sendPickupReminder(any());
+        verify(slack, timeout(2000)).sendPickupReminder(argThat(event -> event.orderId().equals("order-1")));
+        awaitPending(reminders, 0);
+        assertEquals(1, reminders.sent());
+    }
+
+    @Test
+    void testCancelledOrderIsNotReminded() throws Exception {
+        // Arrange
+        PickupReminders reminders = open();
+        byte[] payload = order("order-1", Instant.now().minus(Duration.ofMinutes(10)).plusMillis(200));
+        reminders.register(parser.parse(payload), payload);
+
+        // Act
+        reminders.onStatusChange("order-1", OrderStatus.CANCELLED);
+
+        // Assert
+        assertEquals(0, reminders.pending());
+        Thread.sleep(400);
+        verify(slack, never()).sendPickupReminder(any());
+        assertFalse(reminders.cancel("order-1"));
+    }
+
+    @Test
+    void testOrdersPastTheirPickupTimeAreNotReminded() throws Exception {
+        // Arrange
+        PickupReminders reminders = open();
+        byte[] payload = order("order-1", Instant.parse("2025-08-11T20:30:00Z"));
+
+        // Act
+        reminders.register(parser.parse(payload), payload);
+
+        // Assert
+        assertEquals(0, reminders.pending());
+    }
+
+    @Test
+    void testFailedReminderIsRetried() throws Exception {
+        // Arrange
+        PickupReminders reminders = open();
+        DeliveryException failure = new DeliveryException("Failed to send Slack notification", null, true, null);
+        when(slack.sendPickupReminder(any())).thenThrow(failure).thenReturn("order-1");
+        when(retryPolicy.nextDelay(1, failure)).thenReturn(Optional.of(Duration.ofMillis(50)));
+        byte[] payload = order("order-1", Instant.now().minus(Duration.ofMinutes(10)));
+
+        // Act
+        reminders.register(parser.parse(payload), payload);
+
+        // Assert
+        verify(slack, timeout(2000).times(2)).sendPickupReminder(any());
+        awaitPending(reminders, 0);
+        assertEquals(1, reminders.sent());
+    }
+
+    @Test
+    void testReminderThatCannotBeScheduledDoesNotFailTheOrder() throws Exception {
+        // Arrange: the timer wheel is closed first during shutdown
+        PickupReminders reminders = open();
+        ((TimerWheel) ReflectionTestUtils.getField(reminders, "timer")).close();
+        byte[] payload = order("order-1", Instant.now().plus(Duration.ofHours(1)));
+
+        // Act
+        assertDoesNotThrow(() -> reminders.register(parser.parse(payload), payload));
+
+        // Assert
+        assertEquals(0, reminders.pending());
+    }
+
+    @Test
+    void testPendingRemindersAreRestoredAfterRestart() throws Exception {
+        // Arrange
+        PickupReminders before = open();
+        byte[] due = order("order-1", Instant.now().plus(Duration.ofHours(1)));
+        byte[] cancelled = order("order-2", Instant.now().plus(Duration.ofHours(1)));
+        before.register(parser.parse(due), due);
+        before.register(parser.parse(cancelled), cancelled);
+        before.cancel("order-2");
+        // Let the appends complete before shutting down
+        Thread.sleep(200);
+        before.close();
+        opened.remove(before);
+
+        // Act
+        PickupReminders after = open();
+        after.run(null);
+
+        // Assert
+        assertEquals(1, after.pending());
+        assertTrue(after.cancel("order-1"));
+        assertFalse(after.cancel("order-2"));
+    }
+
+    private PickupReminders open() throws Exception {
+        PickupReminders reminders = new PickupReminders();
+        ReflectionTestUtils.setField(reminders, "slackNotificationService", slack);
+        ReflectionTestUtils.setField(reminders, "orderEventParser", parser);
+        ReflectionTestUtils.setField(reminders, "retryPolicy", retryPolicy);
+        ReflectionTestUtils.setField(reminders, "enabled", true);
+        ReflectionTestUtils.setField(reminders, "directory", directory.toString());
+        ReflectionTestUtils.setField(reminders, "segmentSize", 64 * 1024);
+        ReflectionTestUtils.setField(reminders, "maxPending", 1000);
+        ReflectionTestUtils.setField(reminders, "maxLatenessMs", 60_000L);
+        ReflectionTestUtils.setField(reminders, "timerTickMs", 10L);
+        ReflectionTestUtils.setField(reminders, "timerWheelSize", 64);
+        ReflectionTestUtils.setField(reminders, "senders", 1);
+        reminders.open();
+        opened.add(reminders);
+        return reminders;
+    }
+
+    private static void awaitPending(PickupReminders reminders, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (reminders.pending() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, reminders.pending());
+    }
+
+    private static byte[] order(String orderId, Instant created) {
+        return """
+            {"order": {"id": "%s", "created": "%s",
+              "lines": [{"quantity": 2, "variant": {"product": {"name": "Apple Juice"}}}],
+              "user": {"firstName": "Austin"}}}
+            """.formatted(orderId, created.atOffset(ZoneOffset.UTC)).getBytes(StandardCharsets.UTF_8);
+    }
+}
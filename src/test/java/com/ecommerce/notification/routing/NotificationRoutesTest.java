@@ -0,0 +1,86 @@
+package com.ecommerce.notification.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.event.OrderEvent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+class NotificationRoutesTest {
+
+    private static final OrderEvent CAFE_1 = new OrderEvent("o-1", "", 1.0, "USD", "", "", List.of(),
+        new OrderEvent.Origin("cafes", "", "cafe-1"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoutingFileIsReloadedWhenItChanges() throws Exception {
+        // Arrange
+        Path file = directory.resolve("routes.yml");
+        Files.writeString(file, """
+            routes:
+              - store: cafe-1
+                slack-channel: cafe-1--orders
+            """);
+        NotificationRoutes routes = newRoutes(file);
+        routes.load();
+        assertEquals("cafe-1--orders", routes.resolve(CAFE_1).slackChannel());
+
+        // Act: a valid change, then a broken one
+        Files.writeString(file, """
+            routes:
+              - store: cafe-1
+                slack-channel: cafe-1--new
+              - channel: cafes
+                email-to: [team@cafes.example]
+            """);
+        touch(file, 1);
+        routes.reloadChanged();
+        String afterChange = routes.resolve(CAFE_1).slackChannel();
+        Files.writeString(file, "routes:\n  - store: cafe-1\n");
+        touch(file, 2);
+        routes.reloadChanged();
+
+        // Assert: the broken file is ignored
+        assertEquals("cafe-1--new", afterChange);
+        assertEquals("cafe-1--new", routes.resolve(CAFE_1).slackChannel());
+        assertEquals(2, routes.table().size());
+    }
+
+    @Test
+    void testInvalidFileFailsStartupAndMissingFileUsesDefaults() throws Exception {
+        // Arrange
+        Path broken = directory.resolve("broken.yml");
+        Files.writeString(broken, "routes: not-a-list\n");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> newRoutes(broken).load());
+        NotificationRoutes missing = newRoutes(directory.resolve("missing.yml"));
+        missing.load();
+        assertSame(Route.DEFAULT, missing.resolve(CAFE_1));
+        assertSame(Route.DEFAULT, NotificationRoutes.none().resolve(CAFE_1));
+    }
+
+    private static NotificationRoutes newRoutes(Path file) {
+        NotificationRoutes routes = new NotificationRoutes();
+        ReflectionTestUtils.setField(routes, "file", file.toString());
+        ReflectionTestUtils.setField(routes, "reloadIntervalMs", 0L);
+        return routes;
+    }
+
+    /**
+     * Moves the modification time forward, since a rewrite within the file system's resolution keeps it.
+     */
+    private static void touch(Path file, int seconds) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.notification.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.notification.event.OrderEvent.Origin;
+
+import java.util.List;
+import java.util.Map;
+
+class RoutingTableTest {
+
+    private static final RoutingTable TABLE = RoutingTable.compile(List.of(
+        Map.of("store", "cafe-1", "slack-channel", "cafe-1--orders", "email-to", List.of("owner@cafe-1.example")),
+        Map.of("warehouse", "downtown", "slack-webhook-url", "https://hooks.slack.com/services/downtown"),
+        Map.of("channel", "cafe-2", "email-to", "a@cafe-2.example, b@cafe-2.example")
+    ));
+
+    @Test
+    void testMostSpecificMatchWins() {
+        // Act & Assert
+        assertEquals("store=cafe-1", TABLE.resolve(new Origin("cafe-2", "downtown", "cafe-1")).match());
+        assertEquals("warehouse=downtown", TABLE.resolve(new Origin("cafe-2", "downtown", "cafe-9")).match());
+        assertEquals("channel=cafe-2", TABLE.resolve(new Origin("cafe-2", "uptown", "")).match());
+        assertSame(Route.DEFAULT, TABLE.resolve(new Origin("cafe-3", "", "")));
+        assertSame(Route.DEFAULT, TABLE.resolve(Origin.UNKNOWN));
+        assertEquals(3, TABLE.size());
+    }
+
+    @Test
+    void testUnsetFieldsAreLeftToTheDefaults() {
+        // Act
+        Route store = TABLE.resolve(new Origin("", "", "cafe-1"));
+        Route channel = TABLE.resolve(new Origin("cafe-2", "", ""));
+
+        // Assert
+        assertNull(store.slackWebhookUrl());
+        assertEquals("cafe-1--orders", store.slackChannel());
+        assertEquals(List.of("owner@cafe-1.example"), store.emailTo());
+        assertNull(channel.slackChannel());
+        assertEquals(List.of("a@cafe-2.example", "b@cafe-2.example"), channel.emailTo());
+    }
+
+    @Test
+    void testRejectsInvalidEntries() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("slack-channel", "no-match"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1", "channel", "cafe-1", "slack-channel", "x"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1", "slack-chanel", "typo"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1", "slack-webhook-url", "hooks.slack.com/x"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1", "email-to", "not-an-address"))));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(
+            Map.of("store", "cafe-1", "slack-channel", "a"),
+            Map.of("store", "cafe-1", "slack-channel", "b"))));
+        assertTrue(duplicate.getMessage().startsWith("Route 2"));
+    }
+}
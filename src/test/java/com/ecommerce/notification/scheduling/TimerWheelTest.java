@@ -0,0 +1,104 @@
+package com.ecommerce.notification.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class TimerWheelTest {
+
+    private final TimerWheel wheel = new TimerWheel("test-timer", Duration.ofMillis(5), 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void testTaskRunsAfterItsDelay() throws Exception {
+        // Arrange
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // Act: longer than one revolution of the wheel
+        wheel.schedule(fired::countDown, 100, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void testCancelledTaskDoesNotRun() throws Exception {
+        // Arrange
+        AtomicBoolean ran = new AtomicBoolean();
+        TimerWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 50, TimeUnit.MILLISECONDS);
+
+        // Act
+        assertTrue(timeout.cancel());
+
+        // Assert
+        Thread.sleep(150);
+        assertFalse(ran.get());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void testTimersSeveralLevelsUpFireInOrderAndNotEarly() throws Exception {
+        // Arrange: 2 ms x 4 slots, so 300 ms is four levels above the first
+        try (TimerWheel small = new TimerWheel("test-small", Duration.ofMillis(2), 4)) {
+            long[] delays = {300, 7, 130, 45, 19};
+            Map<Long, Long> firedAfter = new ConcurrentHashMap<>();
+            CountDownLatch fired = new CountDownLatch(delays.length);
+            long start = System.nanoTime();
+
+            // Act
+            for (long delay : delays) {
+                small.schedule(() -> {
+                    firedAfter.put(delay, System.nanoTime() - start);
+                    fired.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+
+            // Assert
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            for (long delay : delays) {
+                assertTrue(firedAfter.get(delay) >= TimeUnit.MILLISECONDS.toNanos(delay), "fired early: " + delay);
+            }
+            List<Long> order = new ArrayList<>(firedAfter.keySet());
+            order.sort((a, b) -> Long.compare(firedAfter.get(a), firedAfter.get(b)));
+            assertEquals(List.of(7L, 19L, 45L, 130L, 300L), order);
+            assertEquals(0, small.pendingCount());
+        }
+    }
+
+    @Test
+    void testManyDistantTimersCanBeCancelled() throws Exception {
+        // Arrange
+        AtomicBoolean ran = new AtomicBoolean();
+        List<TimerWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            timeouts.add(wheel.schedule(() -> ran.set(true), 1 + i % 3_600, TimeUnit.SECONDS));
+        }
+        assertEquals(200_000, wheel.pendingCount());
+
+        // Act
+        timeouts.forEach(TimerWheel.Timeout::cancel);
+
+        // Assert
+        assertEquals(0, wheel.pendingCount());
+        Thread.sleep(50);
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.notification.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import com.ecommerce.notification.delivery.DeliveryChannel;
+import com.ecommerce.notification.delivery.DeliveryRejectedException;
+import com.ecommerce.notification.delivery.DeliveryService;
+import com.ecommerce.notification.delivery.ReactiveDeliveryPipeline;
+import com.ecommerce.notification.dispatch.NotificationDispatcher;
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.payload.OrderCreatedEvent;
+import com.ecommerce.notification.payload.OrderResponse;
+import com.ecommerce.notification.payload.OrderStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+class OrderCreatedFunctionTest {
+
+    private final OrderEventParser parser = new OrderEventParser();
+
+    private OrderCreatedFunction function;
+    private DeliveryService deliveryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        deliveryService = mock(DeliveryService.class);
+        NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+        when(dispatcher.channels()).thenReturn(EnumSet.allOf(DeliveryChannel.class));
+        ObjectProvider<ReactiveDeliveryPipeline> noPipeline = mock(ObjectProvider.class);
+
+        function = new OrderCreatedFunction();
+        ReflectionTestUtils.setField(function, "deliveryService", deliveryService);
+        ReflectionTestUtils.setField(function, "reactiveDeliveryPipeline", noPipeline);
+        ReflectionTestUtils.setField(function, "notificationDispatcher", dispatcher);
+        ReflectionTestUtils.setField(function, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(function, "concurrency", 8);
+    }
+
+    @Test
+    void testBatchIsAnsweredPerEventInInputOrder() {
+        // Arrange
+        when(deliveryService.accept(anySet(), any(byte[].class))).thenAnswer(invocation -> {
+            String orderId = parser.readOrderId(invocation.getArgument(1));
+            return switch (orderId) {
+                case "2" -> new DeliveryService.Receipt(orderId, List.of(), List.of(DeliveryChannel.EMAIL, DeliveryChannel.SLACK));
+                case "3" -> throw new DeliveryRejectedException("Delivery queue is full");
+                default -> new DeliveryService.Receipt(orderId, List.of(DeliveryChannel.EMAIL, DeliveryChannel.SLACK), List.of());
+            };
+        });
+        Flux<OrderCreatedEvent> batch = Flux.just(event(1L), event(2L), event(3L), event(null), event(4L));
+
+        // Act
+        List<OrderResponse> responses = function.apply(batch).collectList().block();
+
+        // Assert
+        assertEquals(List.of(
+            new OrderResponse("1", 202),
+            new OrderResponse("2", 200),
+            new OrderResponse("3", 429),
+            new OrderResponse("", 400),
+            new OrderResponse("4", 202)
+        ), responses);
+        verify(deliveryService, times(4)).accept(eq(EnumSet.allOf(DeliveryChannel.class)), any());
+    }
+
+    @Test
+    void testEventIsStoredInTheWebhookShape() throws Exception {
+        // Arrange
+        OrderCreatedEvent event = new OrderCreatedEvent(42L, "user-7", OrderStatus.PENDING,
+            new BigDecimal("12.50"), LocalDateTime.of(2025, 7, 24, 2, 12, 5));
+
+        // Act
+        OrderEvent parsed = parser.parse(function.toWebhookPayload(event));
+
+        // Assert
+        assertEquals("42", parsed.orderId());
+        assertEquals("2025-07-24T02:12:05.000000+00:00", parsed.created());
+        assertEquals(12.5, parsed.grossAmount());
+        assertTrue(parsed.lines().isEmpty());
+    }
+
+    private static OrderCreatedEvent event(Long orderId) {
+        return new OrderCreatedEvent(orderId, "user-1", OrderStatus.PENDING, BigDecimal.ONE, LocalDateTime.now());
+    }
+}
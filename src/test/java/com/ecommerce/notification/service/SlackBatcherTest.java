@@ -0,0 +1,72 @@
+package com.ecommerce.notification.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SlackBatcherTest {
+
+    private final CountDownLatch slowWebhookReleased = new CountDownLatch(1);
+    private final AtomicInteger concurrentSlowPosts = new AtomicInteger();
+    private final List<String> posted = new CopyOnWriteArrayList<>();
+    private volatile boolean overlapped;
+
+    private final SlackBatcher batcher = new SlackBatcher(Duration.ofMinutes(1), 1, 32000, 100, 2, (destination, entries) -> {
+        if (destination.equals("slow")) {
+            if (concurrentSlowPosts.incrementAndGet() > 1) {
+                overlapped = true;
+            }
+            try {
+                slowWebhookReleased.await(5, TimeUnit.SECONDS);
+            } finally {
+                concurrentSlowPosts.decrementAndGet();
+            }
+        }
+        posted.add(destination + ":" + entries.get(0).orderId());
+    });
+
+    @AfterEach
+    void tearDown() throws Exception {
+        slowWebhookReleased.countDown();
+        batcher.close();
+    }
+
+    @Test
+    void testSlowDestinationDoesNotHoldUpOthers() throws Exception {
+        // Arrange
+        CompletableFuture<Void> slow = batcher.add("slow", "order-1", "text", 100, 2);
+
+        // Act
+        CompletableFuture<Void> fast = batcher.add("fast", "order-2", "text", 100, 2);
+
+        // Assert
+        fast.get(1, TimeUnit.SECONDS);
+        assertFalse(slow.isDone());
+    }
+
+    @Test
+    void testDigestsForOneDestinationArePostedOneAtATimeInOrder() throws Exception {
+        // Arrange
+        CompletableFuture<Void> first = batcher.add("slow", "order-1", "text", 100, 2);
+
+        // Act
+        CompletableFuture<Void> second = batcher.add("slow", "order-2", "text", 100, 2);
+
+        // Assert
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        slowWebhookReleased.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertFalse(overlapped);
+        assertEquals(List.of("slow:order-1", "slow:order-2"), posted);
+    }
+}
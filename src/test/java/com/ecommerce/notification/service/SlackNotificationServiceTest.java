@@ -7,20 +7,45 @@ import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import com.ecommerce.notification.delivery.DeliveryException;
+import com.ecommerce.notification.event.OrderEventParser;
+import com.ecommerce.notification.ratelimit.RateLimiterRegistry;
+import com.ecommerce.notification.routing.NotificationRoutes;
+import com.ecommerce.notification.template.NotificationTemplates;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @ExtendWith(MockitoExtension.class)
 class SlackNotificationServiceTest {
 
     @Mock
     private RestTemplate restTemplate;
 
+    @Captor
+    private ArgumentCaptor<HttpEntity<String>> request;
+
+    @Captor
+    private ArgumentCaptor<HttpEntity<String>> fallbackRequest;
+
     @InjectMocks
     private SlackNotificationService slackNotificationService;
 
@@ -36,6 +61,9 @@ class SlackNotificationServiceTest {
         ReflectionTestUtils.setField(slackNotificationService, "slackChannel", "#test");
         ReflectionTestUtils.setField(slackNotificationService, "slackUsername", "Test Bot");
         ReflectionTestUtils.setField(slackNotificationService, "slackIconEmoji", ":test:");
+        ReflectionTestUtils.setField(slackNotificationService, "rateLimiters", new RateLimiterRegistry(1000, 1000, 1000, 1000));
+        ReflectionTestUtils.setField(slackNotificationService, "orderEventParser", new OrderEventParser());
+        ReflectionTestUtils.setField(slackNotificationService, "notificationTemplates", NotificationTemplates.defaults());
         
         // Mock successful webhook response by default
         lenient().when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
@@ -176,6 +204,118 @@ class SlackNotificationServiceTest {
         });
     }
 
+    @Test
+    void testRateLimitedWebhookReportsRetryAfter() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+        
+        // Act
+        DeliveryException error = assertThrows(DeliveryException.class, () ->
+            slackNotificationService.sendOrderNotification(createSingleProductPayload()));
+        
+        // Assert
+        assertTrue(error.isRetryable());
+        assertEquals(Duration.ofSeconds(30), error.getRetryAfter().orElseThrow());
+        // The webhook is paused, so the next send is held back locally instead of hitting Slack
+        DeliveryException throttled = assertThrows(DeliveryException.class, () ->
+            slackNotificationService.sendOrderNotification(createSingleProductPayload()));
+        assertTrue(throttled.isThrottled());
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    void testRejectedPayloadIsNotRetryable() {
+        // Arrange
+        when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "invalid_payload", new HttpHeaders(), null, null));
+        
+        // Act
+        DeliveryException error = assertThrows(DeliveryException.class, () ->
+            slackNotificationService.sendOrderNotification(createSingleProductPayload()));
+        
+        // Assert
+        assertFalse(error.isRetryable());
+    }
+
+    @Test
+    void testQueuedOrdersAreMergedIntoOneDigest() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(slackNotificationService, "batchEnabled", true);
+        ReflectionTestUtils.setField(slackNotificationService, "batchWindowMs", 200L);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxOrders", 20);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxPayloadBytes", 32000);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxPending", 100);
+        ReflectionTestUtils.setField(slackNotificationService, "batchSenders", 2);
+        slackNotificationService.startBatcher();
+        
+        // Act
+        CompletableFuture<String> first = slackNotificationService.queueOrderNotification(createSingleProductPayload());
+        CompletableFuture<String> second = slackNotificationService.queueOrderNotification(createMultipleProductsPayload());
+        CompletableFuture<String> third = slackNotificationService.queueOrderNotification(createLargeQuantitiesPayload());
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+        slackNotificationService.stopBatcher();
+        
+        // Assert
+        verify(restTemplate, times(1)).postForObject(eq("https://hooks.slack.com/test"), request.capture(), eq(String.class));
+        JsonNode digest = objectMapper.readTree(request.getValue().getBody());
+        assertEquals("3 new orders on BulkMagic", digest.path("text").asText());
+        // Header plus a section and a divider per order
+        assertEquals(7, digest.path("blocks").size());
+    }
+
+    @Test
+    void testDigestRespectsMaxOrders() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(slackNotificationService, "batchEnabled", true);
+        ReflectionTestUtils.setField(slackNotificationService, "batchWindowMs", 60000L);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxOrders", 2);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxPayloadBytes", 32000);
+        ReflectionTestUtils.setField(slackNotificationService, "batchMaxPending", 100);
+        ReflectionTestUtils.setField(slackNotificationService, "batchSenders", 2);
+        slackNotificationService.startBatcher();
+        
+        // Act
+        CompletableFuture<String> first = slackNotificationService.queueOrderNotification(createSingleProductPayload());
+        CompletableFuture<String> second = slackNotificationService.queueOrderNotification(createSingleProductPayload());
+        
+        // Assert: the full batch is sent without waiting for the window
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(String.class));
+        slackNotificationService.stopBatcher();
+    }
+
+    @Test
+    void testRoutedOrdersGoToTheirTenantsDestination(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("routes.yml");
+        Files.writeString(file, """
+            routes:
+              - store: cafe-1
+                slack-webhook-url: https://hooks.slack.com/cafe-1
+                slack-channel: cafe-1--orders
+            """);
+        NotificationRoutes routes = new NotificationRoutes();
+        ReflectionTestUtils.setField(routes, "file", file.toString());
+        ReflectionTestUtils.setField(routes, "reloadIntervalMs", 0L);
+        ReflectionTestUtils.invokeMethod(routes, "load");
+        ReflectionTestUtils.setField(slackNotificationService, "notificationRoutes", routes);
+        String routed = "{\"order\": {\"id\": \"o-1\", \"metadata\": [{\"key\": \"storeId\", \"value\": \"cafe-1\"}]}}";
+        String unrouted = "{\"order\": {\"id\": \"o-2\", \"metadata\": [{\"key\": \"storeId\", \"value\": \"cafe-2\"}]}}";
+
+        // Act
+        slackNotificationService.sendOrderNotification(routed);
+        slackNotificationService.sendOrderNotification(unrouted);
+
+        // Assert
+        verify(restTemplate).postForObject(eq("https://hooks.slack.com/cafe-1"), request.capture(), eq(String.class));
+        assertEquals("cafe-1--orders", objectMapper.readTree(request.getValue().getBody()).path("channel").asText());
+        verify(restTemplate).postForObject(eq("https://hooks.slack.com/test"), fallbackRequest.capture(), eq(String.class));
+        assertEquals("#test", objectMapper.readTree(fallbackRequest.getValue().getBody()).path("channel").asText());
+    }
+
     // Helper methods to create test payloads
 
     private String createMultipleProductsPayload() {
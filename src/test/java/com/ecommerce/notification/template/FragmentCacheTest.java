@@ -0,0 +1,59 @@
+package com.ecommerce.notification.template;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class FragmentCacheTest {
+
+    @Test
+    void testCountsHitsAndMisses() {
+        // Arrange
+        FragmentCache cache = new FragmentCache(10);
+        cache.put("apple", "2 x Apple Juice");
+
+        // Act
+        String hit = cache.get("apple");
+        String miss = cache.get("bread");
+
+        // Assert
+        assertEquals("2 x Apple Juice", hit);
+        assertNull(miss);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    void testRecentlyUsedEntriesSurviveEviction() {
+        // Arrange
+        FragmentCache cache = new FragmentCache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "line " + i);
+        }
+        cache.get(3);
+        cache.get(7);
+
+        // Act
+        cache.put(10, "line 10");
+
+        // Assert
+        assertTrue(cache.size() <= 9);
+        assertTrue(cache.evictions() >= 2);
+        assertEquals("line 3", cache.get(3));
+        assertEquals("line 7", cache.get(7));
+    }
+
+    @Test
+    void testZeroSizeCachesNothing() {
+        // Arrange
+        FragmentCache cache = new FragmentCache(0);
+
+        // Act
+        cache.put("apple", "2 x Apple Juice");
+
+        // Assert
+        assertNull(cache.get("apple"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecommerce.notification.template;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.notification.event.OrderEvent;
+import com.ecommerce.notification.event.OrderEvent.OrderLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+class NotificationTemplatesTest {
+
+    private static final OrderEvent ORDER = new OrderEvent(
+        "T3JkZXI6MQ==", "2025-08-11T20:30:00.000000+00:00", 3.335, "USD", "TestUser", "test@example.com",
+        List.of(new OrderLine(2, "Apple Juice", 1.005), new OrderLine(12, "Whole Wheat Bread", 0.0)));
+
+    @Test
+    void testBundledTemplatesMatchTheFormatLayout() {
+        // Arrange
+        NotificationTemplates templates = NotificationTemplates.defaults();
+        OrderTemplateModel model = new OrderTemplateModel(ORDER);
+
+        // Act
+        String slack = templates.slackOrder().render(model);
+        String email = templates.emailOrder().render(model);
+
+        // Assert
+        assertEquals(formattedSlackMessage(ORDER), slack);
+        assertEquals(formattedEmail(ORDER), email);
+    }
+
+    @Test
+    void testCachedLinesRenderLikeFreshOnesAcrossOrdersWithDifferentTotals() {
+        // Arrange
+        NotificationTemplates templates = NotificationTemplates.defaults();
+        OrderEvent other = new OrderEvent(
+            "T3JkZXI6Mg==", "2025-08-11T21:00:00.000000+00:00", 9.5, "USD", "OtherUser", "other@example.com",
+            List.of(new OrderLine(12, "Whole Wheat Bread", 0.0), new OrderLine(2, "Apple Juice", 1.005)));
+        templates.emailOrder().render(new OrderTemplateModel(ORDER));
+        templates.slackOrder().render(new OrderTemplateModel(ORDER));
+
+        // Act
+        String email = templates.emailOrder().render(new OrderTemplateModel(other));
+        String slack = templates.slackOrder().render(new OrderTemplateModel(other));
+
+        // Assert
+        assertEquals(formattedEmail(other).replace("2025-08-11 20:30:00.000000", "2025-08-11 21:00:00.000000")
+            .replace("20:40", "21:10"), email);
+        assertTrue(slack.contains(String.format("%-30s %-10s %-10s\n", "Apple Juice", 2, "$9.50")), slack);
+        FragmentCache emailLines = templates.fragmentCaches().get(NotificationTemplates.EMAIL_ORDER);
+        FragmentCache slackLines = templates.fragmentCaches().get(NotificationTemplates.SLACK_ORDER);
+        assertEquals(2, emailLines.hits());
+        assertEquals(2, emailLines.size());
+        // The Slack lines show the order total, which is rendered around the cached product and quantity
+        assertEquals(0.5, slackLines.hitRatio());
+        assertEquals(2, slackLines.size());
+    }
+
+    @Test
+    void testFixedTwoDecimalsRoundLikeFormatter() {
+        for (double value : new double[] {0, 1.005, 2.675, 0.125, -0.125, 3.333333, 199.5, 1e16 + 2, 0.004999}) {
+            // Arrange
+            StringBuilder out = new StringBuilder();
+
+            // Act
+            Text.appendFixed2(out, value);
+
+            // Assert
+            assertEquals(String.format("%.2f", value), out.toString(), "for " + value);
+        }
+    }
+
+    @Test
+    void testRejectsUnknownFieldsAndUnbalancedLoops() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OrderTemplateModel.SCHEMA.compile("t", "{{nope}}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderTemplateModel.SCHEMA.compile("t", "{{#lines}}{{item}}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderTemplateModel.SCHEMA.compile("t", "{{item}}{{/lines}}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderTemplateModel.SCHEMA.compile("t", "{{total:wide}}"));
+    }
+
+    @Test
+    void testOverrideFileIsReloadedWhenItChanges(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("slack-order.txt");
+        Files.writeString(file, "Order {{orderId}}\n");
+        NotificationTemplates templates = new NotificationTemplates();
+        ReflectionTestUtils.setField(templates, "directory", directory.toString());
+        ReflectionTestUtils.setField(templates, "reloadIntervalMs", 0L);
+        templates.load();
+        OrderTemplateModel model = new OrderTemplateModel(ORDER);
+        assertEquals("Order T3JkZXI6MQ==", templates.slackOrder().render(model));
+
+        // Act
+        Files.writeString(file, "{{buyer}} ordered {{#lines}}{{quantity}}x {{item}}; {{/lines}}");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        templates.reloadChanged();
+        Files.writeString(directory.resolve("email-order.txt"), "{{broken");
+        templates.reloadChanged();
+
+        // Assert
+        assertEquals("TestUser ordered 2x Apple Juice; 12x Whole Wheat Bread; ", templates.slackOrder().render(model));
+        assertEquals(formattedEmail(ORDER), templates.emailOrder().render(model));
+    }
+
+    /**
+     * The Slack layout as it was built with String.format before templates existed.
+     */
+    private static String formattedSlackMessage(OrderEvent order) {
+        StringBuilder table = new StringBuilder();
+        for (OrderLine line : order.lines()) {
+            table.append(String.format("%-30s %-10s %-10s\n", line.productName(), line.quantity(),
+                "$" + String.format("%.2f", order.grossAmount())));
+        }
+        return String.format(
+            "You've received a new order on BulkMagic.\n\n" +
+            "*Items Ordered*\n" +
+            "```\n" +
+            "%-30s %-10s %-10s\n" +
+            "%-30s %-10s %-10s\n" +
+            "%s" +
+            "```\n\n" +
+            "*Order Details:*\n" +
+            ":heavy_check_mark:    Order ID: `%s`\n" +
+            ":heavy_check_mark:    Placed At: %s\n" +
+            ":heavy_check_mark:    Buyer: %s\n\n" +
+            "Please prepare this order for pickup by *%s*.\n\n" +
+            "Thank you,\n" +
+            "BulkMagic Team",
+            "Item", "Quantity", "Price",
+            "----", "--------", "-----",
+            table, order.orderId(), "Aug 11, 2025 at 20:30", order.buyerFirstName(), "20:40");
+    }
+
+    /**
+     * The email layout as it was built with String.format before templates existed.
+     */
+    private static String formattedEmail(OrderEvent order) {
+        StringBuilder itemsTable = new StringBuilder();
+        itemsTable.append("Items Ordered\n");
+        itemsTable.append("Item                           Quantity   Price     \n");
+        itemsTable.append("----                           --------   -----     \n");
+        for (OrderLine line : order.lines()) {
+            itemsTable.append(String.format("%-30s %-10d $%-8.2f\n", line.productName(), line.quantity(), line.price()));
+        }
+        return String.format(
+            "You've received a new order on BulkMagic.\n\n" +
+            "%s\n\n" +
+            "Order Details:\n" +
+            "✓ Order ID: %s\n" +
+            "✓ Placed At: %s\n" +
+            "✓ Buyer: %s\n\n" +
+            "Please prepare this order for pickup by %s.\n\n" +
+            "Thank you,\n" +
+            "BulkMagic Team",
+            itemsTable, order.orderId(), "2025-08-11 20:30:00.000000", order.buyerFirstName(), "20:40");
+    }
+}